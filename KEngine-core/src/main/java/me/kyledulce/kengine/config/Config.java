@@ -2,12 +2,17 @@ package me.kyledulce.kengine.config;
 
 import ch.qos.logback.classic.Level;
 import jakarta.inject.Singleton;
+import me.kyledulce.kengine.resource.ExecutorStrategy;
+import me.kyledulce.kengine.scheduler.SchedulerType;
+import me.kyledulce.kengine.window.drawing.RenderMode;
+import me.kyledulce.kengine.window.drawing.texture.TextureRetention;
 import org.apache.commons.configuration2.AbstractConfiguration;
 import org.apache.commons.configuration2.CompositeConfiguration;
 import org.apache.commons.configuration2.builder.fluent.Configurations;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 
 import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class Config {
@@ -67,4 +72,85 @@ public class Config {
     public int getThreadTimeoutSeconds() {
         return config.getInteger("resources.threadPool.threadTimeoutSeconds", 60);
     }
+
+    public ExecutorStrategy getThreadPoolStrategy() {
+        try {
+            return ExecutorStrategy.valueOf(config.getString("resources.threadPool.strategy"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ExecutorStrategy.BOUNDED;
+        }
+    }
+
+    public long getAssetFinalizeBudgetNanos() {
+        return TimeUnit.MICROSECONDS.toNanos(config.getLong("resources.loading.finalizeBudgetMicros", 2000L));
+    }
+
+    public long getAssetUnloadBudgetNanos() {
+        return TimeUnit.MICROSECONDS.toNanos(config.getLong("resources.unloading.budgetMicros", 1000L));
+    }
+
+    public String getAssetPackPath() {
+        return config.getString("resources.pack.path", "");
+    }
+
+    public long getAssetCacheBudgetBytes() {
+        return config.getLong("resources.cache.budgetMegabytes", 1024L) * 1024 * 1024;
+    }
+
+    public long getTextureVramBudgetBytes() {
+        return config.getLong("window.textures.vramBudgetMegabytes", 256L) * 1024 * 1024;
+    }
+
+    public TextureRetention getTextureRetention() {
+        try {
+            return TextureRetention.valueOf(config.getString("window.textures.retention"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return TextureRetention.SPILL;
+        }
+    }
+
+    public int getTextureAtlasPageSize() {
+        return config.getInteger("window.textures.atlasPageSize", 2048);
+    }
+
+    public RenderMode getRenderMode() {
+        try {
+            return RenderMode.valueOf(config.getString("window.rendering.mode"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return RenderMode.BATCHED;
+        }
+    }
+
+    public boolean getGlStateCacheEnabled() {
+        return config.getBoolean("window.rendering.glStateCache", true);
+    }
+
+    public String getTextureCacheDirectory() {
+        return config.getString("window.textures.cacheDirectory", "");
+    }
+
+    public long getTextureCacheMaxBytes() {
+        return config.getLong("window.textures.cacheMaxMegabytes", 512L) * 1024 * 1024;
+    }
+
+    public int getJobWorkerThreads() {
+        try {
+            return Integer.parseInt(config.getString("jobs.workerThreads"));
+        } catch (NumberFormatException e) {
+            // Leave a core for the game loop thread, which helps run jobs while waiting on them
+            return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+    }
+
+    public SchedulerType getSchedulerType() {
+        try {
+            return SchedulerType.valueOf(config.getString("scheduler.type"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return SchedulerType.MAPPED;
+        }
+    }
+
+    public long getSchedulerTickMillis() {
+        return config.getLong("scheduler.tickMillis", 1L);
+    }
 }
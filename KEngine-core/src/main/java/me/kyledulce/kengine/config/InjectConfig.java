@@ -1,10 +1,35 @@
 package me.kyledulce.kengine.config;
 
+import io.avaje.inject.Bean;
 import io.avaje.inject.Factory;
 import jakarta.inject.Inject;
+import me.kyledulce.kengine.game.GameTime;
+import me.kyledulce.kengine.resource.AssetSource;
+import me.kyledulce.kengine.resource.ClasspathAssetSource;
+import me.kyledulce.kengine.resource.FallbackAssetSource;
+import me.kyledulce.kengine.resource.SystemResourceManager;
+import me.kyledulce.kengine.resource.pack.AssetPack;
+import me.kyledulce.kengine.scheduler.MappedTaskScheduler;
+import me.kyledulce.kengine.scheduler.TaskScheduleHandler;
+import me.kyledulce.kengine.scheduler.TimingWheelTaskScheduler;
+import me.kyledulce.kengine.window.drawing.InstancedSpriteRenderEngine;
+import me.kyledulce.kengine.window.drawing.RenderEngine;
+import me.kyledulce.kengine.window.drawing.SpriteBatchRenderEngine;
+import me.kyledulce.kengine.window.drawing.gl.CachingGlBackend;
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
+import me.kyledulce.kengine.window.drawing.gl.LwjglGlBackend;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @Factory
 public class InjectConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InjectConfig.class);
 
     private final Config config;
 
@@ -12,4 +37,51 @@ public class InjectConfig {
     InjectConfig(Config config) {
         this.config = config;
     }
+
+    @Bean
+    TaskScheduleHandler taskScheduleHandler(GameTime gameTime, SystemResourceManager systemResourceManager) {
+        return switch (config.getSchedulerType()) {
+            case MAPPED -> new MappedTaskScheduler(gameTime, systemResourceManager);
+            case TIMING_WHEEL -> new TimingWheelTaskScheduler(gameTime, systemResourceManager, config.getSchedulerTickMillis());
+        };
+    }
+
+    /**
+     * Calls OpenGL through LWJGL, skipping calls that set state already set unless the state cache is disabled
+     */
+    @Bean
+    GlBackend glBackend() {
+        LwjglGlBackend lwjglGlBackend = new LwjglGlBackend();
+        if(!config.getGlStateCacheEnabled()) {
+            return lwjglGlBackend;
+        }
+        return new CachingGlBackend(lwjglGlBackend);
+    }
+
+    @Bean
+    RenderEngine renderEngine(GlBackend glBackend, TextureResidencyManager residencyManager, TextureAtlas textureAtlas) {
+        return switch (config.getRenderMode()) {
+            case BATCHED -> new SpriteBatchRenderEngine(glBackend, residencyManager, textureAtlas);
+            case INSTANCED -> new InstancedSpriteRenderEngine(glBackend, residencyManager, textureAtlas);
+        };
+    }
+
+    /**
+     * Reads assets from the configured asset pack if it exists, falling back to the asset folder on the classpath for
+     * assets that are not in the pack
+     */
+    @Bean
+    AssetSource assetSource() {
+        String packPath = config.getAssetPackPath();
+        if (!packPath.isBlank() && Files.isRegularFile(Path.of(packPath))) {
+            try {
+                AssetPack assetPack = AssetPack.open(Path.of(packPath));
+                LOGGER.info("Reading {} assets from asset pack {}", assetPack.getEntryCount(), packPath);
+                return new FallbackAssetSource(assetPack, new ClasspathAssetSource());
+            } catch (IOException e) {
+                LOGGER.error("Failed to open asset pack {}, reading assets from the classpath", packPath, e);
+            }
+        }
+        return new ClasspathAssetSource();
+    }
 }
@@ -4,4 +4,12 @@ public interface GameTime {
     void setStartTime();
     long getCurrentTimeMillis();
     long getCurrentTimeMillisSinceStart();
+
+    /**
+     * Gets a high resolution time for measuring elapsed time. Only differences between values are meaningful
+     * @return time in nanoseconds
+     */
+    default long getCurrentTimeNanos() {
+        return System.nanoTime();
+    }
 }
@@ -0,0 +1,115 @@
+package me.kyledulce.kengine.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle to a job scheduled on the {@link JobSystem}. A job starts once all jobs it depends on are done.
+ * If a dependency fails, the job fails with the same exception without running
+ */
+public final class JobHandle {
+    private final ForkJoinPool pool;
+    private final JobTask task;
+    private final JobHandle[] dependencies;
+    private final AtomicInteger pendingDependencies;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    // Jobs waiting on this job. Set to null once this job is done
+    private List<JobHandle> dependents = new ArrayList<>(0);
+
+    JobHandle(ForkJoinPool pool, JobTask task, JobHandle[] dependencies) {
+        this.pool = pool;
+        this.task = task;
+        this.dependencies = dependencies;
+        this.pendingDependencies = new AtomicInteger(dependencies.length + 1);
+        task.setHandle(this);
+    }
+
+    /**
+     * Registers this job with its dependencies and submits it if they are all done
+     */
+    void start() {
+        for (JobHandle dependency : dependencies) {
+            if (!dependency.addDependent(this)) {
+                Throwable exception = dependency.task.getException();
+                if (exception != null) {
+                    fail(exception);
+                    return;
+                }
+                dependencyDone();
+            }
+        }
+        dependencyDone();
+    }
+
+    /**
+     * Checks if the job is done, either by running or by failing
+     * @return true if the job is done
+     */
+    public boolean isComplete() {
+        return task.isDone();
+    }
+
+    /**
+     * Waits for the job to be done. While waiting, the calling thread runs queued work of the job or its
+     * dependencies instead of idling
+     * @throws RuntimeException the exception the job or one of its dependencies failed with
+     */
+    public void complete() {
+        for (JobHandle dependency : dependencies) {
+            dependency.complete();
+        }
+        task.join();
+    }
+
+    /**
+     * Adds a job to run once this job is done
+     * @param dependent the waiting job
+     * @return false if this job is already done and the dependent must not wait on it
+     */
+    private synchronized boolean addDependent(JobHandle dependent) {
+        if (dependents == null) {
+            return false;
+        }
+        dependents.add(dependent);
+        return true;
+    }
+
+    private void dependencyDone() {
+        if (pendingDependencies.decrementAndGet() == 0 && !done.get()) {
+            pool.execute(task);
+        }
+    }
+
+    private void fail(Throwable exception) {
+        task.completeExceptionally(exception);
+        finished(exception);
+    }
+
+    /**
+     * Releases the jobs waiting on this job. Called once the job is done
+     * @param exception the exception the job failed with. null if it succeeded
+     */
+    void finished(Throwable exception) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<JobHandle> waitingJobs;
+        synchronized (this) {
+            waitingJobs = dependents;
+            dependents = null;
+        }
+
+        for (JobHandle dependent : waitingJobs) {
+            if (exception != null) {
+                dependent.fail(exception);
+            } else {
+                dependent.dependencyDone();
+            }
+        }
+    }
+}
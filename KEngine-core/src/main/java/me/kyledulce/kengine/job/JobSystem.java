@@ -0,0 +1,84 @@
+package me.kyledulce.kengine.job;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import me.kyledulce.kengine.config.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs per-frame work split across cores on a work-stealing pool.
+ * Jobs can depend on other jobs, and waiting on a job from the game loop helps run queued work
+ * instead of blocking, so the pool is sized to leave a core for the game loop thread
+ */
+@Singleton
+public class JobSystem implements AutoCloseable {
+    private static final JobHandle[] NO_DEPENDENCIES = new JobHandle[0];
+
+    private final ForkJoinPool pool;
+
+    @Inject
+    public JobSystem(Config config) {
+        this(config.getJobWorkerThreads());
+    }
+
+    /**
+     * Creates a job system
+     * @param workerThreads number of worker threads. Must be positive
+     */
+    public JobSystem(int workerThreads) {
+        pool = new ForkJoinPool(workerThreads);
+    }
+
+    /**
+     * Schedules a job
+     * @param job job to run
+     * @param dependencies jobs that must be done before the job starts
+     * @return handle to the job
+     */
+    public JobHandle schedule(@NotNull Runnable job, JobHandle... dependencies) {
+        return start(new JobTask.RunnableTask(job), dependencies);
+    }
+
+    /**
+     * Schedules a job that runs the body once for every index from 0 to count. Ranges of indices are
+     * split across workers, but ranges of at most grain indices always run on one thread
+     * @param count number of indices
+     * @param grain maximum number of indices run without splitting. Must be positive
+     * @param body body to run for each index
+     * @param dependencies jobs that must be done before the job starts
+     * @return handle to the job
+     */
+    public JobHandle parallelFor(int count, int grain, @NotNull IntConsumer body, JobHandle... dependencies) {
+        if (grain <= 0) {
+            throw new IllegalArgumentException("Grain must be positive, got " + grain);
+        }
+        return start(new JobTask.ParallelForTask(null, 0, Math.max(0, count), grain, body), dependencies);
+    }
+
+    /**
+     * Creates a job that is done once all given jobs are done
+     * @param dependencies jobs to combine
+     * @return handle to the combined job
+     */
+    public JobHandle combine(JobHandle... dependencies) {
+        return schedule(() -> {}, dependencies);
+    }
+
+    private JobHandle start(JobTask task, JobHandle[] dependencies) {
+        JobHandle handle = new JobHandle(pool, task, dependencies == null ? NO_DEPENDENCIES : dependencies.clone());
+        handle.start();
+        return handle;
+    }
+
+    public int getWorkerThreads() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
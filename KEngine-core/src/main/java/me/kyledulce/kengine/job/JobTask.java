@@ -0,0 +1,88 @@
+package me.kyledulce.kengine.job;
+
+import java.util.concurrent.CountedCompleter;
+import java.util.function.IntConsumer;
+
+/**
+ * Task of a job. The root task of a job completes once all tasks it forked completed, and then releases the
+ * jobs depending on it
+ */
+abstract class JobTask extends CountedCompleter<Void> {
+    private JobHandle handle;
+
+    JobTask(JobTask completer) {
+        super(completer);
+    }
+
+    void setHandle(JobHandle handle) {
+        this.handle = handle;
+    }
+
+    @Override
+    public void onCompletion(CountedCompleter<?> caller) {
+        if (handle != null) {
+            handle.finished(null);
+        }
+    }
+
+    @Override
+    public boolean onExceptionalCompletion(Throwable ex, CountedCompleter<?> caller) {
+        if (handle != null) {
+            handle.finished(ex);
+        }
+        return true;
+    }
+
+    /**
+     * Task running a single runnable
+     */
+    static final class RunnableTask extends JobTask {
+        private final Runnable job;
+
+        RunnableTask(Runnable job) {
+            super(null);
+            this.job = job;
+        }
+
+        @Override
+        public void compute() {
+            job.run();
+            tryComplete();
+        }
+    }
+
+    /**
+     * Task running the body for a range of indices. Ranges larger than the grain are split in half, with one
+     * half forked for other workers to steal
+     */
+    static final class ParallelForTask extends JobTask {
+        private final int start;
+        private final int end;
+        private final int grain;
+        private final IntConsumer body;
+
+        ParallelForTask(JobTask completer, int start, int end, int grain, IntConsumer body) {
+            super(completer);
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        public void compute() {
+            int end = this.end;
+            while (end - start > grain) {
+                int middle = (start + end) >>> 1;
+                addToPendingCount(1);
+                new ParallelForTask(this, middle, end, grain, body).fork();
+                end = middle;
+            }
+
+            for (int index = start; index < end; index++) {
+                body.accept(index);
+            }
+            tryComplete();
+        }
+    }
+}
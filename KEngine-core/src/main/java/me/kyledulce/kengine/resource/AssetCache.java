@@ -0,0 +1,157 @@
+package me.kyledulce.kengine.resource;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Tracks the memory used by loaded assets and picks assets to evict once it exceeds a budget.
+ * Eviction candidates are picked in CLOCK order: the clock hand sweeps over the cached assets and gives assets
+ * accessed since its last pass a second chance, which approximates least recently used order without reordering
+ * anything on access. Recording an access is lock-free, all other operations are synchronized
+ */
+class AssetCache {
+    private final long budgetBytes;
+    @Getter
+    private final AssetCacheMetrics metrics;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private Entry[] clock = new Entry[16];
+    private int clockSize = 0;
+    private int clockHand = 0;
+    private long usedBytes = 0;
+
+    /**
+     * Creates a cache
+     * @param budgetBytes memory budget in bytes. 0 or less for an unbounded cache
+     */
+    AssetCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        this.metrics = new AssetCacheMetrics(budgetBytes);
+    }
+
+    /**
+     * Adds a loaded asset, replacing the size of an asset already cached for the path
+     * @param resourcePath path of the asset
+     * @param sizeBytes size of the asset in bytes
+     */
+    synchronized void add(String resourcePath, long sizeBytes) {
+        Entry entry = entries.get(resourcePath);
+        if(entry == null) {
+            entry = new Entry(resourcePath);
+            if(clockSize == clock.length) {
+                clock = Arrays.copyOf(clock, clockSize * 2);
+            }
+            entry.clockIndex = clockSize;
+            clock[clockSize++] = entry;
+            entries.put(resourcePath, entry);
+        } else {
+            usedBytes -= entry.sizeBytes;
+        }
+
+        // A new asset gets a second chance so it is not evicted before it is used
+        entry.accessed = true;
+        entry.sizeBytes = sizeBytes;
+        usedBytes += sizeBytes;
+        metrics.setUsedBytes(usedBytes);
+    }
+
+    /**
+     * Updates the size of a cached asset whose memory use changed since it was added. Does nothing if the asset is
+     * not cached
+     * @param resourcePath path of the asset
+     * @param sizeBytes new size of the asset in bytes
+     */
+    synchronized void resize(String resourcePath, long sizeBytes) {
+        Entry entry = entries.get(resourcePath);
+        if(entry == null) {
+            return;
+        }
+
+        usedBytes += sizeBytes - entry.sizeBytes;
+        entry.sizeBytes = sizeBytes;
+        metrics.setUsedBytes(usedBytes);
+    }
+
+    /**
+     * Removes an unloaded asset
+     * @param resourcePath path of the asset
+     */
+    synchronized void remove(String resourcePath) {
+        Entry entry = entries.remove(resourcePath);
+        if(entry == null) {
+            return;
+        }
+
+        // Fill the slot with the last entry so the clock stays dense
+        Entry last = clock[--clockSize];
+        clock[entry.clockIndex] = last;
+        last.clockIndex = entry.clockIndex;
+        clock[clockSize] = null;
+        if(clockHand >= clockSize) {
+            clockHand = 0;
+        }
+
+        usedBytes -= entry.sizeBytes;
+        metrics.setUsedBytes(usedBytes);
+    }
+
+    /**
+     * Marks an asset as accessed, giving it a second chance when the clock hand reaches it
+     * @param resourcePath path of the asset
+     */
+    void recordAccess(String resourcePath) {
+        if(budgetBytes <= 0) {
+            return;
+        }
+
+        Entry entry = entries.get(resourcePath);
+        if(entry != null && !entry.accessed) {
+            entry.accessed = true;
+        }
+    }
+
+    synchronized boolean isOverBudget() {
+        return budgetBytes > 0 && usedBytes > budgetBytes;
+    }
+
+    /**
+     * Picks the next asset to evict by advancing the clock hand. The asset stays cached until it is removed
+     * @param pinned tests if an asset must not be evicted
+     * @param accessedElsewhere tests and clears if an asset was accessed without {@link #recordAccess(String)}
+     * @return path of the asset to evict. null if every asset is pinned
+     */
+    synchronized String selectEviction(Predicate<String> pinned, Predicate<String> accessedElsewhere) {
+        // Two sweeps clear every second chance, so an unpinned asset is found if there is one
+        for(int step = 0; step < clockSize * 2; step++) {
+            Entry entry = clock[clockHand];
+            clockHand = clockHand + 1 == clockSize ? 0 : clockHand + 1;
+
+            if(pinned.test(entry.resourcePath)) {
+                continue;
+            }
+            // Both access marks are cleared for the next pass
+            boolean accessed = entry.accessed | accessedElsewhere.test(entry.resourcePath);
+            if(accessed) {
+                entry.accessed = false;
+                continue;
+            }
+            return entry.resourcePath;
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        private final String resourcePath;
+        private long sizeBytes;
+        private int clockIndex;
+        private volatile boolean accessed;
+
+        private Entry(String resourcePath) {
+            this.resourcePath = resourcePath;
+        }
+    }
+}
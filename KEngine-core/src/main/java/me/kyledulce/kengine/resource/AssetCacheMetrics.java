@@ -0,0 +1,70 @@
+package me.kyledulce.kengine.resource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the loaded asset cache. Hits and misses count load requests, so lookups of loaded assets through
+ * {@link AssetManager#getResource} are not counted
+ */
+public class AssetCacheMetrics {
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final long budgetBytes;
+    private volatile long usedBytes = 0;
+
+    AssetCacheMetrics(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * @return number of load requests served by an asset that was loaded or being loaded
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return number of load requests that had to read the asset
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return number of assets unloaded to stay within the memory budget
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return memory budget in bytes. 0 or less if the cache is unbounded
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * @return bytes reported by the factories of the cached assets
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    void recordHit() {
+        hitCount.increment();
+    }
+
+    void recordMiss() {
+        missCount.increment();
+    }
+
+    void recordEviction() {
+        evictionCount.increment();
+    }
+
+    void setUsedBytes(long usedBytes) {
+        this.usedBytes = usedBytes;
+    }
+}
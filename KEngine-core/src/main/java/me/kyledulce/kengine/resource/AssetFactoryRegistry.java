@@ -0,0 +1,89 @@
+package me.kyledulce.kengine.resource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of asset factories keyed by the asset class they handle. The registry is built once and is read only
+ * afterwards, so lookups can be done from any thread.
+ * Lookups of a class that has no factory of its own resolve to the factory of its closest registered supertype.
+ * The result of every lookup, including a missing factory, is cached per class so the hierarchy is only walked once
+ */
+class AssetFactoryRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetFactoryRegistry.class);
+
+    private final Map<Class<?>, GameAssetFactory<?>> registeredFactories;
+    private final ClassValue<GameAssetFactory<?>> resolvedFactories = new ClassValue<>() {
+        @Override
+        protected GameAssetFactory<?> computeValue(Class<?> type) {
+            return resolveFactory(type);
+        }
+    };
+
+    /**
+     * Creates a registry
+     * @param factories factories to register. If two factories handle the same type, the first one is used
+     */
+    AssetFactoryRegistry(List<GameAssetFactory> factories) {
+        Map<Class<?>, GameAssetFactory<?>> registeredFactories = new HashMap<>();
+        for(GameAssetFactory<?> factory : factories) {
+            GameAssetFactory<?> registered = registeredFactories.putIfAbsent(factory.getResourceType(), factory);
+            if(registered != null) {
+                LOGGER.warn("Factory {} ignored, type {} is already handled by {}",
+                        factory.getClass(), factory.getResourceType(), registered.getClass());
+            }
+        }
+        this.registeredFactories = Collections.unmodifiableMap(registeredFactories);
+    }
+
+    /**
+     * Gets the factory of a type
+     * @param type type to find a factory for
+     * @param <T> the type
+     * @return factory of the type or its closest registered supertype. null if not found
+     */
+    @SuppressWarnings("unchecked cast")
+    <T extends GameAsset> GameAssetFactory<T> getFactory(Class<T> type) {
+        return (GameAssetFactory<T>) resolvedFactories.get(type);
+    }
+
+    /**
+     * Walks the hierarchy of a type breadth first, superclass before interfaces, until a registered type is found
+     * @param type type to find a factory for
+     * @return factory of the closest registered type. null if not found
+     */
+    private GameAssetFactory<?> resolveFactory(Class<?> type) {
+        Deque<Class<?>> typesToCheck = new ArrayDeque<>();
+        Set<Class<?>> checkedTypes = new HashSet<>();
+        typesToCheck.add(type);
+
+        while(!typesToCheck.isEmpty()) {
+            Class<?> current = typesToCheck.poll();
+            if(!checkedTypes.add(current)) {
+                continue;
+            }
+
+            GameAssetFactory<?> factory = registeredFactories.get(current);
+            if(factory != null) {
+                return factory;
+            }
+
+            if(current.getSuperclass() != null) {
+                typesToCheck.add(current.getSuperclass());
+            }
+            Collections.addAll(typesToCheck, current.getInterfaces());
+        }
+
+        LOGGER.error("Factory for type {} not found", type);
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package me.kyledulce.kengine.resource;
+
+/**
+ * Compact reference to a resource path interned with {@link AssetManager#getHandle(Class, String)}.
+ * Resolving a handle indexes an array instead of hashing the path. Once the resource is unloaded the handle is
+ * stale and resolves to nothing, even if its slot is later reused for another path
+ * @param type type to resolve the resource as
+ * @param index slot of the path in the handle table
+ * @param generation generation of the slot when the handle was created
+ * @param <T> type of the resource
+ */
+public record AssetHandle<T extends GameAsset>(Class<T> type, int index, int generation) {
+}
@@ -0,0 +1,150 @@
+package me.kyledulce.kengine.resource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Table of interned resource paths and the resources loaded for them, indexed by {@link AssetHandle}.
+ * Paths are interned into slots, and a slot is released for reuse when its resource is unloaded. Every release bumps
+ * the generation of the slot, so handles created before it no longer match.
+ * Resolving can be done from any thread without locking; interning, storing and releasing are synchronized.
+ * Resolving marks the slot as accessed, which the {@link AssetCache} uses to keep recently used resources loaded
+ */
+class AssetHandleTable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> indexByPath = new HashMap<>();
+    private volatile Slot[] slots = new Slot[INITIAL_CAPACITY];
+    private int slotCount = 0;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount = 0;
+
+    /**
+     * Gets a handle for a path, interning the path if it has no slot yet
+     * @param type type to resolve the resource as
+     * @param resourcePath path of the resource
+     * @param loadedResource gives the resource currently loaded for a path, used to fill a new slot. May return null
+     * @param <T> type of the resource
+     * @return handle of the path
+     */
+    synchronized <T extends GameAsset> AssetHandle<T> intern(Class<T> type, String resourcePath,
+                                                            Function<String, GameAsset> loadedResource) {
+        Integer index = indexByPath.get(resourcePath);
+        if(index == null) {
+            index = allocateSlot();
+            slots[index].resource = loadedResource.apply(resourcePath);
+            indexByPath.put(resourcePath, index);
+        }
+        return new AssetHandle<>(type, index, slots[index].generation);
+    }
+
+    /**
+     * Resolves a handle
+     * @param handle the handle
+     * @param <T> type of the resource
+     * @return the resource. null if the handle is stale, the resource is not loaded or is a different type
+     */
+    <T extends GameAsset> T resolve(AssetHandle<T> handle) {
+        Slot[] slots = this.slots;
+        int index = handle.index();
+        if(index < 0 || index >= slots.length) {
+            return null;
+        }
+
+        Slot slot = slots[index];
+        if(slot == null || slot.generation != handle.generation()) {
+            return null;
+        }
+
+        GameAsset resource = slot.resource;
+        if(!handle.type().isInstance(resource)) {
+            return null;
+        }
+        if(!slot.accessed) {
+            slot.accessed = true;
+        }
+        return handle.type().cast(resource);
+    }
+
+    /**
+     * Checks if the resource of a path was resolved through a handle since the last check
+     * @param resourcePath path of the resource
+     * @return true if it was resolved
+     */
+    synchronized boolean takeAccessed(String resourcePath) {
+        Integer index = indexByPath.get(resourcePath);
+        if(index == null || !slots[index].accessed) {
+            return false;
+        }
+        slots[index].accessed = false;
+        return true;
+    }
+
+    /**
+     * Checks if a handle still refers to the slot of its path
+     * @param handle the handle
+     * @return true if the resource of the handle has not been unloaded since the handle was created
+     */
+    boolean isValid(AssetHandle<?> handle) {
+        Slot[] slots = this.slots;
+        int index = handle.index();
+        return index >= 0 && index < slots.length && slots[index] != null
+                && slots[index].generation == handle.generation();
+    }
+
+    /**
+     * Sets the loaded resource of a path if the path is interned
+     * @param resourcePath path of the resource
+     * @param resource the loaded resource
+     */
+    synchronized void store(String resourcePath, GameAsset resource) {
+        Integer index = indexByPath.get(resourcePath);
+        if(index != null) {
+            slots[index].resource = resource;
+        }
+    }
+
+    /**
+     * Releases the slot of a path, making all its handles stale
+     * @param resourcePath path of the unloaded resource
+     */
+    synchronized void release(String resourcePath) {
+        Integer index = indexByPath.remove(resourcePath);
+        if(index == null) {
+            return;
+        }
+
+        Slot slot = slots[index];
+        slot.resource = null;
+        slot.accessed = false;
+        slot.generation++;
+        if(freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = index;
+    }
+
+    synchronized int size() {
+        return indexByPath.size();
+    }
+
+    private int allocateSlot() {
+        if(freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+
+        if(slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[slotCount] = new Slot();
+        return slotCount++;
+    }
+
+    private static final class Slot {
+        private volatile GameAsset resource;
+        private volatile int generation;
+        private volatile boolean accessed;
+    }
+}
@@ -0,0 +1,172 @@
+package me.kyledulce.kengine.resource;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import me.kyledulce.kengine.config.Config;
+import me.kyledulce.kengine.game.GameTime;
+import me.kyledulce.kengine.scheduler.TaskScheduler;
+import me.kyledulce.kengine.utils.MpscQueue;
+import me.kyledulce.kengine.utils.PathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Loads assets in three stages so each runs where it fits best.
+ * Files are read from the {@link AssetSource} on virtual threads, so slow reads do not hold up decoding. Decoding runs as an asynchronous task
+ * on the CPU pool. Decoded assets are then finalized on the game loop thread, where GL objects can be created,
+ * spending at most the finalize budget per frame
+ */
+@Singleton
+public class AssetLoadPipeline implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetLoadPipeline.class);
+
+    private final TaskScheduler taskScheduler;
+    private final GameTime gameTime;
+    private final AssetSource assetSource;
+    private final Executor ioExecutor;
+    private final long finalizeBudgetNanos;
+
+    private final MpscQueue<DecodedAsset<?>> decodedAssets = new MpscQueue<>();
+    private final AtomicBoolean finalizeScheduled = new AtomicBoolean();
+
+    @Inject
+    public AssetLoadPipeline(TaskScheduler taskScheduler, GameTime gameTime, AssetSource assetSource, Config config) {
+        this(taskScheduler, gameTime, assetSource, Executors.newVirtualThreadPerTaskExecutor(), config.getAssetFinalizeBudgetNanos());
+    }
+
+    /**
+     * Creates a pipeline
+     * @param taskScheduler scheduler to decode and finalize assets with
+     * @param gameTime game time source
+     * @param assetSource source to read files from
+     * @param ioExecutor executor to read files on
+     * @param finalizeBudgetNanos time in nanoseconds that may be spent finalizing assets per frame
+     */
+    AssetLoadPipeline(TaskScheduler taskScheduler, GameTime gameTime, AssetSource assetSource, Executor ioExecutor, long finalizeBudgetNanos) {
+        this.taskScheduler = taskScheduler;
+        this.gameTime = gameTime;
+        this.assetSource = assetSource;
+        this.ioExecutor = ioExecutor;
+        this.finalizeBudgetNanos = finalizeBudgetNanos;
+    }
+
+    /**
+     * Loads a resource through all stages. Can be called from any thread
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @param factory factory of the resource
+     * @param onComplete run on the game loop thread once the resource is finalized.
+     *                   Optional will be empty if the resource failed to load
+     * @param <T> the type of the resource
+     */
+    public <T extends GameAsset> void load(String resourcePath, GameAssetFactory<T> factory, Consumer<Optional<T>> onComplete) {
+        ioExecutor.execute(() -> {
+            ByteBuffer data = readResourceData(resourcePath);
+            if (data == null) {
+                addDecodedAsset(new DecodedAsset<>(factory, Optional.empty(), onComplete));
+                return;
+            }
+
+            taskScheduler.scheduleAsynchronousTask(() -> decode(resourcePath, data, factory, onComplete), null);
+        });
+    }
+
+    /**
+     * Reads the contents of a resource file from the asset source. Can be called from any thread
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @return read-only buffer with the contents of the file. null if it could not be read
+     */
+    public ByteBuffer readResourceData(String resourcePath) {
+        String normalizedResourcePath = PathUtils.normalizeResourcePath(resourcePath);
+
+        try {
+            ByteBuffer data = assetSource.read(normalizedResourcePath);
+            if (data == null) {
+                LOGGER.error("Cannot find resource {} at {}", resourcePath, normalizedResourcePath);
+            }
+            return data;
+        } catch (IOException e) {
+            LOGGER.error("Failed to read resource {} at {}", resourcePath, normalizedResourcePath, e);
+            return null;
+        }
+    }
+
+    private <T extends GameAsset> void decode(String resourcePath, ByteBuffer data, GameAssetFactory<T> factory, Consumer<Optional<T>> onComplete) {
+        Optional<T> resource;
+        try {
+            resource = factory.decodeResource(resourcePath, data);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to decode resource {}", resourcePath, e);
+            resource = Optional.empty();
+        }
+
+        if (resource.isEmpty()) {
+            LOGGER.error("Failed to load resource {}", resourcePath);
+        }
+        addDecodedAsset(new DecodedAsset<>(factory, resource, onComplete));
+    }
+
+    /**
+     * Queues a decoded asset for finalization and makes sure a finalize pass is scheduled
+     * @param decodedAsset asset to finalize
+     */
+    private void addDecodedAsset(DecodedAsset<?> decodedAsset) {
+        decodedAssets.offer(decodedAsset);
+        if (finalizeScheduled.compareAndSet(false, true)) {
+            taskScheduler.scheduleSynchronousTask(this::finalizeAssets);
+        }
+    }
+
+    /**
+     * Finalizes decoded assets until the budget is used up. At least one asset is finalized per pass, and a new pass
+     * is scheduled for the next frame if assets are left
+     */
+    private void finalizeAssets() {
+        long startNanos = gameTime.getCurrentTimeNanos();
+        int finalizedCount = 0;
+
+        try {
+            DecodedAsset<?> decodedAsset;
+            while ((finalizedCount == 0 || gameTime.getCurrentTimeNanos() - startNanos < finalizeBudgetNanos)
+                    && (decodedAsset = decodedAssets.poll()) != null) {
+                finalizedCount++;
+                decodedAsset.finish();
+            }
+        } finally {
+            if (!decodedAssets.isEmpty()) {
+                taskScheduler.scheduleSynchronousTask(this::finalizeAssets);
+            } else {
+                finalizeScheduled.set(false);
+                // An asset may have been added after the queue was seen empty but before the flag was cleared
+                if (!decodedAssets.isEmpty() && finalizeScheduled.compareAndSet(false, true)) {
+                    taskScheduler.scheduleSynchronousTask(this::finalizeAssets);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ioExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Asset that went through decoding and waits to be finalized
+     */
+    private record DecodedAsset<T extends GameAsset>(GameAssetFactory<T> factory, Optional<T> resource, Consumer<Optional<T>> onComplete) {
+        private void finish() {
+            resource.ifPresent(factory::finalizeResource);
+            onComplete.accept(resource);
+        }
+    }
+}
@@ -74,7 +74,8 @@ public interface AssetManager {
     void loadResourcesAsync(ResourceRequest[] resourcePaths, Consumer<LoadedResource<GameAsset>[]> onComplete);
 
     /**
-     * Unloads a resource from Resource Manager. If resource is currently being used, there is unpredictable behavior
+     * Unloads a resource from Resource Manager. Resources that are acquired are not unloaded.
+     * If resource is currently being used without being acquired, there is unpredictable behavior
      * @param resourcePath Resource to unload
      */
     void unloadResource(String resourcePath);
@@ -87,7 +88,7 @@ public interface AssetManager {
     void unloadResourceSync(String resourcePath);
 
     /**
-     * Schedules an asynchronous task to unload a resource from Resource Manager.
+     * Queues a resource to be unloaded on the game loop thread, spread over frames within the unload budget.
      * If resource is currently being used, there is unpredictable behavior
      * @param resourcePath The location of resource in jar excluding the asset folder
      */
@@ -108,7 +109,7 @@ public interface AssetManager {
     void unloadResourcesSync(String[] resourcePaths);
 
     /**
-     * Schedules an asynchronous task to unload multiple resources from Resource Manager.
+     * Queues multiple resources to be unloaded on the game loop thread, spread over frames within the unload budget.
      * If resource is currently being used, there is unpredictable behavior
      * @param resourcePaths The location of resource in jar excluding the asset folder
      */
@@ -116,12 +117,42 @@ public interface AssetManager {
 
     /**
      * Schedules asynchronous tasks to load all required resources and unload resources not provided.
-     * If a requested resource is already loaded, nothing occurs. If a resource is not provided, it is unloaded
+     * If a requested resource is already loaded, nothing occurs. The required resources are acquired until the next
+     * call, and the resources acquired by the previous call are released. Resources that are not provided and not
+     * acquired are unloaded over the following frames
      * @param requiredResourcePaths resources to have in the Resource Manager
      * @param onComplete callback when complete
      */
     void loadAndClearResourcesAsync(ResourceRequest[] requiredResourcePaths, Runnable onComplete);
 
+    /**
+     * Adds a reference to a resource. A resource with references is not unloaded. The resource does not need to be
+     * loaded yet. Can be called from any thread
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     */
+    void acquireResource(String resourcePath);
+
+    /**
+     * Removes a reference to a resource. Once a resource has no references it is unloaded on the game loop thread,
+     * within a per-frame budget, unless it is acquired again before that. Can be called from any thread
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     */
+    void releaseResource(String resourcePath);
+
+    /**
+     * Gets the number of references to a resource
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @return number of references. 0 if the resource is not acquired
+     */
+    int getReferenceCount(String resourcePath);
+
+    /**
+     * Gets metrics of the loaded asset cache. Once the memory reported by the asset factories exceeds the configured
+     * budget, unreferenced assets are unloaded in least recently used order
+     * @return metrics of the cache
+     */
+    AssetCacheMetrics getCacheMetrics();
+
     /**
      * Gets resource by type. Will return empty optional if resource is not loaded or resource is loaded as a
      * different type
@@ -132,6 +163,32 @@ public interface AssetManager {
      */
     <T extends GameAsset> Optional<T> getResource(Class<T> type, String resourcePath);
 
+    /**
+     * Gets a handle for a resource path. The path is interned once, so later lookups through the handle do not hash
+     * the path. The resource does not need to be loaded yet. Once the resource is unloaded the handle becomes stale,
+     * and a new handle must be requested after loading it again
+     * @param <T> Type of the resource
+     * @param type resource type
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @return handle of the resource
+     */
+    <T extends GameAsset> AssetHandle<T> getHandle(Class<T> type, String resourcePath);
+
+    /**
+     * Gets resource by handle. Can be called from any thread
+     * @param <T> Type of the resource
+     * @param handle handle from {@link #getHandle(Class, String)}
+     * @return Optional containing resource. Empty if resource is not loaded, is a different type or the handle is stale
+     */
+    <T extends GameAsset> Optional<T> getResource(AssetHandle<T> handle);
+
+    /**
+     * Checks if a handle is not stale
+     * @param handle handle from {@link #getHandle(Class, String)}
+     * @return true if the resource of the handle has not been unloaded since the handle was created
+     */
+    boolean isHandleValid(AssetHandle<?> handle);
+
     @AllArgsConstructor
     @Getter
     class LoadedResource<T> {
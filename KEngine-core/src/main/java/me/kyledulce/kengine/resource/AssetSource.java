@@ -0,0 +1,17 @@
+package me.kyledulce.kengine.resource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Source the contents of asset files are read from. Must be safe to read from several threads at once
+ */
+public interface AssetSource {
+    /**
+     * Reads the whole contents of an asset
+     * @param resourcePath normalized location of the resource excluding the asset folder
+     * @return read-only direct buffer with the contents of the asset between its position and limit. null if not found
+     * @throws IOException if the asset could not be read
+     */
+    ByteBuffer read(String resourcePath) throws IOException;
+}
@@ -0,0 +1,23 @@
+package me.kyledulce.kengine.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads assets from the asset folder on the classpath
+ */
+public class ClasspathAssetSource implements AssetSource {
+
+    @Override
+    public ByteBuffer read(String resourcePath) throws IOException {
+        try (InputStream resourceInputStream = getClass().getResourceAsStream("/assets/".concat(resourcePath))) {
+            if (resourceInputStream == null) {
+                return null;
+            }
+            byte[] data = resourceInputStream.readAllBytes();
+            // Copied into native memory so factories can hand it to native decoders like assets from a pack
+            return ByteBuffer.allocateDirect(data.length).put(data).flip().asReadOnlyBuffer();
+        }
+    }
+}
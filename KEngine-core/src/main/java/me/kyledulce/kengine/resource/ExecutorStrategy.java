@@ -0,0 +1,20 @@
+package me.kyledulce.kengine.resource;
+
+/**
+ * Executors for asynchronous tasks of the {@link SystemResourceManager} that can be selected in the config
+ */
+public enum ExecutorStrategy {
+    /**
+     * Fixed number of threads sharing one queue. Idle threads time out
+     */
+    BOUNDED,
+    /**
+     * {@link java.util.concurrent.ForkJoinPool} where each thread has its own queue and steals from the others
+     * when it runs out of work
+     */
+    WORK_STEALING,
+    /**
+     * New virtual thread for every task. Suited to tasks that mostly wait on IO
+     */
+    VIRTUAL
+}
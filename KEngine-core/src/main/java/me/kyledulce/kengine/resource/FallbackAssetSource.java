@@ -0,0 +1,46 @@
+package me.kyledulce.kengine.resource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Reads each asset from the first of several sources that has it. Used to read assets from an asset pack while
+ * still finding assets that were not packed, such as those of other jars on the classpath.
+ * Closing it closes the sources that can be closed
+ */
+public class FallbackAssetSource implements AssetSource, AutoCloseable {
+    private final List<AssetSource> sources;
+
+    /**
+     * Creates a source reading from the given sources in order
+     * @param sources sources to read from, the first has priority
+     */
+    public FallbackAssetSource(AssetSource... sources) {
+        this.sources = List.of(sources);
+    }
+
+    /**
+     * Reads an asset from the first source that has it. An error reading from a source is not passed over, so a
+     * corrupt entry is not hidden by another copy of the asset
+     */
+    @Override
+    public ByteBuffer read(String resourcePath) throws IOException {
+        for (AssetSource source : sources) {
+            ByteBuffer data = source.read(resourcePath);
+            if (data != null) {
+                return data;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (AssetSource source : sources) {
+            if (source instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -1,11 +1,109 @@
 package me.kyledulce.kengine.resource;
 
+import me.kyledulce.kengine.utils.ByteBufferInputStream;
+import org.lwjgl.system.MemoryUtil;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * Reads, finalizes and unloads assets of a type.
+ * Factories implement {@link #readResource(InputStream)}. Asset loads call {@link #decodeResource(String, ByteBuffer)},
+ * which calls {@link #decodeResource(ByteBuffer)}, which
+ * reads the buffer as a stream by default, so factories that can consume native memory should also implement it to
+ * read assets without copying them, and implement {@link #readResource(InputStream)} with
+ * {@link #decodeStream(InputStream, Function)}
+ * @param <T> type of the asset
+ */
 public interface GameAssetFactory<T extends GameAsset> {
     Class<T> getResourceType();
-    Optional<T> readResource(InputStream inputStream);
     void unloadResource(GameAsset resource);
     boolean isResourceInstanceOfType(GameAsset resource);
+
+    /**
+     * Reads a resource from a stream
+     * @param inputStream stream with the contents of the resource file
+     * @return optional containing the read resource. Empty if it could not be read
+     */
+    Optional<T> readResource(InputStream inputStream);
+
+    /**
+     * Decodes a resource from the contents of its file. Called by asset loads, on a CPU worker of the
+     * {@link AssetLoadPipeline} for asynchronous loads.
+     * The buffer is direct and may be a slice of a memory mapped asset pack, so it must not be kept after decoding.
+     * By default the buffer is read through {@link #readResource(InputStream)}
+     * @param data read-only direct buffer with the contents of the resource file between its position and limit
+     * @return optional containing the decoded resource. Empty if it could not be decoded
+     */
+    default Optional<T> decodeResource(ByteBuffer data) {
+        return readResource(new ByteBufferInputStream(data));
+    }
+
+    /**
+     * Decodes a resource read from an asset path. Factories that cache decoded resources by their path implement it,
+     * by default the path is ignored and the buffer is decoded with {@link #decodeResource(ByteBuffer)}
+     * @param resourcePath path the resource was read from
+     * @param data read-only direct buffer with the contents of the resource file between its position and limit
+     * @return optional containing the decoded resource. Empty if it could not be decoded
+     */
+    default Optional<T> decodeResource(String resourcePath, ByteBuffer data) {
+        return decodeResource(data);
+    }
+
+    /**
+     * Copies a stream into a read-only direct buffer and decodes it, for factories that decode from buffers to
+     * implement {@link #readResource(InputStream)} with
+     * @param inputStream stream with the contents of the resource file
+     * @param decoder decodes the buffer, which is freed once it returns
+     * @param <T> type of the asset
+     * @return optional containing the decoded resource. Empty if it could not be read or decoded
+     */
+    static <T extends GameAsset> Optional<T> decodeStream(InputStream inputStream,
+                                                          Function<ByteBuffer, Optional<T>> decoder) {
+        ByteBuffer data;
+        try {
+            byte[] bytes = inputStream.readAllBytes();
+            data = MemoryUtil.memAlloc(bytes.length).put(bytes).flip();
+        } catch (IOException e) {
+            LoggerFactory.getLogger(GameAssetFactory.class).error("Failed to read resource", e);
+            return Optional.empty();
+        }
+
+        try {
+            return decoder.apply(data.asReadOnlyBuffer());
+        } finally {
+            MemoryUtil.memFree(data);
+        }
+    }
+
+    /**
+     * Finishes loading a decoded resource on the game loop thread, such as uploading it to video memory.
+     * Called by the {@link AssetLoadPipeline} within its per-frame budget
+     * @param resource the decoded resource
+     */
+    default void finalizeResource(T resource) {
+    }
+
+    /**
+     * Gets the memory used by a resource, counted against the memory budget of the asset cache.
+     * Read when the resource is stored, and again whenever the factory reports a change of its size
+     * @param resource the resource
+     * @return size of the resource in bytes
+     */
+    default long getResourceSize(T resource) {
+        return 0;
+    }
+
+    /**
+     * Sets the listener to call with a resource whenever its size changes after it was loaded, such as when its
+     * memory is released. Factories whose resources change in size must call it, so the asset cache budget follows them
+     * @param listener listener to call. Can be called from any thread
+     */
+    default void setResourceSizeListener(Consumer<T> listener) {
+    }
 }
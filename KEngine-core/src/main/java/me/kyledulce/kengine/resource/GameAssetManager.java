@@ -4,14 +4,18 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.AccessLevel;
 import lombok.Getter;
+import me.kyledulce.kengine.config.Config;
+import me.kyledulce.kengine.game.GameTime;
 import me.kyledulce.kengine.scheduler.TaskScheduler;
-import me.kyledulce.kengine.utils.PathUtils;
+import me.kyledulce.kengine.utils.MpscQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
@@ -23,14 +27,73 @@ public class GameAssetManager implements AssetManager {
 
     @Getter(AccessLevel.PACKAGE)
     private final Map<String, GameAsset> loadedResources;
-    private final List<GameAssetFactory> resourceFactories;
+    // Paths of the loaded resources by resource, to find the cache entry of a resource whose size changed
+    private final Map<GameAsset, String> resourcePaths = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final AssetFactoryRegistry resourceFactories;
+    private final AssetHandleTable assetHandles = new AssetHandleTable();
+    private final AssetCache assetCache;
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean();
     private final TaskScheduler taskScheduler;
+    private final AssetLoadPipeline assetLoadPipeline;
+    private final GameTime gameTime;
+    private final long unloadBudgetNanos;
+    // Loads that are reading a resource, by resource path. Requests for a resource in this map wait on its load
+    private final Map<String, InFlightLoad> inFlightLoads = new ConcurrentHashMap<>();
+
+    // Reference counts by resource path. Paths without references are not in the map
+    private final Map<String, Integer> referenceCounts = new ConcurrentHashMap<>();
+    private final MpscQueue<String> deferredUnloads = new MpscQueue<>();
+    private final AtomicBoolean deferredUnloadScheduled = new AtomicBoolean();
+    // Resources acquired by the last loadAndClearResourcesAsync call
+    private Set<String> sceneResources = Set.of();
 
     @Inject
-    public GameAssetManager(List<GameAssetFactory> factories, TaskScheduler taskScheduler) {
-        loadedResources = Collections.synchronizedMap(new HashMap<>());
-        resourceFactories = factories;
+    public GameAssetManager(List<GameAssetFactory> factories, TaskScheduler taskScheduler, AssetLoadPipeline assetLoadPipeline,
+                            GameTime gameTime, Config config) {
+        this(factories, taskScheduler, assetLoadPipeline, gameTime, config.getAssetUnloadBudgetNanos(),
+                config.getAssetCacheBudgetBytes());
+    }
+
+    /**
+     * Creates an asset manager
+     * @param factories factories of the asset types
+     * @param taskScheduler scheduler to load and unload assets with
+     * @param assetLoadPipeline pipeline to load assets asynchronously with
+     * @param gameTime game time source
+     * @param unloadBudgetNanos time in nanoseconds that may be spent unloading unreferenced assets per frame
+     * @param cacheBudgetBytes memory in bytes loaded assets may use before unreferenced ones are evicted.
+     *                         0 or less to never evict
+     */
+    GameAssetManager(List<GameAssetFactory> factories, TaskScheduler taskScheduler, AssetLoadPipeline assetLoadPipeline,
+                     GameTime gameTime, long unloadBudgetNanos, long cacheBudgetBytes) {
+        loadedResources = new ConcurrentHashMap<>();
+        resourceFactories = new AssetFactoryRegistry(factories);
         this.taskScheduler = taskScheduler;
+        this.assetLoadPipeline = assetLoadPipeline;
+        this.gameTime = gameTime;
+        this.unloadBudgetNanos = unloadBudgetNanos;
+        this.assetCache = new AssetCache(cacheBudgetBytes);
+        for(GameAssetFactory<?> factory : factories) {
+            listenForResizes(factory);
+        }
+    }
+
+    /**
+     * Updates the size of a factory's resources in the asset cache whenever the factory reports a change
+     * @param factory the resource factory
+     * @param <T> the type of the resource
+     */
+    private <T extends GameAsset> void listenForResizes(GameAssetFactory<T> factory) {
+        factory.setResourceSizeListener(resource -> {
+            String resourcePath = resourcePaths.get(resource);
+            if(resourcePath == null) {
+                return;
+            }
+            assetCache.resize(resourcePath, factory.getResourceSize(resource));
+            if(assetCache.isOverBudget()) {
+                scheduleEviction();
+            }
+        });
     }
 
     /**
@@ -39,19 +102,13 @@ public class GameAssetManager implements AssetManager {
      * @param <T> The type
      * @return Resource factory for resource type. null if not found
      */
-    @SuppressWarnings("unchecked cast")
     private <T extends GameAsset> GameAssetFactory<T> getResourceFactory(Class<T> type) {
-        for(GameAssetFactory<?> factory : resourceFactories) {
-            if(factory.getResourceType() == type) {
-                return (GameAssetFactory<T>) factory;
-            }
-        }
-        LOGGER.error("Factory for type {} not found", type);
-        return null;
+        return resourceFactories.getFactory(type);
     }
 
     /**
-     * Loads a resource given a resource factory
+     * Loads a resource given a resource factory. If another thread is already reading the same resource,
+     * waits for it and returns its result instead of reading the resource again
      * @param resourcePath The location of resource in jar excluding the asset folder
      * @param gameAssetFactory the resource factory
      * @param <T> the type of the resource
@@ -68,6 +125,8 @@ public class GameAssetManager implements AssetManager {
             GameAsset resource = loadedResources.get(resourcePath);
             if(gameAssetFactory.isResourceInstanceOfType(resource)) {
                 LOGGER.warn("Attempted to load resource that is already loaded");
+                assetCache.getMetrics().recordHit();
+                assetCache.recordAccess(resourcePath);
                 return Optional.of((T) resource);
             } else {
                 LOGGER.error("Attempted to load already loaded resource as a different type");
@@ -75,26 +134,136 @@ public class GameAssetManager implements AssetManager {
             }
         }
 
-        String normalizedResourcePath = PathUtils.normalizeResourcePath(resourcePath);
-        normalizedResourcePath = "/assets/".concat(normalizedResourcePath);
+        InFlightLoad load = new InFlightLoad(false);
+        InFlightLoad inFlightLoad = inFlightLoads.putIfAbsent(resourcePath, load);
+        if(inFlightLoad != null && !inFlightLoad.pipelined()) {
+            assetCache.getMetrics().recordHit();
+            return castResource(inFlightLoad.future().join(), gameAssetFactory);
+        }
 
-        InputStream resourceInputStream = getClass().getResourceAsStream(normalizedResourcePath);
+        // A pipelined load only completes on the game loop thread, which may be this thread, so it is not waited on.
+        // Whichever load finishes second unloads its copy when storing it
+        Optional<T> resource = Optional.empty();
+        assetCache.getMetrics().recordMiss();
+        try {
+            resource = storeLoadedResource(resourcePath, gameAssetFactory, readResource(resourcePath, gameAssetFactory));
+        } finally {
+            if(inFlightLoad == null) {
+                inFlightLoads.remove(resourcePath, load);
+                load.future().complete((Optional<GameAsset>) resource);
+            }
+        }
+        return resource;
+    }
 
-        if(resourceInputStream == null) {
-            LOGGER.error("Cannot find resource {} at {}", resourcePath, normalizedResourcePath);
+    /**
+     * Reads and decodes a resource without storing it
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @param gameAssetFactory the resource factory
+     * @param <T> the type of the resource
+     * @return optional containing resource that was read
+     */
+    private <T extends GameAsset> Optional<T> readResource(String resourcePath, GameAssetFactory<T> gameAssetFactory) {
+        ByteBuffer data = assetLoadPipeline.readResourceData(resourcePath);
+        if(data == null) {
             return Optional.empty();
         }
 
         LOGGER.debug("Loading resource: '{}'", resourcePath);
-        Optional<T> resource = gameAssetFactory.readResource(resourceInputStream);
+        Optional<T> resource = gameAssetFactory.decodeResource(resourcePath, data);
 
         if(resource.isEmpty()) {
-            LOGGER.error("Failed to load resource {} at {}", resourcePath, normalizedResourcePath);
+            LOGGER.error("Failed to load resource {}", resourcePath);
+        }
+        return resource;
+    }
+
+    /**
+     * Loads a resource through the asset load pipeline. If the resource is already loaded or the factory is missing,
+     * the result is given on the next game tick instead. If the resource is already being loaded, the result of that
+     * load is given once it completes
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @param gameAssetFactory the resource factory
+     * @param onComplete Consumer run on the game loop thread once the resource is loaded
+     * @param <T> the type of the resource
+     */
+    @SuppressWarnings("unchecked cast")
+    private <T extends GameAsset> void loadResourceAsync(String resourcePath, GameAssetFactory<T> gameAssetFactory, Consumer<Optional<T>> onComplete) {
+        if(gameAssetFactory == null || loadedResources.containsKey(resourcePath)) {
+            taskScheduler.scheduleSynchronousTask(
+                    () -> onComplete.accept(loadResource(resourcePath, gameAssetFactory))
+            );
+            return;
+        }
+
+        InFlightLoad load = new InFlightLoad(true);
+        InFlightLoad inFlightLoad = inFlightLoads.putIfAbsent(resourcePath, load);
+        if(inFlightLoad != null) {
+            assetCache.getMetrics().recordHit();
+            inFlightLoad.future().thenAccept((resource) -> taskScheduler.scheduleSynchronousTask(
+                    () -> onComplete.accept(castResource(resource, gameAssetFactory))
+            ));
+            return;
+        }
+
+        LOGGER.debug("Loading resource: '{}'", resourcePath);
+        assetCache.getMetrics().recordMiss();
+        assetLoadPipeline.load(resourcePath, gameAssetFactory, (resource) -> {
+            Optional<T> storedResource = storeLoadedResource(resourcePath, gameAssetFactory, resource);
+            inFlightLoads.remove(resourcePath, load);
+            load.future().complete((Optional<GameAsset>) storedResource);
+            onComplete.accept(storedResource);
+        });
+    }
+
+    /**
+     * Casts the result of a load started for another request to the type of this request
+     * @param resource optional containing the loaded resource
+     * @param gameAssetFactory the resource factory of this request
+     * @param <T> the type of the resource
+     * @return optional containing the resource. Empty if it is a different type
+     */
+    @SuppressWarnings("unchecked cast")
+    private <T extends GameAsset> Optional<T> castResource(Optional<GameAsset> resource, GameAssetFactory<T> gameAssetFactory) {
+        if(resource.isPresent() && !gameAssetFactory.isResourceInstanceOfType(resource.get())) {
+            LOGGER.error("Attempted to load already loaded resource as a different type");
             return Optional.empty();
         }
+        return (Optional<T>) resource;
+    }
 
-        loadedResources.put(resourcePath, resource.get());
-        return resource;
+    /**
+     * Stores a loaded resource. If the same resource was loaded in the meantime,
+     * the new copy is unloaded and the stored one is used
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     * @param gameAssetFactory the resource factory
+     * @param resource optional containing the loaded resource
+     * @param <T> the type of the resource
+     * @return optional containing the stored resource
+     */
+    @SuppressWarnings("unchecked cast")
+    private <T extends GameAsset> Optional<T> storeLoadedResource(String resourcePath, GameAssetFactory<T> gameAssetFactory, Optional<T> resource) {
+        if(resource.isEmpty()) {
+            return resource;
+        }
+
+        GameAsset storedResource = loadedResources.putIfAbsent(resourcePath, resource.get());
+        if(storedResource == null) {
+            assetHandles.store(resourcePath, resource.get());
+            resourcePaths.put(resource.get(), resourcePath);
+            assetCache.add(resourcePath, gameAssetFactory.getResourceSize(resource.get()));
+            if(assetCache.isOverBudget()) {
+                scheduleEviction();
+            }
+            return resource;
+        }
+
+        gameAssetFactory.unloadResource(resource.get());
+        if(gameAssetFactory.isResourceInstanceOfType(storedResource)) {
+            return Optional.of((T) storedResource);
+        }
+        LOGGER.error("Attempted to load already loaded resource as a different type");
+        return Optional.empty();
     }
 
     @Override
@@ -119,10 +288,7 @@ public class GameAssetManager implements AssetManager {
 
     @Override
     public <T extends GameAsset> void loadResourceAsync(Class<T> type, String resourcePath, Consumer<Optional<T>> onComplete) {
-        taskScheduler.scheduleAsynchronousTask(
-                () -> loadResource(type, resourcePath),
-                () -> onComplete.accept(getResource(type, resourcePath))
-        );
+        loadResourceAsync(resourcePath, getResourceFactory(type), onComplete);
     }
 
     @Override
@@ -155,50 +321,63 @@ public class GameAssetManager implements AssetManager {
     @Override
     @SuppressWarnings("unchecked")
     public void loadResourcesAsync(ResourceRequest[] resourcePaths, Consumer<LoadedResource<GameAsset>[]> onComplete) {
-        AtomicInteger value = new AtomicInteger();
-        value.set(resourcePaths.length);
-
         LoadedResource<GameAsset>[] result = new LoadedResource[resourcePaths.length];
+        if(resourcePaths.length == 0) {
+            taskScheduler.scheduleSynchronousTask(() -> onComplete.accept(result));
+            return;
+        }
+
+        // Completions all run on the game loop thread
+        int[] remaining = {resourcePaths.length};
         for(int x = 0; x < resourcePaths.length; x++) {
             int finalX = x;
-            taskScheduler.scheduleAsynchronousTask(
-                    () -> {
-                        GameAssetFactory factory = getResourceFactory(resourcePaths[finalX].resourceType());
-                        Optional<? extends GameAsset> loadedResource = loadResource(resourcePaths[finalX].resourceId(), factory);
-                        result[finalX] = new LoadedResource(resourcePaths[finalX].resourceId(), loadedResource);
-                    },
-                    value::getAndDecrement
-            );
+            ResourceRequest request = resourcePaths[x];
+            loadResourceAsync(request.resourceId(), getResourceFactory(request.resourceType()), (loadedResource) -> {
+                result[finalX] = new LoadedResource(request.resourceId(), loadedResource);
+                if(--remaining[0] == 0) {
+                    onComplete.accept(result);
+                }
+            });
         }
-
-        final AtomicInteger taskId = new AtomicInteger();
-        taskId.set(taskScheduler.scheduleRepeatingSynchronousTask(
-                () -> {
-                    if(value.get() <= 0) {
-                        taskScheduler.cancelTask(taskId.get());
-                        onComplete.accept(result);
-                    }
-                },
-        0));
     }
 
     @Override
     public void unloadResource(String resourcePath) {
-        if (!loadedResources.containsKey(resourcePath)) {
+        if(referenceCounts.containsKey(resourcePath)) {
+            LOGGER.warn("Resource '{}' is still referenced and will not be unloaded", resourcePath);
             return;
         }
+        unloadLoadedResource(resourcePath);
+    }
 
+    /**
+     * Unloads a resource without checking its references
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     */
+    private void unloadLoadedResource(String resourcePath) {
         GameAsset resource = loadedResources.get(resourcePath);
+        if (resource == null) {
+            // The path may still be interned, by a handle or a failed load
+            assetHandles.release(resourcePath);
+            assetCache.remove(resourcePath);
+            return;
+        }
+
         GameAssetFactory<?> factory = getResourceFactory(resource.getClass());
 
         if(factory == null) {
             LOGGER.error("Failed to unload resource due to resource factory missing");
+            // Stop tracking it so the cache does not keep picking a resource it cannot evict
+            assetCache.remove(resourcePath);
             return;
         }
 
         LOGGER.debug("Unloading resource '{}'", resourcePath);
         factory.unloadResource(resource);
         loadedResources.remove(resourcePath);
+        resourcePaths.remove(resource);
+        assetHandles.release(resourcePath);
+        assetCache.remove(resourcePath);
     }
 
     @Override
@@ -206,9 +385,17 @@ public class GameAssetManager implements AssetManager {
         taskScheduler.scheduleSynchronousTask(() -> unloadResource(resourcePath));
     }
 
+    /**
+     * Queues the resource to be unloaded on the game loop thread, since factories such as the texture handler release
+     * GL objects and state that is only safe to touch from there
+     */
     @Override
     public void unloadResourceAsync(String resourcePath) {
-        taskScheduler.scheduleAsynchronousTask(() -> unloadResource(resourcePath), null);
+        if(referenceCounts.containsKey(resourcePath)) {
+            LOGGER.warn("Resource '{}' is still referenced and will not be unloaded", resourcePath);
+            return;
+        }
+        deferUnload(resourcePath);
     }
 
     @Override
@@ -226,7 +413,7 @@ public class GameAssetManager implements AssetManager {
     @Override
     public void unloadResourcesAsync(String[] resourcePaths) {
         for(String resource : resourcePaths) {
-            taskScheduler.scheduleAsynchronousTask(() -> unloadResource(resource), null);
+            unloadResourceAsync(resource);
         }
     }
 
@@ -236,38 +423,194 @@ public class GameAssetManager implements AssetManager {
     }
 
     /**
-     * Task for loadAndClearResourcesAsync
+     * Task for loadAndClearResourcesAsync. The required resources are acquired before the resources of the previous
+     * call are released, so resources shared by both stay loaded
      * @param requiredResourcePaths param from previous method
      * @param onComplete param from previous method
      */
-    private void loadAndClearResourcesTask(ResourceRequest[] requiredResourcePaths, Runnable onComplete) {
-        Set<String> resourcesToDelete = new HashSet<>(loadedResources.keySet());
+    private synchronized void loadAndClearResourcesTask(ResourceRequest[] requiredResourcePaths, Runnable onComplete) {
+        Set<String> requiredResources = new HashSet<>();
         Set<ResourceRequest> resourcesToLoad = new HashSet<>();
 
         for(ResourceRequest resourceRequest : requiredResourcePaths) {
-            // If resource is found, then do nothing, remove from delete list
-            // If resource is not found, it must be loaded
-            // If resource is never looked for, it remains in set and gets deleted
-            if(resourcesToDelete.contains(resourceRequest.resourceId()) && !resourcesToLoad.contains(resourceRequest.resourceId())) {
-                resourcesToDelete.remove(resourceRequest.resourceId());
-            } else {
+            // Only the first request of a resource is loaded
+            if(requiredResources.add(resourceRequest.resourceId()) && !loadedResources.containsKey(resourceRequest.resourceId())) {
                 resourcesToLoad.add(resourceRequest);
             }
         }
 
-        unloadResourcesAsync(resourcesToDelete.toArray(new String[0]));
+        for(String resourcePath : requiredResources) {
+            acquireResource(resourcePath);
+        }
+        for(String resourcePath : sceneResources) {
+            releaseResource(resourcePath);
+        }
+        sceneResources = requiredResources;
+
+        // Loaded resources that nothing references are unloaded, even if they were never acquired
+        for(String resourcePath : loadedResources.keySet()) {
+            if(!referenceCounts.containsKey(resourcePath)) {
+                deferUnload(resourcePath);
+            }
+        }
+
         loadResourcesAsync(resourcesToLoad.toArray(new ResourceRequest[0]), (param) -> onComplete.run());
     }
 
     @Override
-    public <T extends GameAsset> Optional<T> getResource(Class<T> type, String resourcePath) {
-        if(loadedResources.containsKey(resourcePath)) {
-            GameAssetFactory<T> factory = getResourceFactory(type);
-            GameAsset resource = loadedResources.get(resourcePath);
-            if(factory != null && factory.isResourceInstanceOfType(resource)) {
-                return Optional.of((T) resource);
+    public void acquireResource(String resourcePath) {
+        referenceCounts.merge(resourcePath, 1, Integer::sum);
+    }
+
+    @Override
+    public void releaseResource(String resourcePath) {
+        boolean[] released = {false};
+        referenceCounts.computeIfPresent(resourcePath, (path, count) -> {
+            if(count > 1) {
+                return count - 1;
+            }
+            released[0] = true;
+            return null;
+        });
+
+        if(released[0]) {
+            deferUnload(resourcePath);
+        } else if(!referenceCounts.containsKey(resourcePath)) {
+            LOGGER.warn("Released resource '{}' that was not acquired", resourcePath);
+        }
+    }
+
+    @Override
+    public int getReferenceCount(String resourcePath) {
+        return referenceCounts.getOrDefault(resourcePath, 0);
+    }
+
+    /**
+     * Queues an unreferenced resource to be unloaded on the game loop thread and makes sure an unload pass is scheduled
+     * @param resourcePath The location of resource in jar excluding the asset folder
+     */
+    private void deferUnload(String resourcePath) {
+        deferredUnloads.offer(resourcePath);
+        if(deferredUnloadScheduled.compareAndSet(false, true)) {
+            taskScheduler.scheduleSynchronousTask(this::unloadDeferredResources);
+        }
+    }
+
+    /**
+     * Unloads queued resources until the budget is used up. At least one resource is handled per pass, and a new
+     * pass is scheduled for the next frame if resources are left. Resources acquired again since they were queued
+     * are kept
+     */
+    private void unloadDeferredResources() {
+        long startNanos = gameTime.getCurrentTimeNanos();
+        int handledCount = 0;
+
+        try {
+            String resourcePath;
+            while((handledCount == 0 || gameTime.getCurrentTimeNanos() - startNanos < unloadBudgetNanos)
+                    && (resourcePath = deferredUnloads.poll()) != null) {
+                handledCount++;
+                // Unloading under the map lock of the path keeps it from being acquired while it is unloaded
+                referenceCounts.computeIfAbsent(resourcePath, (path) -> {
+                    unloadLoadedResource(path);
+                    return null;
+                });
+            }
+        } finally {
+            if(!deferredUnloads.isEmpty()) {
+                taskScheduler.scheduleSynchronousTask(this::unloadDeferredResources);
+            } else {
+                deferredUnloadScheduled.set(false);
+                // A resource may have been queued after the queue was seen empty but before the flag was cleared
+                if(!deferredUnloads.isEmpty() && deferredUnloadScheduled.compareAndSet(false, true)) {
+                    taskScheduler.scheduleSynchronousTask(this::unloadDeferredResources);
+                }
             }
         }
+    }
+
+    @Override
+    public <T extends GameAsset> Optional<T> getResource(Class<T> type, String resourcePath) {
+        GameAsset resource = loadedResources.get(resourcePath);
+        if(type.isInstance(resource)) {
+            assetCache.recordAccess(resourcePath);
+            return Optional.of(type.cast(resource));
+        }
         return Optional.empty();
     }
+
+    @Override
+    public AssetCacheMetrics getCacheMetrics() {
+        return assetCache.getMetrics();
+    }
+
+    /**
+     * Makes sure an eviction pass is scheduled on the game loop thread
+     */
+    private void scheduleEviction() {
+        if(evictionScheduled.compareAndSet(false, true)) {
+            taskScheduler.scheduleSynchronousTask(this::evictOverBudget);
+        }
+    }
+
+    /**
+     * Unloads unreferenced assets picked by the asset cache until it is within its memory budget or the unload
+     * budget of the frame is used up. At least one asset is evicted per pass, and a new pass is scheduled for the
+     * next frame if the cache is still over budget
+     */
+    private void evictOverBudget() {
+        evictionScheduled.set(false);
+        long startNanos = gameTime.getCurrentTimeNanos();
+        int evictedCount = 0;
+
+        while(assetCache.isOverBudget() && (evictedCount == 0 || gameTime.getCurrentTimeNanos() - startNanos < unloadBudgetNanos)) {
+            String resourcePath = assetCache.selectEviction(referenceCounts::containsKey, assetHandles::takeAccessed);
+            if(resourcePath == null) {
+                LOGGER.warn("Asset cache is over its memory budget but every asset is referenced");
+                return;
+            }
+
+            boolean[] evicted = {false};
+            // Unloading under the map lock of the path keeps it from being acquired while it is unloaded
+            referenceCounts.computeIfAbsent(resourcePath, (path) -> {
+                evicted[0] = true;
+                unloadLoadedResource(path);
+                return null;
+            });
+            if(evicted[0]) {
+                evictedCount++;
+                assetCache.getMetrics().recordEviction();
+            }
+        }
+
+        if(assetCache.isOverBudget()) {
+            scheduleEviction();
+        }
+    }
+
+    @Override
+    public <T extends GameAsset> AssetHandle<T> getHandle(Class<T> type, String resourcePath) {
+        return assetHandles.intern(type, resourcePath, loadedResources::get);
+    }
+
+    @Override
+    public <T extends GameAsset> Optional<T> getResource(AssetHandle<T> handle) {
+        return Optional.ofNullable(assetHandles.resolve(handle));
+    }
+
+    @Override
+    public boolean isHandleValid(AssetHandle<?> handle) {
+        return assetHandles.isValid(handle);
+    }
+
+    /**
+     * Load of a resource that other requests for the same resource can wait on
+     * @param pipelined true if the load goes through the asset load pipeline and completes on the game loop thread
+     * @param future completed with the loaded resource
+     */
+    private record InFlightLoad(boolean pipelined, CompletableFuture<Optional<GameAsset>> future) {
+        private InFlightLoad(boolean pipelined) {
+            this(pipelined, new CompletableFuture<>());
+        }
+    }
 }
@@ -5,6 +5,8 @@ import jakarta.inject.Singleton;
 import me.kyledulce.kengine.config.Config;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -13,17 +15,44 @@ import java.util.concurrent.TimeUnit;
  * Class that manages pooled system resources like ThreadPools
  */
 @Singleton
-public class SystemResourceManager {
+public class SystemResourceManager implements AutoCloseable {
 
     ExecutorService executorService;
 
     @Inject
     public SystemResourceManager(Config config) {
-        executorService = new ThreadPoolExecutor(0,
+        executorService = createExecutor(
+                config.getThreadPoolStrategy(),
                 config.getMaxPoolThreads(),
-                config.getThreadTimeoutSeconds(),
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>());
+                config.getThreadTimeoutSeconds());
+    }
+
+    /**
+     * Creates the executor for a strategy
+     * @param strategy the executor strategy
+     * @param maxThreads number of threads of pooled strategies
+     * @param threadTimeoutSeconds time in seconds an idle pooled thread is kept alive
+     * @return the executor
+     */
+    static ExecutorService createExecutor(ExecutorStrategy strategy, int maxThreads, int threadTimeoutSeconds) {
+        return switch (strategy) {
+            case BOUNDED -> {
+                // A pool with fewer core threads than its maximum only grows once the queue is full,
+                // which an unbounded queue never is. Make every thread a core thread and let them time out instead
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads,
+                        maxThreads,
+                        threadTimeoutSeconds,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>());
+                executor.allowCoreThreadTimeOut(true);
+                yield executor;
+            }
+            case WORK_STEALING -> new ForkJoinPool(maxThreads,
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                    null,
+                    true);
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+        };
     }
 
     public TaskFuture submitTask(Runnable task) {
@@ -31,4 +60,9 @@ public class SystemResourceManager {
                 executorService.submit(task)
         );
     }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
 }
@@ -0,0 +1,179 @@
+package me.kyledulce.kengine.resource.pack;
+
+import lombok.Getter;
+import me.kyledulce.kengine.resource.AssetSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static me.kyledulce.kengine.resource.pack.AssetPackFormat.*;
+
+/**
+ * Asset pack mapped into memory. Looking up an asset hashes its path and binary searches the sorted index,
+ * and uncompressed assets are returned as slices of the mapping without copying.
+ * Compressed assets are inflated into a new direct buffer.
+ * The file is mapped as a single buffer, so packs are limited to 2 GB. Can be read from several threads at once
+ */
+public class AssetPack implements AssetSource, AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer mapping;
+    @Getter
+    private final int entryCount;
+    private final int namesOffset;
+
+    private AssetPack(FileChannel channel, MappedByteBuffer mapping) throws IOException {
+        this.channel = channel;
+        this.mapping = mapping;
+        mapping.order(BYTE_ORDER);
+
+        if (mapping.capacity() < HEADER_SIZE || mapping.getInt(0) != MAGIC) {
+            throw new IOException("File is not an asset pack");
+        }
+        if (mapping.getInt(4) != VERSION) {
+            throw new IOException("Unsupported asset pack version " + mapping.getInt(4));
+        }
+
+        this.entryCount = mapping.getInt(HEADER_ENTRY_COUNT);
+        this.namesOffset = (int) mapping.getLong(HEADER_NAMES_OFFSET);
+    }
+
+    /**
+     * Opens and maps an asset pack
+     * @param path path of the pack file
+     * @return the opened pack
+     * @throws IOException if the file could not be mapped or is not an asset pack
+     */
+    public static AssetPack open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Asset packs larger than 2 GB are not supported");
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AssetPack(channel, mapping);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public ByteBuffer read(String resourcePath) throws IOException {
+        int entry = findEntry(resourcePath.getBytes(StandardCharsets.UTF_8));
+        if (entry < 0) {
+            return null;
+        }
+
+        int entryOffset = HEADER_SIZE + entry * ENTRY_SIZE;
+        int dataOffset = (int) mapping.getLong(entryOffset + ENTRY_DATA_OFFSET);
+        int storedLength = mapping.getInt(entryOffset + ENTRY_STORED_LENGTH);
+        ByteBuffer storedData = mapping.slice(dataOffset, storedLength);
+
+        return switch (mapping.get(entryOffset + ENTRY_COMPRESSION)) {
+            case COMPRESSION_NONE -> storedData;
+            case COMPRESSION_DEFLATE -> inflate(resourcePath, storedData, mapping.getInt(entryOffset + ENTRY_LENGTH));
+            default -> throw new IOException("Unknown compression of asset " + resourcePath);
+        };
+    }
+
+    /**
+     * Checks if the pack contains an asset
+     * @param resourcePath normalized location of the resource excluding the asset folder
+     * @return true if it is in the pack
+     */
+    public boolean contains(String resourcePath) {
+        return findEntry(resourcePath.getBytes(StandardCharsets.UTF_8)) >= 0;
+    }
+
+    /**
+     * Finds the index entry of a path
+     * @param path UTF-8 bytes of the path
+     * @return index of the entry. Negative if not found
+     */
+    private int findEntry(byte[] path) {
+        long hash = hashPath(path);
+        int low = 0;
+        int high = entryCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleHash = mapping.getLong(HEADER_SIZE + middle * ENTRY_SIZE + ENTRY_HASH);
+            if (middleHash < hash) {
+                low = middle + 1;
+            } else if (middleHash > hash) {
+                high = middle - 1;
+            } else {
+                return findEntryWithHash(middle, hash, path);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the entry of a path among the entries sharing its hash
+     * @param anyMatch index of any entry with the hash
+     * @param hash hash of the path
+     * @param path UTF-8 bytes of the path
+     * @return index of the entry. Negative if not found
+     */
+    private int findEntryWithHash(int anyMatch, long hash, byte[] path) {
+        int first = anyMatch;
+        while (first > 0 && mapping.getLong(HEADER_SIZE + (first - 1) * ENTRY_SIZE + ENTRY_HASH) == hash) {
+            first--;
+        }
+
+        for (int entry = first; entry < entryCount; entry++) {
+            int entryOffset = HEADER_SIZE + entry * ENTRY_SIZE;
+            if (mapping.getLong(entryOffset + ENTRY_HASH) != hash) {
+                break;
+            }
+            if (nameEquals(entryOffset, path)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int entryOffset, byte[] path) {
+        int nameLength = Short.toUnsignedInt(mapping.getShort(entryOffset + ENTRY_NAME_LENGTH));
+        if (nameLength != path.length) {
+            return false;
+        }
+
+        int nameOffset = namesOffset + mapping.getInt(entryOffset + ENTRY_NAME_OFFSET);
+        return mapping.slice(nameOffset, nameLength).equals(ByteBuffer.wrap(path));
+    }
+
+    private static ByteBuffer inflate(String resourcePath, ByteBuffer storedData, int length) throws IOException {
+        ByteBuffer data = ByteBuffer.allocateDirect(length);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(storedData);
+            while (data.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(data) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Compressed data of asset " + resourcePath + " is truncated");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Compressed data of asset " + resourcePath + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return data.flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Closes the file. The mapping is released once it is no longer reachable
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,71 @@
+package me.kyledulce.kengine.resource.pack;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of an asset pack file. All values are little endian.
+ * <pre>
+ * Header, {@link #HEADER_SIZE} bytes
+ *   int  magic, {@link #MAGIC}
+ *   int  version, {@link #VERSION}
+ *   int  number of entries
+ *   int  reserved
+ *   long offset of the name table
+ *   long offset of the data region
+ * Index, {@link #ENTRY_SIZE} bytes per entry, sorted by path hash then path
+ *   long path hash, see {@link #hashPath(byte[])}
+ *   long offset of the stored data
+ *   int  length of the stored data
+ *   int  length of the asset once decompressed
+ *   int  offset of the path in the name table
+ *   short length of the path in bytes
+ *   byte compression, {@link #COMPRESSION_NONE} or {@link #COMPRESSION_DEFLATE}
+ *   byte reserved
+ * Name table, UTF-8 paths relative to the asset folder
+ * Data region, entries aligned to {@link #DATA_ALIGNMENT} bytes
+ * </pre>
+ */
+final class AssetPackFormat {
+    static final int MAGIC = 0x4B41504B; // "KPAK"
+    static final int VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 32;
+    static final int HEADER_ENTRY_COUNT = 8;
+    static final int HEADER_NAMES_OFFSET = 16;
+    static final int HEADER_DATA_OFFSET = 24;
+
+    static final int ENTRY_SIZE = 32;
+    static final int ENTRY_HASH = 0;
+    static final int ENTRY_DATA_OFFSET = 8;
+    static final int ENTRY_STORED_LENGTH = 16;
+    static final int ENTRY_LENGTH = 20;
+    static final int ENTRY_NAME_OFFSET = 24;
+    static final int ENTRY_NAME_LENGTH = 28;
+    static final int ENTRY_COMPRESSION = 30;
+
+    static final byte COMPRESSION_NONE = 0;
+    static final byte COMPRESSION_DEFLATE = 1;
+
+    static final int DATA_ALIGNMENT = 8;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private AssetPackFormat() {
+    }
+
+    /**
+     * Hashes a path with 64-bit FNV-1a
+     * @param path UTF-8 bytes of the normalized path
+     * @return hash of the path
+     */
+    static long hashPath(byte[] path) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : path) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,145 @@
+package me.kyledulce.kengine.resource.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import static me.kyledulce.kengine.resource.pack.AssetPackFormat.*;
+
+/**
+ * Writes asset packs read by {@link AssetPack}.
+ * Assets are added by path and streamed into the pack one at a time when it is written, so the assets do not all
+ * need to fit in memory
+ */
+public class AssetPackWriter {
+    // Compressed data is only stored if it saves at least this fraction of the size
+    private static final double MIN_COMPRESSION_SAVING = 0.1;
+
+    private final List<PendingEntry> entries = new ArrayList<>();
+    private final Set<String> paths = new HashSet<>();
+
+    /**
+     * Adds an asset file
+     * @param resourcePath normalized location of the resource excluding the asset folder
+     * @param file file with the contents of the asset
+     * @param compress true to compress the asset if it saves space
+     */
+    public void add(String resourcePath, Path file, boolean compress) {
+        byte[] name = resourcePath.getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Asset path is too long: " + resourcePath);
+        }
+        if (!paths.add(resourcePath)) {
+            throw new IllegalArgumentException("Asset added twice: " + resourcePath);
+        }
+        entries.add(new PendingEntry(name, hashPath(name), file, compress));
+    }
+
+    /**
+     * Writes the added assets to a pack file, replacing it if it exists
+     * @param output path of the pack file
+     * @throws IOException if an asset could not be read or the pack could not be written
+     */
+    public void write(Path output) throws IOException {
+        entries.sort(Comparator.comparingLong(PendingEntry::hash)
+                .thenComparing(PendingEntry::name, Arrays::compare));
+
+        long namesOffset = HEADER_SIZE + (long) entries.size() * ENTRY_SIZE;
+        long namesLength = 0;
+        for (PendingEntry entry : entries) {
+            namesLength += entry.name().length;
+        }
+        long dataOffset = align(namesOffset + namesLength);
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer index = ByteBuffer.allocate((int) (dataOffset - HEADER_SIZE)).order(BYTE_ORDER);
+            ByteBuffer names = index.slice((int) (namesOffset - HEADER_SIZE), (int) namesLength);
+
+            long position = dataOffset;
+            for (PendingEntry entry : entries) {
+                byte[] data = Files.readAllBytes(entry.file());
+                byte compression = COMPRESSION_NONE;
+                byte[] storedData = data;
+                if (entry.compress()) {
+                    byte[] compressed = deflate(data);
+                    if (compressed.length <= data.length * (1 - MIN_COMPRESSION_SAVING)) {
+                        compression = COMPRESSION_DEFLATE;
+                        storedData = compressed;
+                    }
+                }
+
+                if (position + storedData.length > Integer.MAX_VALUE) {
+                    throw new IOException("Asset packs larger than 2 GB are not supported");
+                }
+                writeFully(channel, ByteBuffer.wrap(storedData), position);
+
+                index.putLong(entry.hash());
+                index.putLong(position);
+                index.putInt(storedData.length);
+                index.putInt(data.length);
+                index.putInt(names.position());
+                index.putShort((short) entry.name().length);
+                index.put(compression);
+                index.put((byte) 0);
+                names.put(entry.name());
+
+                position = align(position + storedData.length);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(entries.size());
+            header.putInt(0);
+            header.putLong(namesOffset);
+            header.putLong(dataOffset);
+
+            writeFully(channel, header.flip(), 0);
+            writeFully(channel, index.clear(), HEADER_SIZE);
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(64, data.length)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + DATA_ALIGNMENT - 1) & -DATA_ALIGNMENT;
+    }
+
+    private record PendingEntry(byte[] name, long hash, Path file, boolean compress) {
+    }
+}
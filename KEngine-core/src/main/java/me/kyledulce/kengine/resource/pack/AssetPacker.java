@@ -0,0 +1,56 @@
+package me.kyledulce.kengine.resource.pack;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build tool that packs an asset folder into an asset pack.
+ * Run by the {@code pack-assets} Maven profile, or directly with
+ * {@code AssetPacker <asset folder> <pack file> [--compress]}
+ */
+public class AssetPacker {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3 || (args.length == 3 && !args[2].equals("--compress"))) {
+            System.err.println("Usage: AssetPacker <asset folder> <pack file> [--compress]");
+            System.exit(1);
+        }
+
+        Path assetFolder = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        int count = pack(assetFolder, output, args.length == 3);
+        System.out.println("Packed " + count + " assets from " + assetFolder + " into " + output);
+    }
+
+    /**
+     * Packs every file under a folder
+     * @param assetFolder folder to pack. Paths in the pack are relative to it
+     * @param output path of the pack file
+     * @param compress true to compress assets where it saves space
+     * @return number of packed assets
+     * @throws IOException if the folder could not be read or the pack could not be written
+     */
+    public static int pack(Path assetFolder, Path output, boolean compress) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(assetFolder)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+
+        AssetPackWriter writer = new AssetPackWriter();
+        for (Path file : files) {
+            // Pack paths always use forward slashes, like normalized resource paths
+            String resourcePath = assetFolder.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            writer.add(resourcePath, file, compress);
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer.write(output);
+        return files.size();
+    }
+}
@@ -0,0 +1,371 @@
+package me.kyledulce.kengine.scheduler;
+
+import me.kyledulce.kengine.game.GameTime;
+import me.kyledulce.kengine.resource.SystemResourceManager;
+import me.kyledulce.kengine.utils.MpscQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for Task Schedulers. Handles id generation and the different kinds of tasks, while the
+ * storage of waiting tasks is left to the implementation
+ * The waiting tasks are only touched by the game loop thread, which is the thread that last updated the scheduler,
+ * or the thread that created it before the first update. Tasks scheduled or cancelled from other threads are pushed
+ * to a lock-free queue and applied at the start of the next update. The ids of tasks in progress are kept in a
+ * concurrent set from the moment they are generated, so a task can be cancelled or checked from any thread before its
+ * request is applied
+ * Asynchronous tasks cost nothing per update while they run. The worker pushes a completion request to the same queue
+ * when it finishes, and the completion callback is then run as a synchronous task with the id of the asynchronous task
+ * Tasks are given id numbers on creation. If the task is negative, then the task is asynchronous,
+ * otherwise it is a synchronous task
+ */
+public abstract class AbstractTaskScheduler implements TaskScheduleHandler {
+    private static final Runnable NO_CALLBACK = () -> {};
+
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+
+    protected final GameTime gameTime;
+    private final SystemResourceManager systemResourceManager;
+
+    private final MpscQueue<Runnable> pendingRequests = new MpscQueue<>();
+    private volatile Thread loopThread = Thread.currentThread();
+
+    // Ids of tasks waiting, running on a worker or waiting for their completion callback. Added when the id is
+    // generated and removed when the task finishes or is cancelled
+    private final Set<Integer> liveTaskIds = ConcurrentHashMap.newKeySet();
+
+    // Completion callbacks of asynchronous tasks that are running on a worker, by task id
+    private final TaskTable<Runnable> runningAsyncTasks = new TaskTable<>();
+
+    // Due tasks that have not run yet, including tasks carried over from earlier budgeted updates
+    private final ReadyTaskQueue readyTasks = new ReadyTaskQueue();
+    private final TaskSchedulerMetrics metrics = new TaskSchedulerMetrics();
+
+    protected AbstractTaskScheduler(GameTime gameTime, SystemResourceManager systemResourceManager) {
+        this.gameTime = gameTime;
+        this.systemResourceManager = systemResourceManager;
+    }
+
+    @TestOnly
+    int getNextTaskId() {
+        return nextTaskId.get();
+    }
+
+    @TestOnly
+    void setNextTaskId(int nextTaskId) {
+        this.nextTaskId.set(nextTaskId);
+    }
+
+    /**
+     * Adds a task to the waiting tasks. If a task with the same id is present, it is replaced
+     * @param task task to add
+     * @return the replaced task. null if there was none
+     */
+    protected abstract ScheduledTask putTask(@NotNull ScheduledTask task);
+
+    /**
+     * Removes a task from the waiting tasks. If the task does not exist, it does nothing
+     * @param taskId the id of the task to remove
+     * @return the removed task. null if there was none
+     */
+    protected abstract ScheduledTask removeTask(int taskId);
+
+    /**
+     * Checks if a task is waiting
+     * @param taskId the id of the task to check
+     * @return true if the task is waiting
+     */
+    protected abstract boolean containsTask(int taskId);
+
+    /**
+     * Waits a repeating task again after it was collected as due. The scheduled time and delay of the task
+     * are already updated for its next execution
+     * @param task task to wait again
+     */
+    protected abstract void rearmTask(@NotNull ScheduledTask task);
+
+    /**
+     * Passes every task due at the current time to {@link #addDueTask(ScheduledTask)}. Tasks remain waiting
+     * until they are finished or rearmed, and may be passed again while they wait to run. Must not allocate memory
+     * @param currentTime the current time in milliseconds
+     */
+    protected abstract void collectDueTasks(long currentTime);
+
+    /**
+     * Creates the task object held by this scheduler. Implementations can return a subclass to keep their own
+     * bookkeeping on the task
+     */
+    protected ScheduledTask createTask(int id, @NotNull Runnable program, long delayMillis, long intervalMillis, long scheduledTime, boolean repeating) {
+        return new ScheduledTask(id, program, delayMillis, intervalMillis, scheduledTime, repeating);
+    }
+
+    /**
+     * Adds a task to the tasks ready to run. Does nothing if the task is already ready
+     * @param task due task
+     */
+    protected final void addDueTask(@NotNull ScheduledTask task) {
+        readyTasks.add(task);
+    }
+
+    public int scheduleSynchronousTask(@NotNull Runnable task) {
+        return scheduleSynchronousTask(task, 0);
+    }
+
+    public int scheduleSynchronousTask(@NotNull Runnable task, long delayMillis) {
+        return scheduleSynchronousTask(task, 0, delayMillis, false);
+    }
+
+    public int scheduleRepeatingSynchronousTask(@NotNull Runnable task, long intervalMillis) {
+        return scheduleRepeatingSynchronousTask(task, intervalMillis, 0);
+    }
+
+    public int scheduleRepeatingSynchronousTask(@NotNull Runnable task, long intervalMillis, long delayMillis) {
+        return scheduleSynchronousTask(task, intervalMillis, delayMillis, true);
+    }
+
+    /**
+     * Schedules generic Synchronous task
+     *
+     * @param task           task to run
+     * @param intervalMillis time in milliseconds to between execution of the task
+     * @param delayMillis    time in milliseconds to delay the initial task execution
+     * @param repeating      if true, schedules as a repeating task. if false will execute once
+     * @return the id of the scheduled task
+     */
+    private int scheduleSynchronousTask(@NotNull Runnable task, long intervalMillis, long delayMillis, boolean repeating) {
+        int id = generateTaskId(true);
+        scheduleSynchronousTask(id, task, intervalMillis, delayMillis, repeating);
+        return id;
+    }
+
+    /**
+     * Schedules generic Synchronous task given an id. If the id is already present, will override old task
+     *
+     * @param id             the id of the task to schedule
+     * @param task           task to run
+     * @param intervalMillis time in milliseconds to between execution of the task
+     * @param delayMillis    time in milliseconds to delay the initial task execution
+     * @param repeating      if true, schedules as a repeating task. if false will execute once
+     */
+    private void scheduleSynchronousTask(int id, @NotNull Runnable task, long intervalMillis, long delayMillis, boolean repeating) {
+        ScheduledTask scheduledTask = createTask(
+                id,
+                task,
+                delayMillis,
+                intervalMillis,
+                gameTime.getCurrentTimeMillis(),
+                repeating);
+
+        if (isLoopThread()) {
+            addScheduledTask(scheduledTask);
+        } else {
+            pendingRequests.offer(() -> addScheduledTask(scheduledTask));
+        }
+    }
+
+    /**
+     * Adds a scheduled task to the waiting tasks, replacing the task with the same id. Does nothing if the task was
+     * cancelled while its request was queued
+     * @param scheduledTask task to add
+     */
+    private void addScheduledTask(ScheduledTask scheduledTask) {
+        if (!liveTaskIds.contains(scheduledTask.getId())) {
+            return;
+        }
+        ScheduledTask replacedTask = putTask(scheduledTask);
+        if (replacedTask != null) {
+            readyTasks.remove(replacedTask);
+        }
+    }
+
+    public int scheduleAsynchronousTask(@NotNull Runnable task, Runnable onComplete) {
+        int id = generateTaskId(false);
+        scheduleAsynchronousTask(id, task, onComplete);
+        return id;
+    }
+
+    public int scheduleAsynchronousTask(@NotNull Runnable task, Runnable onComplete, long delayMillis) {
+        int id = generateTaskId(false);
+        scheduleSynchronousTask(id, () -> scheduleAsynchronousTask(id, task, onComplete), 0, delayMillis, false);
+        return id;
+    }
+
+    /**
+     * Schedules Asynchronous task
+     *
+     * @param id         the id of the task to schedule
+     * @param task       task to run. must not be null
+     * @param onComplete task to run on completion
+     */
+    private void scheduleAsynchronousTask(int id, @NotNull Runnable task, Runnable onComplete) {
+        Runnable callback = onComplete == null ? NO_CALLBACK : onComplete;
+        // A delayed task is finished as a synchronous task just before it starts here
+        liveTaskIds.add(id);
+        if (isLoopThread()) {
+            runningAsyncTasks.put(id, callback);
+        } else {
+            pendingRequests.offer(() -> runningAsyncTasks.put(id, callback));
+        }
+
+        systemResourceManager.submitTask(() -> {
+            try {
+                task.run();
+            } finally {
+                pendingRequests.offer(() -> completeAsynchronousTask(id));
+            }
+        });
+    }
+
+    /**
+     * Handles an asynchronous task whose worker finished. The completion callback is scheduled to run in the
+     * current update under the id of the asynchronous task, so the task stays in progress until the callback ran
+     * @param id the id of the asynchronous task
+     */
+    private void completeAsynchronousTask(int id) {
+        Runnable callback = runningAsyncTasks.remove(id);
+        if (callback != null && callback != NO_CALLBACK) {
+            scheduleSynchronousTask(id, callback, 0, 0, false);
+        } else {
+            liveTaskIds.remove(id);
+        }
+    }
+
+    public void cancelTask(int taskId) {
+        if (taskId < 0) {
+            return;
+        }
+
+        // Removing the id right away also drops a request to add the task that is still queued
+        liveTaskIds.remove(taskId);
+        if (isLoopThread()) {
+            finishTask(taskId);
+        } else {
+            pendingRequests.offer(() -> finishTask(taskId));
+        }
+    }
+
+    public boolean isTaskInProgress(int taskId) {
+        return liveTaskIds.contains(taskId);
+    }
+
+    public Runnable[] getTasksToRunAndUpdate() {
+        beginUpdate();
+        long currentTime = gameTime.getCurrentTimeMillis();
+        collectDueTasks(currentTime);
+
+        Runnable[] result = new Runnable[readyTasks.size()];
+        for (int x = 0; x < result.length; x++) {
+            ScheduledTask task = readyTasks.poll();
+            result[x] = task.getProgram();
+            updateDueTask(task, currentTime);
+        }
+        metrics.recordUpdate(0, 0);
+
+        return result;
+    }
+
+    public int runTasksAndUpdate() {
+        return runTasksAndUpdate(Long.MAX_VALUE);
+    }
+
+    public int runTasksAndUpdate(long budgetNanos) {
+        beginUpdate();
+        long currentTime = gameTime.getCurrentTimeMillis();
+        collectDueTasks(currentTime);
+
+        boolean budgeted = budgetNanos != Long.MAX_VALUE;
+        long startNanos = budgeted ? gameTime.getCurrentTimeNanos() : 0;
+
+        // Tasks stay queued until they run, so if a task throws the rest carry over to the next update
+        int tasksRun = 0;
+        while (!readyTasks.isEmpty()) {
+            if (budgeted && tasksRun > 0 && gameTime.getCurrentTimeNanos() - startNanos >= budgetNanos) {
+                break;
+            }
+
+            ScheduledTask task = readyTasks.poll();
+            updateDueTask(task, currentTime);
+            task.getProgram().run();
+            tasksRun++;
+        }
+
+        ScheduledTask oldestDeferredTask = readyTasks.peek();
+        metrics.recordUpdate(
+                readyTasks.size(),
+                oldestDeferredTask == null ? 0 : Math.max(0, currentTime - ReadyTaskQueue.dueTime(oldestDeferredTask)));
+
+        return tasksRun;
+    }
+
+    public TaskSchedulerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Takes the calling thread as the game loop thread and applies the requests other threads submitted since the
+     * last update, in the order they were submitted
+     */
+    private void beginUpdate() {
+        loopThread = Thread.currentThread();
+
+        Runnable request;
+        while ((request = pendingRequests.poll()) != null) {
+            request.run();
+        }
+    }
+
+    private boolean isLoopThread() {
+        return Thread.currentThread() == loopThread;
+    }
+
+    /**
+     * Rearms a due repeating task for its next execution, or finishes a due task that does not repeat
+     * @param task due task
+     * @param currentTime the current time in milliseconds
+     */
+    private void updateDueTask(ScheduledTask task, long currentTime) {
+        if (task.isRepeating()) {
+            task.setScheduledTime(currentTime);
+            task.setDelayMillis(task.getIntervalMillis());
+            rearmTask(task);
+        } else {
+            finishTask(task.getId());
+        }
+    }
+
+    /**
+     * Removes a task from the waiting tasks and from the ready tasks
+     * @param taskId the id of the task to finish
+     */
+    private void finishTask(int taskId) {
+        liveTaskIds.remove(taskId);
+        ScheduledTask task = removeTask(taskId);
+        if (task != null) {
+            readyTasks.remove(task);
+        }
+    }
+
+    /**
+     * Generates a task id number and marks it as in progress. Ids still in use are skipped, so ids only repeat after
+     * the counter wraps around and the task that had the id finished
+     *
+     * @param isSynchronous true if it is a scynchrous task
+     * @return generated id number
+     */
+    private int generateTaskId(boolean isSynchronous) {
+        int value;
+        do {
+            value = nextTaskId.getAndUpdate(AbstractTaskScheduler::incrementTaskId) * (isSynchronous ? 1 : -1);
+        } while (!liveTaskIds.add(value));
+
+        return value;
+    }
+
+    private static int incrementTaskId(int taskId) {
+        return taskId == Integer.MAX_VALUE ? 1 : taskId + 1;
+    }
+}
@@ -0,0 +1,126 @@
+package me.kyledulce.kengine.scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of due tasks ordered by the time they were due. Each task stores its position in the heap,
+ * so a cancelled task can be removed without searching for it
+ */
+class ReadyTaskQueue {
+    static final int NOT_QUEUED = -1;
+
+    private ScheduledTask[] heap = new ScheduledTask[16];
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a task to the queue. Does nothing if the task is already queued
+     * @param task task to add
+     */
+    public void add(ScheduledTask task) {
+        if (task.getReadyIndex() != NOT_QUEUED) {
+            return;
+        }
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        siftUp(size++, task);
+    }
+
+    /**
+     * Gets the task that was due first without removing it
+     * @return the task. null if the queue is empty
+     */
+    public ScheduledTask peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Removes the task that was due first
+     * @return the removed task. null if the queue is empty
+     */
+    public ScheduledTask poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        ScheduledTask first = heap[0];
+        removeAt(0);
+        return first;
+    }
+
+    /**
+     * Removes a task from the queue. Does nothing if the task is not queued
+     * @param task task to remove
+     */
+    public void remove(ScheduledTask task) {
+        int index = task.getReadyIndex();
+        if (index != NOT_QUEUED && index < size && heap[index] == task) {
+            removeAt(index);
+        }
+    }
+
+    private void removeAt(int index) {
+        heap[index].setReadyIndex(NOT_QUEUED);
+
+        ScheduledTask last = heap[--size];
+        heap[size] = null;
+        if (index == size) {
+            return;
+        }
+
+        siftDown(index, last);
+        if (heap[index] == last) {
+            siftUp(index, last);
+        }
+    }
+
+    private void siftUp(int index, ScheduledTask task) {
+        long dueTime = dueTime(task);
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            ScheduledTask parentTask = heap[parent];
+            if (dueTime(parentTask) <= dueTime) {
+                break;
+            }
+            place(index, parentTask);
+            index = parent;
+        }
+        place(index, task);
+    }
+
+    private void siftDown(int index, ScheduledTask task) {
+        long dueTime = dueTime(task);
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && dueTime(heap[right]) < dueTime(heap[child])) {
+                child = right;
+            }
+            if (dueTime <= dueTime(heap[child])) {
+                break;
+            }
+            place(index, heap[child]);
+            index = child;
+        }
+        place(index, task);
+    }
+
+    private void place(int index, ScheduledTask task) {
+        heap[index] = task;
+        task.setReadyIndex(index);
+    }
+
+    static long dueTime(ScheduledTask task) {
+        return task.getScheduledTime() + task.getDelayMillis();
+    }
+}
@@ -1,13 +1,12 @@
 package me.kyledulce.kengine.scheduler;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 @Getter
-@AllArgsConstructor
 @EqualsAndHashCode
 public class ScheduledTask {
     private int id;
@@ -16,4 +15,21 @@ public class ScheduledTask {
     private long intervalMillis;
     @Setter private long scheduledTime;
     private boolean repeating;
+
+    /**
+     * Position of the task in the ready queue of its scheduler while the task is due but has not run yet
+     */
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int readyIndex = ReadyTaskQueue.NOT_QUEUED;
+
+    public ScheduledTask(int id, @NotNull Runnable program, long delayMillis, long intervalMillis, long scheduledTime, boolean repeating) {
+        this.id = id;
+        this.program = program;
+        this.delayMillis = delayMillis;
+        this.intervalMillis = intervalMillis;
+        this.scheduledTime = scheduledTime;
+        this.repeating = repeating;
+    }
 }
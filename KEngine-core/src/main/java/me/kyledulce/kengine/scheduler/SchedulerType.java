@@ -0,0 +1,15 @@
+package me.kyledulce.kengine.scheduler;
+
+/**
+ * Implementations of {@link TaskScheduleHandler} that can be selected in the config
+ */
+public enum SchedulerType {
+    /**
+     * {@link MappedTaskScheduler}, checks every waiting task on each update
+     */
+    MAPPED,
+    /**
+     * {@link TimingWheelTaskScheduler}, only visits tasks that are due on each update
+     */
+    TIMING_WHEEL
+}
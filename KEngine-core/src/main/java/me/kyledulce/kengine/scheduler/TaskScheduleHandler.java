@@ -6,4 +6,27 @@ public interface TaskScheduleHandler extends TaskScheduler {
      * @return Tasks to run in current loop and time
      */
     Runnable[] getTasksToRunAndUpdate();
+
+    /**
+     * Runs tasks due at current time and removes them as executed. Unlike {@link #getTasksToRunAndUpdate()}, tasks
+     * are run directly from a buffer owned by the scheduler, so no memory is allocated once the scheduler is warmed up.
+     * A task cancelled by another task in the same update is not run
+     * @return number of tasks that were run
+     */
+    int runTasksAndUpdate();
+
+    /**
+     * Runs tasks due at current time in the order they were due, until the time spent exceeds the budget.
+     * At least one task is run per call. Due tasks that did not fit in the budget run in later updates,
+     * before tasks that became due after them
+     * @param budgetNanos time in nanoseconds that may be spent running tasks
+     * @return number of tasks that were run
+     */
+    int runTasksAndUpdate(long budgetNanos);
+
+    /**
+     * Gets metrics on due tasks carried over between updates
+     * @return the metrics, updated by every update
+     */
+    TaskSchedulerMetrics getMetrics();
 }
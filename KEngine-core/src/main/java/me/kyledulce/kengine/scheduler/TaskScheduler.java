@@ -6,6 +6,8 @@ import org.jetbrains.annotations.NotNull;
  * Class that Schedules Tasks to the Game loop
  * Tasks are given id numbers on creation. If the task is negative, then the task is asynchronous,
  * otherwise it is a synchronous task
+ * Tasks can be scheduled and cancelled from any thread. Requests from threads other than the game loop take effect
+ * at the start of the next update
  */
 public interface TaskScheduler {
     /**
@@ -64,7 +66,8 @@ public interface TaskScheduler {
     void cancelTask(int taskId);
 
     /**
-     * Returns true if task is currently waiting or executing. If task does not exist, false is returned
+     * Returns true if task is currently waiting or executing. If task does not exist, false is returned.
+     * Can be called from any thread. A task scheduled from another thread is in progress as soon as its id is returned
      * @param taskId the task id to check
      * @return true if task is waiting or executing. False otherwise
      */
@@ -0,0 +1,42 @@
+package me.kyledulce.kengine.scheduler;
+
+import lombok.Getter;
+
+/**
+ * Metrics on tasks a budgeted update could not run in time and carried over to later updates
+ */
+@Getter
+public class TaskSchedulerMetrics {
+    /**
+     * Number of due tasks left waiting at the end of the last update
+     */
+    private int deferredTaskCount = 0;
+
+    /**
+     * Sum of the tasks left waiting at the end of every update. A task deferred over several updates is counted
+     * once per update
+     */
+    private long totalDeferredTaskCount = 0;
+
+    /**
+     * Time in milliseconds the oldest task left waiting at the end of the last update was overdue
+     */
+    private long carryOverLagMillis = 0;
+
+    /**
+     * Highest {@link #carryOverLagMillis} of any update
+     */
+    private long maxCarryOverLagMillis = 0;
+
+    /**
+     * Records the state of the ready tasks at the end of an update
+     * @param deferredTaskCount number of due tasks left waiting
+     * @param carryOverLagMillis time in milliseconds the oldest waiting task is overdue. 0 if none are waiting
+     */
+    void recordUpdate(int deferredTaskCount, long carryOverLagMillis) {
+        this.deferredTaskCount = deferredTaskCount;
+        this.totalDeferredTaskCount += deferredTaskCount;
+        this.carryOverLagMillis = carryOverLagMillis;
+        this.maxCarryOverLagMillis = Math.max(maxCarryOverLagMillis, carryOverLagMillis);
+    }
+}
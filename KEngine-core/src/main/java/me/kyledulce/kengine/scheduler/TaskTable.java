@@ -0,0 +1,218 @@
+package me.kyledulce.kengine.scheduler;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Map of task ids to values keyed on primitive ints, so lookups do not box the id and puts do not allocate nodes.
+ * Ids index a bucket array directly. Since ids are handed out sequentially, live tasks land in distinct buckets,
+ * with synchronous ids filling the table from the bottom and asynchronous ids from the top.
+ * Entries are kept in parallel arrays and the entry slot of a removed id is recycled by the next put.
+ * Id 0 is reserved to mark free entries and cannot be stored
+ * @param <T> type of the value
+ */
+class TaskTable<T> {
+    private static final int EMPTY = 0;
+    private static final int NONE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] buckets;
+    private int bucketMask;
+    private int resizeThreshold;
+
+    private int[] entryIds;
+    private Object[] entryValues;
+    private int[] entryNext;
+    private int entryCount = 0;
+    private int freeEntry = NONE;
+    private int size = 0;
+
+    TaskTable() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a table
+     * @param expectedSize number of entries the table can hold without resizing
+     */
+    TaskTable(int expectedSize) {
+        int entryCapacity = Math.max(MIN_CAPACITY, expectedSize);
+        entryIds = new int[entryCapacity];
+        entryValues = new Object[entryCapacity];
+        entryNext = new int[entryCapacity];
+
+        int bucketCount = Integer.highestOneBit(entryCapacity * 4 / 3 - 1) << 1;
+        rehash(bucketCount);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int id) {
+        return findEntry(id) != NONE;
+    }
+
+    /**
+     * Gets value of id
+     * @param id id of the value
+     * @return the value. null if not present
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        int entry = findEntry(id);
+        return entry == NONE ? null : (T) entryValues[entry];
+    }
+
+    /**
+     * Puts value for id, replacing any present value
+     * @param id id of the value. Must not be 0
+     * @param value the value. Must not be null
+     * @return the replaced value. null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public T put(int id, T value) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("Id 0 cannot be stored in a task table");
+        }
+
+        int entry = findEntry(id);
+        if (entry != NONE) {
+            T replaced = (T) entryValues[entry];
+            entryValues[entry] = value;
+            return replaced;
+        }
+
+        entry = allocateEntry();
+        entryIds[entry] = id;
+        entryValues[entry] = value;
+        int bucket = id & bucketMask;
+        entryNext[entry] = buckets[bucket];
+        buckets[bucket] = entry;
+
+        if (++size > resizeThreshold) {
+            rehash(buckets.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes value of id. The entry slot is recycled by a later put
+     * @param id id of the value
+     * @return the removed value. null if not present
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int id) {
+        if (id == EMPTY) {
+            return null;
+        }
+
+        int bucket = id & bucketMask;
+        int previous = NONE;
+        int entry = buckets[bucket];
+        while (entry != NONE && entryIds[entry] != id) {
+            previous = entry;
+            entry = entryNext[entry];
+        }
+        if (entry == NONE) {
+            return null;
+        }
+
+        if (previous == NONE) {
+            buckets[bucket] = entryNext[entry];
+        } else {
+            entryNext[previous] = entryNext[entry];
+        }
+
+        T removed = (T) entryValues[entry];
+        entryIds[entry] = EMPTY;
+        entryValues[entry] = null;
+        entryNext[entry] = freeEntry;
+        freeEntry = entry;
+        size--;
+
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(entryIds, 0, entryCount, EMPTY);
+        Arrays.fill(entryValues, 0, entryCount, null);
+        entryCount = 0;
+        freeEntry = NONE;
+        size = 0;
+    }
+
+    /**
+     * Performs action on every value. The table must not be modified by the action
+     * @param action action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        int[] entryIds = this.entryIds;
+        Object[] entryValues = this.entryValues;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (entryIds[entry] != EMPTY) {
+                action.accept((T) entryValues[entry]);
+            }
+        }
+    }
+
+    private int findEntry(int id) {
+        if (id == EMPTY) {
+            return NONE;
+        }
+
+        int entry = buckets[id & bucketMask];
+        while (entry != NONE && entryIds[entry] != id) {
+            entry = entryNext[entry];
+        }
+        return entry;
+    }
+
+    /**
+     * Takes a free entry slot, reusing slots of removed ids before growing the entry arrays
+     * @return index of the entry
+     */
+    private int allocateEntry() {
+        if (freeEntry != NONE) {
+            int entry = freeEntry;
+            freeEntry = entryNext[entry];
+            return entry;
+        }
+
+        if (entryCount == entryIds.length) {
+            int capacity = entryIds.length * 2;
+            entryIds = Arrays.copyOf(entryIds, capacity);
+            entryValues = Arrays.copyOf(entryValues, capacity);
+            entryNext = Arrays.copyOf(entryNext, capacity);
+        }
+        return entryCount++;
+    }
+
+    /**
+     * Rebuilds the buckets with a new bucket count
+     * @param bucketCount number of buckets. Must be a power of 2
+     */
+    private void rehash(int bucketCount) {
+        buckets = new int[bucketCount];
+        Arrays.fill(buckets, NONE);
+        bucketMask = bucketCount - 1;
+        resizeThreshold = bucketCount / 4 * 3;
+
+        for (int entry = 0; entry < entryCount; entry++) {
+            int id = entryIds[entry];
+            if (id == EMPTY) {
+                continue;
+            }
+
+            int bucket = id & bucketMask;
+            entryNext[entry] = buckets[bucket];
+            buckets[bucket] = entry;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package me.kyledulce.kengine.scheduler;
+
+import me.kyledulce.kengine.game.GameTime;
+import me.kyledulce.kengine.resource.SystemResourceManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Class that Schedules Tasks to the Game loop using a hierarchical timing wheel
+ * Tasks are bucketed by the tick they are due in. Scheduling and cancelling a task is constant time and each update
+ * jumps straight to the next bucket holding tasks, so the cost of an update depends on the number of due tasks
+ * rather than the number of waiting tasks or the time since the last update.
+ * Tasks without a delay skip the wheels and run on the next update. Tasks due in the current tick run as soon as
+ * their due time has passed, so tasks are never run early or late.
+ * Tasks are given id numbers on creation. If the task is negative, then the task is asynchronous,
+ * otherwise it is a synchronous task
+ */
+public class TimingWheelTaskScheduler extends AbstractTaskScheduler {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final TaskTable<WheelTask> waitingTasks = new TaskTable<>();
+    private final WheelTask[][] wheels = new WheelTask[WHEEL_LEVELS][WHEEL_SIZE];
+    private final WheelTask overflowTasks = new WheelTask();
+    private final WheelTask dueTasks = new WheelTask();
+    private final long tickMillis;
+
+    private boolean started = false;
+    private long currentTick;
+    private int wheelTaskCount = 0;
+
+    /**
+     * Creates a timing wheel scheduler
+     * @param gameTime game time source
+     * @param systemResourceManager resource manager for asynchronous tasks
+     * @param tickMillis length of a tick in milliseconds
+     */
+    public TimingWheelTaskScheduler(GameTime gameTime, SystemResourceManager systemResourceManager, long tickMillis) {
+        super(gameTime, systemResourceManager);
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive, got " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+
+        for (WheelTask[] wheel : wheels) {
+            for (int x = 0; x < WHEEL_SIZE; x++) {
+                wheel[x] = new WheelTask();
+            }
+        }
+    }
+
+    @Override
+    protected ScheduledTask createTask(int id, @NotNull Runnable program, long delayMillis, long intervalMillis, long scheduledTime, boolean repeating) {
+        return new WheelTask(id, program, delayMillis, intervalMillis, scheduledTime, repeating);
+    }
+
+    @Override
+    protected ScheduledTask putTask(@NotNull ScheduledTask task) {
+        ScheduledTask replacedTask = removeTask(task.getId());
+
+        WheelTask wheelTask = (WheelTask) task;
+        waitingTasks.put(task.getId(), wheelTask);
+        startIfNeeded(gameTime.getCurrentTimeMillis());
+        insertTask(wheelTask);
+        return replacedTask;
+    }
+
+    @Override
+    protected ScheduledTask removeTask(int taskId) {
+        WheelTask task = waitingTasks.remove(taskId);
+        if (task == null) {
+            return null;
+        }
+
+        if (task.inWheel) {
+            wheelTaskCount--;
+        }
+        task.unlink();
+        return task;
+    }
+
+    @Override
+    protected boolean containsTask(int taskId) {
+        return waitingTasks.containsKey(taskId);
+    }
+
+    @Override
+    protected void rearmTask(@NotNull ScheduledTask task) {
+        insertTask((WheelTask) task);
+    }
+
+    @Override
+    protected void collectDueTasks(long currentTime) {
+        startIfNeeded(currentTime);
+        advanceTo(Math.floorDiv(currentTime, tickMillis));
+        collectCurrentTick(currentTime);
+
+        // Due tasks leave the list so repeating tasks that are due again immediately wait for the next update
+        while (!dueTasks.isEmpty()) {
+            WheelTask task = dueTasks.next;
+            task.unlink();
+            addDueTask(task);
+        }
+    }
+
+    /**
+     * Sets the current tick on first use, so ticks start counting from the first scheduled task
+     * @param currentTime the current time in milliseconds
+     */
+    private void startIfNeeded(long currentTime) {
+        if (!started) {
+            currentTick = Math.floorDiv(currentTime, tickMillis);
+            started = true;
+        }
+    }
+
+    /**
+     * Computes the tick the task is due in and places it in the wheels. Tasks without a delay are due right away
+     * @param task task to insert. Must not be linked
+     */
+    private void insertTask(WheelTask task) {
+        if (task.getDelayMillis() <= 0) {
+            task.inWheel = false;
+            dueTasks.append(task);
+            return;
+        }
+
+        task.deadlineTick = Math.floorDiv(task.getScheduledTime() + task.getDelayMillis(), tickMillis);
+        placeTask(task);
+    }
+
+    /**
+     * Moves the tasks of the current tick whose due time has passed to the due list
+     * @param currentTime the current time in milliseconds
+     */
+    private void collectCurrentTick(long currentTime) {
+        WheelTask bucket = wheels[0][slotIndex(currentTick, 0)];
+        WheelTask task = bucket.next;
+        while (task != bucket) {
+            WheelTask next = task.next;
+            if (task.getScheduledTime() + task.getDelayMillis() <= currentTime) {
+                task.unlink();
+                task.inWheel = false;
+                wheelTaskCount--;
+                dueTasks.append(task);
+            }
+            task = next;
+        }
+    }
+
+    /**
+     * Places a task in the bucket for its deadline relative to the current tick.
+     * Tasks due in the current tick go in its bucket, and are collected once their due time passes.
+     * Tasks within 64 ticks go in the lowest wheel, within 64^2 ticks in the next wheel and so on.
+     * Tasks beyond the highest wheel wait in the overflow list
+     * @param task task to place. Must not be linked
+     */
+    private void placeTask(WheelTask task) {
+        long ticksRemaining = task.deadlineTick - currentTick;
+        if (ticksRemaining < 0) {
+            task.inWheel = false;
+            dueTasks.append(task);
+            return;
+        }
+
+        task.inWheel = true;
+        wheelTaskCount++;
+        for (int level = 0; level < WHEEL_LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            if (ticksRemaining < (1L << (shift + WHEEL_BITS))) {
+                wheels[level][slotIndex(task.deadlineTick, level)].append(task);
+                return;
+            }
+        }
+        overflowTasks.append(task);
+    }
+
+    /**
+     * Advances the wheels to a tick, jumping from one tick with a non-empty bucket to the next. At each of them,
+     * higher wheels that roll over cascade into lower ones and tasks of passed ticks move into the due list
+     * @param targetTick tick to advance to
+     */
+    private void advanceTo(long targetTick) {
+        while (currentTick < targetTick) {
+            // Every task left in the bucket of the current tick is due once the tick has passed
+            moveToDue(wheels[0][slotIndex(currentTick, 0)]);
+            if (wheelTaskCount == 0) {
+                currentTick = targetTick;
+                return;
+            }
+
+            long nextTick = nextBucketTick();
+            if (nextTick > targetTick) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick = nextTick;
+            cascade();
+            replaceTasks(wheels[0][slotIndex(currentTick, 0)]);
+        }
+    }
+
+    /**
+     * Finds the first tick after the current one at which a non-empty bucket is reached. A bucket of a higher wheel
+     * is reached when the wheels below it roll over onto its slot, and the overflow list when the highest wheel moves
+     * @return tick of the next non-empty bucket, or the maximum tick if all are empty
+     */
+    private long nextBucketTick() {
+        long nextTick = Long.MAX_VALUE;
+        for (int level = 0; level < WHEEL_LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            long levelTick = currentTick >> shift;
+            for (int step = 1; step <= WHEEL_SIZE; step++) {
+                long tick = (levelTick + step) << shift;
+                if (tick >= nextTick) {
+                    break;
+                }
+                if (!wheels[level][(int) ((levelTick + step) & WHEEL_MASK)].isEmpty()) {
+                    nextTick = tick;
+                    break;
+                }
+            }
+        }
+        if (!overflowTasks.isEmpty()) {
+            int shift = (WHEEL_LEVELS - 1) * WHEEL_BITS;
+            nextTick = Math.min(nextTick, ((currentTick >> shift) + 1) << shift);
+        }
+        return nextTick;
+    }
+
+    /**
+     * Redistributes the bucket of each higher wheel whose lower wheel just rolled over
+     */
+    private void cascade() {
+        for (int level = 1; level < WHEEL_LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            replaceTasks(wheels[level][slotIndex(currentTick, level)]);
+        }
+        replaceTasks(overflowTasks);
+    }
+
+    /**
+     * Removes all tasks from a bucket and places them again relative to the current tick
+     * @param bucket bucket to redistribute
+     */
+    private void replaceTasks(WheelTask bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        WheelTask task = bucket.next;
+        bucket.prev.next = null;
+        bucket.clear();
+
+        while (task != null) {
+            WheelTask next = task.next;
+            wheelTaskCount--;
+            placeTask(task);
+            task = next;
+        }
+    }
+
+    /**
+     * Moves all tasks of a bucket to the due list
+     * @param bucket bucket to empty
+     */
+    private void moveToDue(WheelTask bucket) {
+        while (!bucket.isEmpty()) {
+            WheelTask task = bucket.next;
+            task.unlink();
+            task.inWheel = false;
+            wheelTaskCount--;
+            dueTasks.append(task);
+        }
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >> (level * WHEEL_BITS)) & WHEEL_MASK);
+    }
+
+    /**
+     * Task that is also a node of a circular doubly linked list, so moving it between buckets never allocates.
+     * Buckets are sentinel nodes without a program
+     */
+    private static final class WheelTask extends ScheduledTask {
+        private long deadlineTick;
+        private boolean inWheel;
+        private WheelTask prev = this;
+        private WheelTask next = this;
+
+        private WheelTask(int id, @NotNull Runnable program, long delayMillis, long intervalMillis, long scheduledTime, boolean repeating) {
+            super(id, program, delayMillis, intervalMillis, scheduledTime, repeating);
+        }
+
+        private WheelTask() {
+            this(0, () -> {}, 0, 0, 0, false);
+        }
+
+        private void append(WheelTask task) {
+            task.prev = prev;
+            task.next = this;
+            prev.next = task;
+            prev = task;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+
+        private boolean isEmpty() {
+            return next == this;
+        }
+
+        private void clear() {
+            prev = this;
+            next = this;
+        }
+    }
+}
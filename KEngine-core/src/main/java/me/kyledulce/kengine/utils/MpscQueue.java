@@ -0,0 +1,83 @@
+package me.kyledulce.kengine.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free queue for many producer threads and a single consumer thread.
+ * Producers only swap the tail reference, so offering never blocks and never retries under contention.
+ * An element offered may not be visible to the consumer until the producer finished linking it,
+ * so {@link #poll()} can briefly report an empty queue while an offer is in progress
+ * @param <T> type of the elements
+ */
+public class MpscQueue<T> {
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AtomicReference<Node<T>> tail;
+    // Only accessed by the consumer thread
+    private Node<T> head;
+
+    public MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Adds an element to the queue. Can be called from any thread
+     * @param value element to add. Must not be null
+     */
+    public void offer(T value) {
+        if (value == null) {
+            throw new NullPointerException("Queue elements must not be null");
+        }
+
+        Node<T> node = new Node<>(value);
+        Node<T> previous = tail.getAndSet(node);
+        NEXT.setRelease(previous, node);
+    }
+
+    /**
+     * Removes the oldest element of the queue. Must only be called from the consumer thread
+     * @return the removed element. null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        Node<T> next = (Node<T>) NEXT.getAcquire(head);
+        if (next == null) {
+            return null;
+        }
+
+        T value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    /**
+     * Checks if the queue has no elements. Must only be called from the consumer thread
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return NEXT.getAcquire(head) == null;
+    }
+
+    private static final class Node<T> {
+        private T value;
+        @SuppressWarnings("unused")
+        private volatile Node<T> next;
+
+        private Node(T value) {
+            this.value = value;
+        }
+    }
+}
@@ -5,14 +5,15 @@ public class PathUtils {
     /**
      * Normalizes file path.
      * Normalized path uses forward slashes and does not contain leading slash.
+     * Already normalized paths are returned as is without allocating
      * @param path path to normalize
      * @return normalized path
      */
     public static String normalizeResourcePath(String path) {
-        String normalizedPath = path.replaceAll("\\\\", "/");
+        String normalizedPath = path.replace('\\', '/');
 
         if(normalizedPath.startsWith("/")) {
-            normalizedPath = normalizedPath.replaceFirst("/", "");
+            normalizedPath = normalizedPath.substring(1);
         }
 
         return normalizedPath;
@@ -0,0 +1,272 @@
+package me.kyledulce.kengine.window.drawing;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import me.kyledulce.kengine.types.Color;
+import me.kyledulce.kengine.types.Vector2;
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.texture.AtlasRegion;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link RenderEngine} that batches sprites into as few draws as possible.
+ * Sprites are written into a buffer in main memory, which is streamed to the GPU and drawn with a single draw when
+ * the shader program, texture or blend mode of the next sprite differs, or the buffer is full.
+ * Sprites whose texture is packed in the {@link TextureAtlas} are drawn from its page, so sprites with different
+ * textures on the same page share a batch. Implementations decide how a sprite is written and drawn
+ */
+public abstract class AbstractSpriteRenderEngine implements RenderEngine {
+    /**
+     * Most sprites in a batch, the most quads that can be indexed with 16 bit indices
+     */
+    public static final int DEFAULT_MAX_BATCH_SPRITES = 16384;
+
+    private static final int WHITE = 0xFFFFFFFF;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final GlBackend glBackend;
+    private final TextureResidencyManager residencyManager;
+    private final TextureAtlas textureAtlas;
+    @Getter
+    private final int maxBatchSprites;
+    private final ByteBuffer spriteData;
+
+    private int vertexArrayId = 0;
+    private int streamBufferId = 0;
+
+    private int batchSprites = 0;
+    private int currentProgramId = 0;
+    private TextureAsset currentTexture = null;
+    private BlendMode currentBlendMode = null;
+
+    /**
+     * Draws made in the current or last frame
+     */
+    @Getter
+    private int drawCallCount = 0;
+    /**
+     * Sprites drawn in the current or last frame
+     */
+    @Getter
+    private int spriteCount = 0;
+    /**
+     * Bytes of sprite data streamed to the GPU in the current or last frame
+     */
+    @Getter
+    private long uploadedByteCount = 0;
+
+    /**
+     * Creates a render engine
+     * @param glBackend backend to make GL calls with
+     * @param residencyManager manager to upload and bind textures with
+     * @param textureAtlas atlas to draw packed textures from
+     * @param maxBatchSprites most sprites drawn with one draw, up to {@link #DEFAULT_MAX_BATCH_SPRITES}
+     * @param bytesPerSprite bytes each sprite writes into the streamed buffer
+     */
+    protected AbstractSpriteRenderEngine(GlBackend glBackend, TextureResidencyManager residencyManager,
+                                         TextureAtlas textureAtlas, int maxBatchSprites, int bytesPerSprite) {
+        if(maxBatchSprites <= 0 || maxBatchSprites > DEFAULT_MAX_BATCH_SPRITES) {
+            throw new IllegalArgumentException("Batches must hold 1 to " + DEFAULT_MAX_BATCH_SPRITES + " sprites");
+        }
+        this.glBackend = glBackend;
+        this.residencyManager = residencyManager;
+        this.textureAtlas = textureAtlas;
+        this.maxBatchSprites = maxBatchSprites;
+        this.spriteData = BufferUtils.createByteBuffer(maxBatchSprites * bytesPerSprite);
+    }
+
+    @Override
+    public void begin() {
+        if(vertexArrayId == 0) {
+            createBuffers();
+        }
+        glBackend.beginFrame();
+        drawCallCount = 0;
+        spriteCount = 0;
+        uploadedByteCount = 0;
+        currentProgramId = 0;
+        currentTexture = null;
+        currentBlendMode = null;
+    }
+
+    @Override
+    public void draw(Sprite2D sprite) {
+        TextureAsset texture = sprite.getTexture();
+        ShaderProgram shaders = sprite.getShaders();
+        if(texture == null || shaders == null || shaders.getProgramId() == 0) {
+            return;
+        }
+
+        AtlasRegion region = textureAtlas.findRegion(texture);
+        TextureAsset drawnTexture = region == null ? texture : region.page();
+        BlendMode blendMode = sprite.getBlendMode() == null ? BlendMode.ALPHA : sprite.getBlendMode();
+
+        if(shaders.getProgramId() != currentProgramId || drawnTexture != currentTexture
+                || blendMode != currentBlendMode) {
+            flush();
+            if(!residencyManager.makeResident(drawnTexture)) {
+                currentTexture = null;
+                return;
+            }
+            applyState(shaders.getProgramId(), drawnTexture, blendMode);
+        } else if(batchSprites == maxBatchSprites) {
+            flush();
+        }
+
+        Vector2 location = sprite.getLocation() == null ? Vector2.ZERO : sprite.getLocation();
+        Vector2 scale = sprite.getScale() == null ? Vector2.ONE : sprite.getScale();
+        float cos = 1;
+        float sin = 0;
+        Vector2 rotation = sprite.getRotation();
+        if(rotation != null) {
+            float length = (float) Math.sqrt(rotation.x() * rotation.x() + rotation.y() * rotation.y());
+            if(length > 0) {
+                cos = rotation.x() / length;
+                sin = rotation.y() / length;
+            }
+        }
+        int color = packColor(sprite.getShaderColor());
+
+        if(region != null) {
+            writeSprite(spriteData, location.x(), location.y(), cos, sin,
+                    region.width() * scale.x(), region.height() * scale.y(),
+                    region.u0(), region.v0(), region.u1(), region.v1(), color);
+        } else {
+            writeSprite(spriteData, location.x(), location.y(), cos, sin,
+                    texture.getWidth() * scale.x(), texture.getHeight() * scale.y(), 0, 0, 1, 1, color);
+        }
+        batchSprites++;
+        spriteCount++;
+    }
+
+    @Override
+    public void end() {
+        flush();
+    }
+
+    /**
+     * Deletes the GL objects of the render engine
+     */
+    public void delete() {
+        if(vertexArrayId == 0) {
+            return;
+        }
+        glBackend.deleteVertexArray(vertexArrayId);
+        glBackend.deleteBuffer(streamBufferId);
+        deleteStaticBuffers();
+        vertexArrayId = 0;
+        streamBufferId = 0;
+    }
+
+    /**
+     * Describes the attributes of the streamed buffer, bound to GL_ARRAY_BUFFER, and creates the buffers that do not
+     * change between draws, such as the element buffer. Called with the vertex array of the render engine bound
+     */
+    protected abstract void createStaticBuffers();
+
+    /**
+     * Deletes the buffers created by {@link #createStaticBuffers()}
+     */
+    protected abstract void deleteStaticBuffers();
+
+    /**
+     * Writes a sprite to the streamed buffer
+     * @param data buffer to write to at its position
+     * @param x x of the center of the sprite
+     * @param y y of the center of the sprite
+     * @param cos cosine of the rotation of the sprite
+     * @param sin sine of the rotation of the sprite
+     * @param width width of the sprite
+     * @param height height of the sprite
+     * @param u0 left texture coordinate
+     * @param v0 top texture coordinate
+     * @param u1 right texture coordinate
+     * @param v1 bottom texture coordinate
+     * @param color color as RGBA bytes in memory order
+     */
+    protected abstract void writeSprite(ByteBuffer data, float x, float y, float cos, float sin, float width,
+                                        float height, float u0, float v0, float u1, float v1, int color);
+
+    /**
+     * Draws the sprites in the streamed buffer. Called with the vertex array of the render engine bound
+     * @param sprites number of sprites to draw
+     */
+    protected abstract void drawBatch(int sprites);
+
+    private void applyState(int programId, TextureAsset texture, BlendMode blendMode) {
+        if(programId != currentProgramId) {
+            glBackend.useProgram(programId);
+            currentProgramId = programId;
+        }
+        if(texture != currentTexture) {
+            residencyManager.bind(texture);
+            currentTexture = texture;
+        }
+        if(blendMode != currentBlendMode) {
+            if(blendMode.isBlendEnabled()) {
+                glBackend.enable(GL11.GL_BLEND);
+                glBackend.blendFunc(blendMode.getSourceFactor(), blendMode.getDestinationFactor());
+            } else {
+                glBackend.disable(GL11.GL_BLEND);
+            }
+            currentBlendMode = blendMode;
+        }
+    }
+
+    /**
+     * Streams the batched sprites to the GPU and draws them
+     */
+    private void flush() {
+        if(batchSprites == 0) {
+            return;
+        }
+
+        spriteData.flip();
+        uploadedByteCount += spriteData.remaining();
+        glBackend.bindVertexArray(vertexArrayId);
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, streamBufferId);
+        // Orphan the previous storage, so the driver does not wait for the last draw from it to finish
+        glBackend.bufferData(GL15.GL_ARRAY_BUFFER, spriteData.capacity(), GL15.GL_STREAM_DRAW);
+        glBackend.bufferSubData(GL15.GL_ARRAY_BUFFER, 0, spriteData);
+        drawBatch(batchSprites);
+
+        spriteData.clear();
+        batchSprites = 0;
+        drawCallCount++;
+    }
+
+    /**
+     * Packs a color as RGBA bytes in memory order
+     */
+    private int packColor(Color color) {
+        if(color == null) {
+            return WHITE;
+        }
+        Color clamped = color.normalize();
+        if(spriteData.order() == ByteOrder.LITTLE_ENDIAN) {
+            return clamped.red() | clamped.green() << 8 | clamped.blue() << 16 | clamped.alpha() << 24;
+        }
+        return clamped.red() << 24 | clamped.green() << 16 | clamped.blue() << 8 | clamped.alpha();
+    }
+
+    private void createBuffers() {
+        vertexArrayId = glBackend.genVertexArray();
+        glBackend.bindVertexArray(vertexArrayId);
+
+        streamBufferId = glBackend.genBuffer();
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, streamBufferId);
+        glBackend.bufferData(GL15.GL_ARRAY_BUFFER, spriteData.capacity(), GL15.GL_STREAM_DRAW);
+        createStaticBuffers();
+
+        glBackend.bindVertexArray(0);
+    }
+}
@@ -0,0 +1,29 @@
+package me.kyledulce.kengine.window.drawing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.lwjgl.opengl.GL11;
+
+/**
+ * How a sprite is blended with what is already drawn
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BlendMode {
+    /**
+     * Drawn over what is behind it, weighted by its alpha
+     */
+    ALPHA(true, GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA),
+    /**
+     * Added to what is behind it, weighted by its alpha
+     */
+    ADDITIVE(true, GL11.GL_SRC_ALPHA, GL11.GL_ONE),
+    /**
+     * Replaces what is behind it, ignoring its alpha
+     */
+    OPAQUE(false, GL11.GL_ONE, GL11.GL_ZERO);
+
+    private final boolean blendEnabled;
+    private final int sourceFactor;
+    private final int destinationFactor;
+}
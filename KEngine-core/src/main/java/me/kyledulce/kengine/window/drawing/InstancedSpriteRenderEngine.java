@@ -0,0 +1,128 @@
+package me.kyledulce.kengine.window.drawing;
+
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sprite render engine that writes every sprite as a single instance record and draws the batch as instances of one
+ * quad, which the vertex shader places. Requires OpenGL 3.3.
+ * The quad corners, from -0.5 to 0.5, are at attribute 0 ("vertices"). Each instance has
+ * the center of the sprite in world units at attribute 3 ("instancePositions"),
+ * the cosine and sine of its rotation at attribute 4 ("instanceRotations"),
+ * its width and height in world units at attribute 5 ("instanceSizes"),
+ * its texture coordinates as left, top, right and bottom at attribute 6 ("instanceUvs")
+ * and its color at attribute 7 ("instanceColors").
+ * See the Shader_Instanced shaders in the assets
+ */
+public class InstancedSpriteRenderEngine extends AbstractSpriteRenderEngine {
+    // Position as floats, rotation as normalized shorts, size as half floats,
+    // texture coordinates as normalized unsigned shorts and color as normalized unsigned bytes
+    static final int INSTANCE_BYTES = 2 * Float.BYTES + 2 * Short.BYTES + 2 * Short.BYTES + 4 * Short.BYTES + 4;
+    private static final int INDICES_PER_SPRITE = 6;
+    private static final int CORNER_ATTRIBUTE = 0;
+    private static final int POSITION_ATTRIBUTE = 3;
+    private static final int ROTATION_ATTRIBUTE = 4;
+    private static final int SIZE_ATTRIBUTE = 5;
+    private static final int TEXTURE_COORDINATE_ATTRIBUTE = 6;
+    private static final int COLOR_ATTRIBUTE = 7;
+    private static final float[] CORNERS = {
+            -0.5f, 0.5f,
+            0.5f, 0.5f,
+            0.5f, -0.5f,
+            -0.5f, -0.5f
+    };
+
+    private int cornerBufferId = 0;
+    private int indexBufferId = 0;
+
+    public InstancedSpriteRenderEngine(GlBackend glBackend, TextureResidencyManager residencyManager, TextureAtlas textureAtlas) {
+        this(glBackend, residencyManager, textureAtlas, DEFAULT_MAX_BATCH_SPRITES);
+    }
+
+    /**
+     * Creates a render engine
+     * @param glBackend backend to make GL calls with
+     * @param residencyManager manager to upload and bind textures with
+     * @param textureAtlas atlas to draw packed textures from
+     * @param maxBatchSprites most sprites drawn with one draw, up to {@link #DEFAULT_MAX_BATCH_SPRITES}
+     */
+    public InstancedSpriteRenderEngine(GlBackend glBackend, TextureResidencyManager residencyManager,
+                                       TextureAtlas textureAtlas, int maxBatchSprites) {
+        super(glBackend, residencyManager, textureAtlas, maxBatchSprites, INSTANCE_BYTES);
+    }
+
+    @Override
+    protected void createStaticBuffers() {
+        GlBackend glBackend = getGlBackend();
+        describeInstanceAttribute(POSITION_ATTRIBUTE, 2, GL11.GL_FLOAT, false, 0);
+        describeInstanceAttribute(ROTATION_ATTRIBUTE, 2, GL11.GL_SHORT, true, 8);
+        describeInstanceAttribute(SIZE_ATTRIBUTE, 2, GL30.GL_HALF_FLOAT, false, 12);
+        describeInstanceAttribute(TEXTURE_COORDINATE_ATTRIBUTE, 4, GL11.GL_UNSIGNED_SHORT, true, 16);
+        describeInstanceAttribute(COLOR_ATTRIBUTE, 4, GL11.GL_UNSIGNED_BYTE, true, 24);
+
+        ByteBuffer corners = BufferUtils.createByteBuffer(CORNERS.length * Float.BYTES);
+        for(float corner : CORNERS) {
+            corners.putFloat(corner);
+        }
+        corners.flip();
+        cornerBufferId = glBackend.genBuffer();
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, cornerBufferId);
+        glBackend.bufferData(GL15.GL_ARRAY_BUFFER, corners, GL15.GL_STATIC_DRAW);
+        glBackend.vertexAttribPointer(CORNER_ATTRIBUTE, 2, GL11.GL_FLOAT, false, 2 * Float.BYTES, 0);
+        glBackend.enableVertexAttribArray(CORNER_ATTRIBUTE);
+
+        ByteBuffer indices = BufferUtils.createByteBuffer(INDICES_PER_SPRITE * Short.BYTES);
+        indices.putShort((short) 0).putShort((short) 1).putShort((short) 2);
+        indices.putShort((short) 2).putShort((short) 3).putShort((short) 0);
+        indices.flip();
+        indexBufferId = glBackend.genBuffer();
+        glBackend.bindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBufferId);
+        glBackend.bufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+    }
+
+    @Override
+    protected void deleteStaticBuffers() {
+        getGlBackend().deleteBuffer(cornerBufferId);
+        getGlBackend().deleteBuffer(indexBufferId);
+        cornerBufferId = 0;
+        indexBufferId = 0;
+    }
+
+    @Override
+    protected void writeSprite(ByteBuffer data, float x, float y, float cos, float sin, float width, float height,
+                               float u0, float v0, float u1, float v1, int color) {
+        data.putFloat(x);
+        data.putFloat(y);
+        data.putShort((short) Math.round(cos * Short.MAX_VALUE));
+        data.putShort((short) Math.round(sin * Short.MAX_VALUE));
+        data.putShort(Float.floatToFloat16(width));
+        data.putShort(Float.floatToFloat16(height));
+        data.putShort(toUnsignedNormalized(u0));
+        data.putShort(toUnsignedNormalized(v0));
+        data.putShort(toUnsignedNormalized(u1));
+        data.putShort(toUnsignedNormalized(v1));
+        data.putInt(color);
+    }
+
+    @Override
+    protected void drawBatch(int sprites) {
+        getGlBackend().drawElementsInstanced(GL11.GL_TRIANGLES, INDICES_PER_SPRITE, GL11.GL_UNSIGNED_SHORT, 0, sprites);
+    }
+
+    private void describeInstanceAttribute(int index, int size, int type, boolean normalized, long offset) {
+        getGlBackend().vertexAttribPointer(index, size, type, normalized, INSTANCE_BYTES, offset);
+        getGlBackend().vertexAttribDivisor(index, 1);
+        getGlBackend().enableVertexAttribArray(index);
+    }
+
+    private static short toUnsignedNormalized(float value) {
+        return (short) Math.round(Math.clamp(value, 0f, 1f) * 0xFFFF);
+    }
+}
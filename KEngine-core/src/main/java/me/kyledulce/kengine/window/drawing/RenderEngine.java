@@ -1,4 +1,23 @@
 package me.kyledulce.kengine.window.drawing;
 
+/**
+ * Draws the sprites of a frame. Sprites are drawn in the order they are submitted between
+ * {@link #begin()} and {@link #end()}. Must only be used from the thread that owns the GL context
+ */
 public interface RenderEngine {
+    /**
+     * Starts a frame
+     */
+    void begin();
+
+    /**
+     * Submits a sprite to be drawn. It may only be drawn once the frame ends
+     * @param sprite sprite to draw
+     */
+    void draw(Sprite2D sprite);
+
+    /**
+     * Draws every sprite submitted since {@link #begin()} that was not drawn yet
+     */
+    void end();
 }
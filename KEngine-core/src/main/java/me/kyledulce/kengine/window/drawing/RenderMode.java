@@ -0,0 +1,15 @@
+package me.kyledulce.kengine.window.drawing;
+
+/**
+ * Implementations of {@link RenderEngine} that can be selected in the config
+ */
+public enum RenderMode {
+    /**
+     * {@link SpriteBatchRenderEngine}, streams four vertices per sprite
+     */
+    BATCHED,
+    /**
+     * {@link InstancedSpriteRenderEngine}, streams one instance record per sprite. Requires OpenGL 3.3
+     */
+    INSTANCED
+}
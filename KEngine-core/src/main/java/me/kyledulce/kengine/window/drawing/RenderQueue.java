@@ -0,0 +1,245 @@
+package me.kyledulce.kengine.window.drawing;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.Getter;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Collects the sprites of a frame and draws them through a {@link RenderEngine} in an order that keeps state changes
+ * to a minimum. Each sprite is given a 64 bit sort key, from the most to the least significant bits:
+ * <ul>
+ *     <li>8 bits of layer, so lower layers are always drawn first</li>
+ *     <li>24 bits of depth, so lower depths are drawn first within a layer</li>
+ *     <li>10 bits of shader program sort id</li>
+ *     <li>20 bits of texture sort id, of the atlas page for packed textures</li>
+ *     <li>2 bits of blend mode</li>
+ * </ul>
+ * Sort ids are small numbers handed out the first time a program or texture is sorted, so distinct programs and
+ * textures get distinct bits until more than 1024 programs or about a million textures have been drawn.
+ * Only sprites with the same layer and depth are reordered, so overlapping sprites still draw in the intended order.
+ * The keys are radix sorted, which keeps sprites with equal keys in submission order.
+ * Arrays are reused between frames and only grow, so a frame does not allocate once the queue has reached its size.
+ * Must only be used from the thread that owns the GL context
+ */
+@Singleton
+public class RenderQueue {
+    /**
+     * Lowest layer a sprite can be submitted to
+     */
+    public static final int MIN_LAYER = -128;
+    /**
+     * Highest layer a sprite can be submitted to
+     */
+    public static final int MAX_LAYER = 127;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int LAYER_SHIFT = 56;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int PROGRAM_SHIFT = 22;
+    private static final long PROGRAM_MASK = 0x3FFL;
+    private static final int TEXTURE_SHIFT = 2;
+    private static final long TEXTURE_MASK = 0xFFFFFL;
+    private static final int BLEND_SHIFT = 0;
+
+    private final RenderEngine renderEngine;
+    private final TextureAtlas textureAtlas;
+
+    private Sprite2D[] sprites = new Sprite2D[INITIAL_CAPACITY];
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] order = new int[INITIAL_CAPACITY];
+    private long[] keysScratch = new long[INITIAL_CAPACITY];
+    private int[] orderScratch = new int[INITIAL_CAPACITY];
+    private final int[] counts = new int[RADIX];
+
+    /**
+     * Sprites submitted since the queue was last drawn
+     */
+    @Getter
+    private int size = 0;
+
+    /**
+     * Creates an empty queue
+     * @param renderEngine engine to draw the sorted sprites with
+     * @param textureAtlas atlas to look up the pages of packed textures in, so sprites on the same page sort together
+     */
+    @Inject
+    public RenderQueue(RenderEngine renderEngine, TextureAtlas textureAtlas) {
+        this.renderEngine = renderEngine;
+        this.textureAtlas = textureAtlas;
+    }
+
+    /**
+     * Submits a sprite on layer 0 at depth 0
+     * @param sprite sprite to draw
+     */
+    public void submit(@NotNull Sprite2D sprite) {
+        submit(sprite, 0, 0);
+    }
+
+    /**
+     * Submits a sprite to be drawn when the queue is drawn
+     * @param sprite sprite to draw
+     * @param layer layer of the sprite, clamped to {@link #MIN_LAYER} and {@link #MAX_LAYER}
+     * @param depth depth of the sprite within its layer
+     */
+    public void submit(@NotNull Sprite2D sprite, int layer, float depth) {
+        if(size == sprites.length) {
+            grow();
+        }
+        sprites[size] = sprite;
+        keys[size] = computeKey(sprite, layer, depth);
+        order[size] = size;
+        size++;
+    }
+
+    /**
+     * Sorts the submitted sprites and draws them as one frame of the render engine, then empties the queue
+     */
+    public void draw() {
+        sort();
+        renderEngine.begin();
+        for(int x = 0; x < size; x++) {
+            renderEngine.draw(sprites[order[x]]);
+        }
+        renderEngine.end();
+        clear();
+    }
+
+    /**
+     * Removes the submitted sprites without drawing them
+     */
+    public void clear() {
+        // Drop the references so sprites removed from the game can be collected
+        Arrays.fill(sprites, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return number of sprites the queue can hold before its arrays grow
+     */
+    int getCapacity() {
+        return sprites.length;
+    }
+
+    /**
+     * Sorts the submitted sprites by their keys, keeping sprites with equal keys in submission order
+     */
+    void sort() {
+        radixSort(keys, order, keysScratch, orderScratch, counts, size);
+    }
+
+    /**
+     * @param index position in sorted order
+     * @return sprite drawn at the position once sorted
+     */
+    Sprite2D getSorted(int index) {
+        return sprites[order[index]];
+    }
+
+    /**
+     * Computes the sort key of a sprite
+     * @param sprite the sprite
+     * @param layer layer of the sprite
+     * @param depth depth of the sprite within its layer
+     * @return key ordering the sprite by layer, depth, then render state
+     */
+    long computeKey(Sprite2D sprite, int layer, float depth) {
+        long layerBits = Math.clamp(layer, MIN_LAYER, MAX_LAYER) - MIN_LAYER;
+
+        // Map the float to unsigned bits in the same order as the float, then keep the most significant ones
+        int depthBits = Float.floatToIntBits(depth == depth ? depth + 0.0f : 0);
+        depthBits ^= (depthBits >> 31) | Integer.MIN_VALUE;
+        long depthKey = (depthBits >>> 8) & 0xFFFFFFL;
+
+        ShaderProgram shaders = sprite.getShaders();
+        long programBits = shaders == null ? 0 : shaders.getSortId() & PROGRAM_MASK;
+
+        // Textures are only resident once drawn, so they are told apart by sort id rather than by GL id
+        TextureAsset texture = sprite.getTexture();
+        long textureBits = 0;
+        if(texture != null) {
+            TextureAsset page = textureAtlas.getPage(texture);
+            textureBits = (page == null ? texture : page).getSortId() & TEXTURE_MASK;
+        }
+
+        BlendMode blendMode = sprite.getBlendMode() == null ? BlendMode.ALPHA : sprite.getBlendMode();
+        long blendBits = blendMode.ordinal() & 0x3;
+
+        return layerBits << LAYER_SHIFT | depthKey << DEPTH_SHIFT | programBits << PROGRAM_SHIFT
+                | textureBits << TEXTURE_SHIFT | blendBits << BLEND_SHIFT;
+    }
+
+    /**
+     * Sorts keys as unsigned values with a least significant digit radix sort, moving their indices with them.
+     * Passes over a byte every key shares are skipped
+     * @param keys keys to sort, sorted in place
+     * @param indices indices moved with the keys, sorted in place
+     * @param keysScratch scratch array at least as long as the keys sorted
+     * @param indicesScratch scratch array at least as long as the keys sorted
+     * @param counts scratch array of 256 counts
+     * @param length number of keys from the start of the arrays to sort
+     */
+    static void radixSort(long[] keys, int[] indices, long[] keysScratch, int[] indicesScratch, int[] counts,
+                          int length) {
+        if(length < 2) {
+            return;
+        }
+
+        long[] sourceKeys = keys;
+        int[] sourceIndices = indices;
+        long[] targetKeys = keysScratch;
+        int[] targetIndices = indicesScratch;
+
+        for(int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for(int x = 0; x < length; x++) {
+                counts[(int) (sourceKeys[x] >>> shift) & (RADIX - 1)]++;
+            }
+            if(counts[(int) (sourceKeys[0] >>> shift) & (RADIX - 1)] == length) {
+                continue;
+            }
+
+            int offset = 0;
+            for(int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for(int x = 0; x < length; x++) {
+                int digit = (int) (sourceKeys[x] >>> shift) & (RADIX - 1);
+                int target = counts[digit]++;
+                targetKeys[target] = sourceKeys[x];
+                targetIndices[target] = sourceIndices[x];
+            }
+
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapIndices = sourceIndices;
+            sourceIndices = targetIndices;
+            targetIndices = swapIndices;
+        }
+
+        if(sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            System.arraycopy(sourceIndices, 0, indices, 0, length);
+        }
+    }
+
+    private void grow() {
+        int capacity = sprites.length * 2;
+        sprites = Arrays.copyOf(sprites, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        order = Arrays.copyOf(order, capacity);
+        keysScratch = new long[capacity];
+        orderScratch = new int[capacity];
+    }
+}
@@ -1,16 +1,43 @@
 package me.kyledulce.kengine.window.drawing;
 
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import me.kyledulce.kengine.types.Color;
 import me.kyledulce.kengine.types.Vector2;
 import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
 import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
 
+/**
+ * Textured quad drawn by a {@link RenderEngine}
+ */
+@Getter
+@Setter
+@NoArgsConstructor
 public class Sprite2D {
-    private Vector2 location;
-    private Vector2 rotation;
-    private Vector2 scale;
+    /**
+     * Position of the center of the sprite
+     */
+    private Vector2 location = Vector2.ZERO;
+    /**
+     * Direction the x axis of the sprite points in. {@link Vector2#RIGHT} for no rotation
+     */
+    private Vector2 rotation = Vector2.RIGHT;
+    /**
+     * Size of the sprite relative to the size of its texture in pixels
+     */
+    private Vector2 scale = Vector2.ONE;
 
     private TextureAsset texture;
     private ShaderProgram shaders;
+    /**
+     * Color the texture is multiplied with. null for white
+     */
     private Color shaderColor;
+    private BlendMode blendMode = BlendMode.ALPHA;
+
+    public Sprite2D(TextureAsset texture, ShaderProgram shaders) {
+        this.texture = texture;
+        this.shaders = shaders;
+    }
 }
@@ -0,0 +1,99 @@
+package me.kyledulce.kengine.window.drawing;
+
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sprite render engine that writes every sprite as the four corners of a quad, drawn with an element buffer.
+ * Vertices are in world units: position at attribute 0 ("vertices"), texture coordinates at attribute 1
+ * ("textures") and the sprite color at attribute 2 ("colors"), so the shader program applies the projection
+ */
+public class SpriteBatchRenderEngine extends AbstractSpriteRenderEngine {
+    static final int VERTEX_BYTES = 2 * Float.BYTES + 2 * Float.BYTES + 4;
+    private static final int VERTICES_PER_SPRITE = 4;
+    private static final int INDICES_PER_SPRITE = 6;
+    private static final int POSITION_ATTRIBUTE = 0;
+    private static final int TEXTURE_COORDINATE_ATTRIBUTE = 1;
+    private static final int COLOR_ATTRIBUTE = 2;
+
+    private int indexBufferId = 0;
+
+    public SpriteBatchRenderEngine(GlBackend glBackend, TextureResidencyManager residencyManager, TextureAtlas textureAtlas) {
+        this(glBackend, residencyManager, textureAtlas, DEFAULT_MAX_BATCH_SPRITES);
+    }
+
+    /**
+     * Creates a render engine
+     * @param glBackend backend to make GL calls with
+     * @param residencyManager manager to upload and bind textures with
+     * @param textureAtlas atlas to draw packed textures from
+     * @param maxBatchSprites most sprites drawn with one draw, up to {@link #DEFAULT_MAX_BATCH_SPRITES}
+     */
+    public SpriteBatchRenderEngine(GlBackend glBackend, TextureResidencyManager residencyManager,
+                                   TextureAtlas textureAtlas, int maxBatchSprites) {
+        super(glBackend, residencyManager, textureAtlas, maxBatchSprites, VERTICES_PER_SPRITE * VERTEX_BYTES);
+    }
+
+    @Override
+    protected void createStaticBuffers() {
+        GlBackend glBackend = getGlBackend();
+        glBackend.vertexAttribPointer(POSITION_ATTRIBUTE, 2, GL11.GL_FLOAT, false, VERTEX_BYTES, 0);
+        glBackend.vertexAttribPointer(TEXTURE_COORDINATE_ATTRIBUTE, 2, GL11.GL_FLOAT, false, VERTEX_BYTES, 2 * Float.BYTES);
+        glBackend.vertexAttribPointer(COLOR_ATTRIBUTE, 4, GL11.GL_UNSIGNED_BYTE, true, VERTEX_BYTES, 4 * Float.BYTES);
+        glBackend.enableVertexAttribArray(POSITION_ATTRIBUTE);
+        glBackend.enableVertexAttribArray(TEXTURE_COORDINATE_ATTRIBUTE);
+        glBackend.enableVertexAttribArray(COLOR_ATTRIBUTE);
+
+        // Every sprite is two triangles over its four corners, so the indices never change
+        ByteBuffer indices = BufferUtils.createByteBuffer(getMaxBatchSprites() * INDICES_PER_SPRITE * Short.BYTES);
+        for(int x = 0; x < getMaxBatchSprites(); x++) {
+            short first = (short) (x * VERTICES_PER_SPRITE);
+            indices.putShort(first).putShort((short) (first + 1)).putShort((short) (first + 2));
+            indices.putShort((short) (first + 2)).putShort((short) (first + 3)).putShort(first);
+        }
+        indices.flip();
+        indexBufferId = glBackend.genBuffer();
+        glBackend.bindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBufferId);
+        glBackend.bufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+    }
+
+    @Override
+    protected void deleteStaticBuffers() {
+        getGlBackend().deleteBuffer(indexBufferId);
+        indexBufferId = 0;
+    }
+
+    /**
+     * Writes the corners of a sprite, starting at the top left and going clockwise
+     */
+    @Override
+    protected void writeSprite(ByteBuffer data, float x, float y, float cos, float sin, float width, float height,
+                               float u0, float v0, float u1, float v1, int color) {
+        float halfWidth = width * 0.5f;
+        float halfHeight = height * 0.5f;
+        writeVertex(data, x, y, -halfWidth, halfHeight, cos, sin, u0, v0, color);
+        writeVertex(data, x, y, halfWidth, halfHeight, cos, sin, u1, v0, color);
+        writeVertex(data, x, y, halfWidth, -halfHeight, cos, sin, u1, v1, color);
+        writeVertex(data, x, y, -halfWidth, -halfHeight, cos, sin, u0, v1, color);
+    }
+
+    @Override
+    protected void drawBatch(int sprites) {
+        getGlBackend().drawElements(GL11.GL_TRIANGLES, sprites * INDICES_PER_SPRITE, GL11.GL_UNSIGNED_SHORT, 0);
+    }
+
+    private static void writeVertex(ByteBuffer data, float x, float y, float localX, float localY,
+                                    float cos, float sin, float u, float v, int color) {
+        data.putFloat(x + localX * cos - localY * sin);
+        data.putFloat(y + localX * sin + localY * cos);
+        data.putFloat(u);
+        data.putFloat(v);
+        data.putInt(color);
+    }
+}
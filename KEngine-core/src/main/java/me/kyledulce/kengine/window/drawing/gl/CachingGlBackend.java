@@ -0,0 +1,311 @@
+package me.kyledulce.kengine.window.drawing.gl;
+
+import lombok.Getter;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link GlBackend} that remembers the state it last set and skips calls that would set it to the same value again.
+ * Tracks the program in use, the active texture unit, the texture bound to each unit, the bound vertex array,
+ * the buffer bound to GL_ARRAY_BUFFER, the blend function and enabled capabilities. Every other call is passed on.
+ * State starts unknown, so the first call for each state is always made. GL code that does not go through this
+ * backend must be followed by {@link #invalidate()}.
+ * Must only be used from the thread that owns the GL context
+ */
+public class CachingGlBackend implements GlBackend {
+    /**
+     * Texture units whose bindings are tracked. Binds to higher units are always made
+     */
+    public static final int MAX_CACHED_TEXTURE_UNITS = 32;
+    /**
+     * Capabilities whose state is tracked. Others are always enabled or disabled
+     */
+    public static final int MAX_CACHED_CAPABILITIES = 16;
+
+    private static final int UNKNOWN = -1;
+    private static final byte CAPABILITY_UNKNOWN = 0;
+    private static final byte CAPABILITY_ENABLED = 1;
+    private static final byte CAPABILITY_DISABLED = 2;
+
+    @Getter
+    private final GlBackend delegate;
+
+    private int currentProgram;
+    private int activeTextureUnit;
+    private final int[] boundTextures = new int[MAX_CACHED_TEXTURE_UNITS];
+    private int boundVertexArray;
+    private int boundArrayBuffer;
+    private int blendSourceFactor;
+    private int blendDestinationFactor;
+    private final int[] capabilities = new int[MAX_CACHED_CAPABILITIES];
+    private final byte[] capabilityStates = new byte[MAX_CACHED_CAPABILITIES];
+    private int capabilityCount = 0;
+
+    /**
+     * State calls passed on to the delegate since the frame began
+     */
+    @Getter
+    private long issuedCallCount = 0;
+    /**
+     * State calls skipped since the frame began, because the state was already set
+     */
+    @Getter
+    private long elidedCallCount = 0;
+
+    /**
+     * Creates a caching backend with all state unknown
+     * @param delegate backend to pass calls that change state on to
+     */
+    public CachingGlBackend(GlBackend delegate) {
+        this.delegate = delegate;
+        invalidate();
+    }
+
+    /**
+     * Forgets all tracked state, so the next call for each state is made. Needed after GL calls made without
+     * this backend, or when the context changes
+     */
+    public void invalidate() {
+        currentProgram = UNKNOWN;
+        activeTextureUnit = UNKNOWN;
+        Arrays.fill(boundTextures, UNKNOWN);
+        boundVertexArray = UNKNOWN;
+        boundArrayBuffer = UNKNOWN;
+        blendSourceFactor = UNKNOWN;
+        blendDestinationFactor = UNKNOWN;
+        Arrays.fill(capabilityStates, CAPABILITY_UNKNOWN);
+    }
+
+    /**
+     * Resets the issued and elided call counters
+     */
+    @Override
+    public void beginFrame() {
+        issuedCallCount = 0;
+        elidedCallCount = 0;
+        delegate.beginFrame();
+    }
+
+    @Override
+    public int genTexture() {
+        return delegate.genTexture();
+    }
+
+    @Override
+    public void deleteTexture(int textureId) {
+        delegate.deleteTexture(textureId);
+        // Deleting a texture unbinds it from every unit
+        for(int x = 0; x < MAX_CACHED_TEXTURE_UNITS; x++) {
+            if(boundTextures[x] == textureId) {
+                boundTextures[x] = 0;
+            }
+        }
+    }
+
+    @Override
+    public void activeTexture(int unit) {
+        if(unit == activeTextureUnit) {
+            elidedCallCount++;
+            return;
+        }
+        delegate.activeTexture(unit);
+        activeTextureUnit = unit;
+        issuedCallCount++;
+    }
+
+    @Override
+    public void bindTexture2D(int textureId) {
+        int unit = activeTextureUnit;
+        if(unit >= 0 && unit < MAX_CACHED_TEXTURE_UNITS && boundTextures[unit] == textureId) {
+            elidedCallCount++;
+            return;
+        }
+        delegate.bindTexture2D(textureId);
+        if(unit >= 0 && unit < MAX_CACHED_TEXTURE_UNITS) {
+            boundTextures[unit] = textureId;
+        }
+        issuedCallCount++;
+    }
+
+    @Override
+    public void texParameter2D(int parameter, int value) {
+        delegate.texParameter2D(parameter, value);
+    }
+
+    @Override
+    public void texImage2D(int width, int height, ByteBuffer pixels) {
+        delegate.texImage2D(width, height, pixels);
+    }
+
+    @Override
+    public void texSubImage2D(int x, int y, int width, int height, ByteBuffer pixels) {
+        delegate.texSubImage2D(x, y, width, height, pixels);
+    }
+
+    @Override
+    public int genBuffer() {
+        return delegate.genBuffer();
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+        delegate.deleteBuffer(bufferId);
+        if(boundArrayBuffer == bufferId) {
+            boundArrayBuffer = 0;
+        }
+    }
+
+    /**
+     * Skips binds to GL_ARRAY_BUFFER of the buffer already bound. Binds to other targets are always made, since the
+     * element buffer binding belongs to the bound vertex array
+     */
+    @Override
+    public void bindBuffer(int target, int bufferId) {
+        if(target != GL15.GL_ARRAY_BUFFER) {
+            delegate.bindBuffer(target, bufferId);
+            return;
+        }
+        if(bufferId == boundArrayBuffer) {
+            elidedCallCount++;
+            return;
+        }
+        delegate.bindBuffer(target, bufferId);
+        boundArrayBuffer = bufferId;
+        issuedCallCount++;
+    }
+
+    @Override
+    public void bufferData(int target, long size, int usage) {
+        delegate.bufferData(target, size, usage);
+    }
+
+    @Override
+    public void bufferData(int target, ByteBuffer data, int usage) {
+        delegate.bufferData(target, data, usage);
+    }
+
+    @Override
+    public void bufferSubData(int target, long offset, ByteBuffer data) {
+        delegate.bufferSubData(target, offset, data);
+    }
+
+    @Override
+    public int genVertexArray() {
+        return delegate.genVertexArray();
+    }
+
+    @Override
+    public void deleteVertexArray(int vertexArrayId) {
+        delegate.deleteVertexArray(vertexArrayId);
+        if(boundVertexArray == vertexArrayId) {
+            boundVertexArray = 0;
+        }
+    }
+
+    @Override
+    public void bindVertexArray(int vertexArrayId) {
+        if(vertexArrayId == boundVertexArray) {
+            elidedCallCount++;
+            return;
+        }
+        delegate.bindVertexArray(vertexArrayId);
+        boundVertexArray = vertexArrayId;
+        issuedCallCount++;
+    }
+
+    @Override
+    public void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long offset) {
+        delegate.vertexAttribPointer(index, size, type, normalized, stride, offset);
+    }
+
+    @Override
+    public void enableVertexAttribArray(int index) {
+        delegate.enableVertexAttribArray(index);
+    }
+
+    @Override
+    public void vertexAttribDivisor(int index, int divisor) {
+        delegate.vertexAttribDivisor(index, divisor);
+    }
+
+    @Override
+    public void useProgram(int programId) {
+        if(programId == currentProgram) {
+            elidedCallCount++;
+            return;
+        }
+        delegate.useProgram(programId);
+        currentProgram = programId;
+        issuedCallCount++;
+    }
+
+    @Override
+    public void enable(int capability) {
+        setCapability(capability, CAPABILITY_ENABLED);
+    }
+
+    @Override
+    public void disable(int capability) {
+        setCapability(capability, CAPABILITY_DISABLED);
+    }
+
+    @Override
+    public void blendFunc(int sourceFactor, int destinationFactor) {
+        if(sourceFactor == blendSourceFactor && destinationFactor == blendDestinationFactor) {
+            elidedCallCount++;
+            return;
+        }
+        delegate.blendFunc(sourceFactor, destinationFactor);
+        blendSourceFactor = sourceFactor;
+        blendDestinationFactor = destinationFactor;
+        issuedCallCount++;
+    }
+
+    @Override
+    public void drawElements(int mode, int count, int type, long offset) {
+        delegate.drawElements(mode, count, type, offset);
+    }
+
+    @Override
+    public void drawElementsInstanced(int mode, int count, int type, long offset, int instanceCount) {
+        delegate.drawElementsInstanced(mode, count, type, offset, instanceCount);
+    }
+
+    private void setCapability(int capability, byte state) {
+        int slot = findCapability(capability);
+        if(slot != UNKNOWN && capabilityStates[slot] == state) {
+            elidedCallCount++;
+            return;
+        }
+
+        if(state == CAPABILITY_ENABLED) {
+            delegate.enable(capability);
+        } else {
+            delegate.disable(capability);
+        }
+        if(slot != UNKNOWN) {
+            capabilityStates[slot] = state;
+        }
+        issuedCallCount++;
+    }
+
+    /**
+     * Finds the slot tracking a capability, starting to track it if there is room
+     * @return index of the slot, or -1 if it is not tracked
+     */
+    private int findCapability(int capability) {
+        for(int x = 0; x < capabilityCount; x++) {
+            if(capabilities[x] == capability) {
+                return x;
+            }
+        }
+        if(capabilityCount == MAX_CACHED_CAPABILITIES) {
+            return UNKNOWN;
+        }
+        capabilities[capabilityCount] = capability;
+        capabilityStates[capabilityCount] = CAPABILITY_UNKNOWN;
+        return capabilityCount++;
+    }
+}
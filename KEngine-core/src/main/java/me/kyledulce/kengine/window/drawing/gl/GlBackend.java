@@ -0,0 +1,194 @@
+package me.kyledulce.kengine.window.drawing.gl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * OpenGL calls made by the renderer. Drawing code goes through this interface instead of calling LWJGL directly,
+ * so it can run against a recording backend in tests without a GPU or window.
+ * All calls must be made from the thread that owns the GL context
+ */
+public interface GlBackend {
+    /**
+     * Marks the start of a frame, for backends that count calls per frame
+     */
+    default void beginFrame() {
+    }
+
+    /**
+     * Creates a texture object
+     * @return id of the texture
+     */
+    int genTexture();
+
+    /**
+     * Deletes a texture object
+     * @param textureId id of the texture
+     */
+    void deleteTexture(int textureId);
+
+    /**
+     * Selects the active texture unit
+     * @param unit index of the texture unit, starting at 0
+     */
+    void activeTexture(int unit);
+
+    /**
+     * Binds a 2D texture to the active texture unit
+     * @param textureId id of the texture. 0 to unbind
+     */
+    void bindTexture2D(int textureId);
+
+    /**
+     * Sets a parameter of the bound 2D texture
+     * @param parameter parameter name, such as GL_TEXTURE_MIN_FILTER
+     * @param value parameter value
+     */
+    void texParameter2D(int parameter, int value);
+
+    /**
+     * Uploads RGBA pixels with 8 bits per channel to the bound 2D texture
+     * @param width width in pixels
+     * @param height height in pixels
+     * @param pixels pixel data
+     */
+    void texImage2D(int width, int height, ByteBuffer pixels);
+
+    /**
+     * Replaces a rectangle of the bound 2D texture with RGBA pixels with 8 bits per channel
+     * @param x left edge of the rectangle in pixels
+     * @param y top edge of the rectangle in pixels
+     * @param width width in pixels
+     * @param height height in pixels
+     * @param pixels pixel data, tightly packed rows of the rectangle
+     */
+    void texSubImage2D(int x, int y, int width, int height, ByteBuffer pixels);
+
+    /**
+     * Creates a buffer object
+     * @return id of the buffer
+     */
+    int genBuffer();
+
+    /**
+     * Deletes a buffer object
+     * @param bufferId id of the buffer
+     */
+    void deleteBuffer(int bufferId);
+
+    /**
+     * Binds a buffer to a target
+     * @param target buffer target, such as GL_ARRAY_BUFFER
+     * @param bufferId id of the buffer. 0 to unbind
+     */
+    void bindBuffer(int target, int bufferId);
+
+    /**
+     * Allocates new storage for the buffer bound to a target, orphaning its previous storage
+     * @param target buffer target
+     * @param size size in bytes
+     * @param usage usage hint, such as GL_STREAM_DRAW
+     */
+    void bufferData(int target, long size, int usage);
+
+    /**
+     * Allocates new storage for the buffer bound to a target and fills it
+     * @param target buffer target
+     * @param data contents of the buffer
+     * @param usage usage hint, such as GL_STATIC_DRAW
+     */
+    void bufferData(int target, ByteBuffer data, int usage);
+
+    /**
+     * Replaces part of the storage of the buffer bound to a target
+     * @param target buffer target
+     * @param offset offset in bytes to write at
+     * @param data data to write
+     */
+    void bufferSubData(int target, long offset, ByteBuffer data);
+
+    /**
+     * Creates a vertex array object
+     * @return id of the vertex array
+     */
+    int genVertexArray();
+
+    /**
+     * Deletes a vertex array object
+     * @param vertexArrayId id of the vertex array
+     */
+    void deleteVertexArray(int vertexArrayId);
+
+    /**
+     * Binds a vertex array object
+     * @param vertexArrayId id of the vertex array. 0 to unbind
+     */
+    void bindVertexArray(int vertexArrayId);
+
+    /**
+     * Describes a vertex attribute stored in the bound array buffer, in the bound vertex array
+     * @param index attribute index
+     * @param size number of components
+     * @param type component type, such as GL_FLOAT
+     * @param normalized true to normalize integer components to 0 to 1
+     * @param stride bytes between consecutive vertices
+     * @param offset offset in bytes of the attribute in a vertex
+     */
+    void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long offset);
+
+    /**
+     * Enables a vertex attribute in the bound vertex array
+     * @param index attribute index
+     */
+    void enableVertexAttribArray(int index);
+
+    /**
+     * Sets how often a vertex attribute of the bound vertex array advances
+     * @param index attribute index
+     * @param divisor 0 to advance per vertex, n to advance every n instances
+     */
+    void vertexAttribDivisor(int index, int divisor);
+
+    /**
+     * Uses a shader program for drawing
+     * @param programId id of the program. 0 to use none
+     */
+    void useProgram(int programId);
+
+    /**
+     * Enables a capability
+     * @param capability capability, such as GL_BLEND
+     */
+    void enable(int capability);
+
+    /**
+     * Disables a capability
+     * @param capability capability, such as GL_BLEND
+     */
+    void disable(int capability);
+
+    /**
+     * Sets the blend function
+     * @param sourceFactor factor of the drawn color
+     * @param destinationFactor factor of the color already drawn
+     */
+    void blendFunc(int sourceFactor, int destinationFactor);
+
+    /**
+     * Draws primitives from the bound vertex array and element buffer
+     * @param mode primitive type, such as GL_TRIANGLES
+     * @param count number of indices to draw
+     * @param type index type, such as GL_UNSIGNED_SHORT
+     * @param offset offset in bytes of the first index in the element buffer
+     */
+    void drawElements(int mode, int count, int type, long offset);
+
+    /**
+     * Draws several instances of primitives from the bound vertex array and element buffer
+     * @param mode primitive type, such as GL_TRIANGLES
+     * @param count number of indices to draw per instance
+     * @param type index type, such as GL_UNSIGNED_SHORT
+     * @param offset offset in bytes of the first index in the element buffer
+     * @param instanceCount number of instances
+     */
+    void drawElementsInstanced(int mode, int count, int type, long offset, int instanceCount);
+}
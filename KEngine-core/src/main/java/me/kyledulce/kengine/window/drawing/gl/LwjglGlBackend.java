@@ -0,0 +1,142 @@
+package me.kyledulce.kengine.window.drawing.gl;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL33;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link GlBackend} calling OpenGL through LWJGL
+ */
+public class LwjglGlBackend implements GlBackend {
+
+    @Override
+    public int genTexture() {
+        return GL11.glGenTextures();
+    }
+
+    @Override
+    public void deleteTexture(int textureId) {
+        GL11.glDeleteTextures(textureId);
+    }
+
+    @Override
+    public void activeTexture(int unit) {
+        GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+    }
+
+    @Override
+    public void bindTexture2D(int textureId) {
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+    }
+
+    @Override
+    public void texParameter2D(int parameter, int value) {
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, parameter, value);
+    }
+
+    @Override
+    public void texImage2D(int width, int height, ByteBuffer pixels) {
+        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, width, height, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels);
+    }
+
+    @Override
+    public void texSubImage2D(int x, int y, int width, int height, ByteBuffer pixels) {
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, x, y, width, height, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels);
+    }
+
+    @Override
+    public int genBuffer() {
+        return GL15.glGenBuffers();
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+        GL15.glDeleteBuffers(bufferId);
+    }
+
+    @Override
+    public void bindBuffer(int target, int bufferId) {
+        GL15.glBindBuffer(target, bufferId);
+    }
+
+    @Override
+    public void bufferData(int target, long size, int usage) {
+        GL15.glBufferData(target, size, usage);
+    }
+
+    @Override
+    public void bufferData(int target, ByteBuffer data, int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void bufferSubData(int target, long offset, ByteBuffer data) {
+        GL15.glBufferSubData(target, offset, data);
+    }
+
+    @Override
+    public int genVertexArray() {
+        return GL30.glGenVertexArrays();
+    }
+
+    @Override
+    public void deleteVertexArray(int vertexArrayId) {
+        GL30.glDeleteVertexArrays(vertexArrayId);
+    }
+
+    @Override
+    public void bindVertexArray(int vertexArrayId) {
+        GL30.glBindVertexArray(vertexArrayId);
+    }
+
+    @Override
+    public void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long offset) {
+        GL20.glVertexAttribPointer(index, size, type, normalized, stride, offset);
+    }
+
+    @Override
+    public void enableVertexAttribArray(int index) {
+        GL20.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void vertexAttribDivisor(int index, int divisor) {
+        GL33.glVertexAttribDivisor(index, divisor);
+    }
+
+    @Override
+    public void useProgram(int programId) {
+        GL20.glUseProgram(programId);
+    }
+
+    @Override
+    public void enable(int capability) {
+        GL11.glEnable(capability);
+    }
+
+    @Override
+    public void disable(int capability) {
+        GL11.glDisable(capability);
+    }
+
+    @Override
+    public void blendFunc(int sourceFactor, int destinationFactor) {
+        GL11.glBlendFunc(sourceFactor, destinationFactor);
+    }
+
+    @Override
+    public void drawElements(int mode, int count, int type, long offset) {
+        GL11.glDrawElements(mode, count, type, offset);
+    }
+
+    @Override
+    public void drawElementsInstanced(int mode, int count, int type, long offset, int instanceCount) {
+        GL31.glDrawElementsInstanced(mode, count, type, offset, instanceCount);
+    }
+}
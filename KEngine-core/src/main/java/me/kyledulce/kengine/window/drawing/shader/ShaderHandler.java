@@ -9,8 +9,9 @@ import org.lwjgl.opengl.GL20;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 @AssetFactory
@@ -29,13 +30,18 @@ public class ShaderHandler implements GameAssetFactory<ShaderAsset> {
 
     @Override
     public Optional<ShaderAsset> readResource(InputStream inputStream) {
-        try {
-            String shaderDefinition = new String(inputStream.readAllBytes());
-            return Optional.of(new ShaderAsset(shaderDefinition));
-        } catch (IOException e) {
-            LOGGER.error("Failed to load shader definition", e);
-            return Optional.empty();
-        }
+        return GameAssetFactory.decodeStream(inputStream, this::decodeResource);
+    }
+
+    @Override
+    public Optional<ShaderAsset> decodeResource(ByteBuffer data) {
+        String shaderDefinition = StandardCharsets.UTF_8.decode(data.duplicate()).toString();
+        return Optional.of(new ShaderAsset(shaderDefinition));
+    }
+
+    @Override
+    public long getResourceSize(ShaderAsset resource) {
+        return resource.getShaderDefinition().length();
     }
 
     @Override
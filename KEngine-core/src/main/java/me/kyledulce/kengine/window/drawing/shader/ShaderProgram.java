@@ -6,14 +6,33 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 @RequiredArgsConstructor
 public class ShaderProgram {
+    private static final AtomicInteger NEXT_SORT_ID = new AtomicInteger();
+
     private final int[] shaders;
 
     @Setter(AccessLevel.PACKAGE)
     private int programId = 0;
 
     private final HashMap<String, Integer> attributeToIndex = new HashMap<>();
+
+    // 0 until the sort id is first asked for
+    @Getter(AccessLevel.NONE)
+    private int sortId = 0;
+
+    /**
+     * Id telling the program apart from other programs when sorting draws. Assigned the first time it is asked for,
+     * so ids stay small unlike GL program ids
+     * @return id of the program, unique to it and greater than 0
+     */
+    public int getSortId() {
+        if(sortId == 0) {
+            sortId = NEXT_SORT_ID.incrementAndGet();
+        }
+        return sortId;
+    }
 }
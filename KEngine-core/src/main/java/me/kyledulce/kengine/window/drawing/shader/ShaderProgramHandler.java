@@ -1,6 +1,8 @@
 package me.kyledulce.kengine.window.drawing.shader;
 
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
 import org.joml.Matrix4f;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
@@ -15,9 +17,17 @@ import java.util.Optional;
 public class ShaderProgramHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(ShaderProgramHandler.class);
     private static final String[] SHADER_ATTRIBUTES = new String[] {
-            "vertices", "textures"
+            "vertices", "textures", "colors",
+            "instancePositions", "instanceRotations", "instanceSizes", "instanceUvs", "instanceColors"
     };
 
+    private final GlBackend glBackend;
+
+    @Inject
+    public ShaderProgramHandler(GlBackend glBackend) {
+        this.glBackend = glBackend;
+    }
+
     public Optional<ShaderProgram> createProgram(ShaderAsset[] shadersToInclude) {
         int[] shaders = new int[shadersToInclude.length];
         // validate shaders
@@ -81,14 +91,22 @@ public class ShaderProgramHandler {
         }
     }
 
+    /**
+     * Uses a program for drawing. Skipped by a caching {@link GlBackend} if it is already in use
+     * @param shaderProgram program to use
+     */
     public void bindProgram(ShaderProgram shaderProgram) {
         if(shaderProgram.getProgramId() != 0) {
-            GL20.glUseProgram(shaderProgram.getProgramId());
+            glBackend.useProgram(shaderProgram.getProgramId());
         }
     }
 
+    /**
+     * Stops using any program. Forces the next bind to be made, so only needed before GL code that does not go
+     * through the {@link GlBackend}
+     */
     public void clearBind() {
-        GL20.glUseProgram(0);
+        glBackend.useProgram(0);
     }
 
     public void render(ShaderProgram shaderProgram) {
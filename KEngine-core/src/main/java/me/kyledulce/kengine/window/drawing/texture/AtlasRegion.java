@@ -0,0 +1,17 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+/**
+ * Area of a {@link TextureAtlas} page that holds a packed texture
+ * @param page texture of the page holding the area
+ * @param x left edge in pixels
+ * @param y top edge in pixels
+ * @param width width in pixels
+ * @param height height in pixels
+ * @param u0 left texture coordinate
+ * @param v0 top texture coordinate
+ * @param u1 right texture coordinate
+ * @param v1 bottom texture coordinate
+ */
+public record AtlasRegion(TextureAsset page, int x, int y, int width, int height,
+                          float u0, float v0, float u1, float v1) {
+}
@@ -0,0 +1,309 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.Getter;
+import me.kyledulce.kengine.config.Config;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Cache of decoded textures on disk, so textures that were decoded on a previous run are mapped instead of decoded.
+ * Each asset path has one entry, named by the SHA-256 of the path, and its header holds the SHA-256 of the source file.
+ * A changed source misses and is decoded and stored again over the entry of its path, so old contents are not kept.
+ * Each entry is a file with a header followed by the RGBA pixels, which are mapped read only and uploaded as they are.
+ * Entries are written to a temporary file and moved into place, so they can be stored from several threads at once.
+ * Once the entries exceed the maximum size, the least recently used entries not used by this run are deleted
+ */
+@Singleton
+public class DecodedTextureCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DecodedTextureCache.class);
+
+    static final int MAGIC = 0x4B545843; // KTXC
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    private static final int CONTENT_HASH_OFFSET = 16;
+    private static final int CONTENT_HASH_SIZE = 32;
+    static final String ENTRY_EXTENSION = ".rgba";
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    @Getter
+    private final Path directory;
+    @Getter
+    private final long maxBytes;
+    // Entries stored or loaded by this run, which are not deleted to fit the maximum size so spilled pixels can reload
+    private final Set<String> usedEntries = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public DecodedTextureCache(Config config) {
+        this(config.getTextureCacheDirectory().isEmpty() ? null : Path.of(config.getTextureCacheDirectory()),
+                config.getTextureCacheMaxBytes());
+    }
+
+    /**
+     * Creates a cache without a maximum size
+     * @param directory directory to store entries in, created when the first entry is stored. null to disable the cache
+     */
+    public DecodedTextureCache(@Nullable Path directory) {
+        this(directory, 0);
+    }
+
+    /**
+     * Creates a cache
+     * @param directory directory to store entries in, created when the first entry is stored. null to disable the cache
+     * @param maxBytes size of the entries to delete old entries above. 0 or less for no maximum
+     */
+    public DecodedTextureCache(@Nullable Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return true if textures are cached
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Computes the key of a source file that was not read from an asset path. Its entry is named by its contents,
+     * so it is not replaced when the source changes
+     * @param data buffer with the contents of the source file. Its position is not moved
+     * @return the key, or null if the cache is disabled
+     */
+    public Key computeKey(ByteBuffer data) {
+        return computeKey(null, data);
+    }
+
+    /**
+     * Computes the key of a source file
+     * @param resourcePath asset path of the source file, which names its entry. null to name it by its contents
+     * @param data buffer with the contents of the source file. Its position is not moved
+     * @return the key, or null if the cache is disabled
+     */
+    public Key computeKey(@Nullable String resourcePath, ByteBuffer data) {
+        if(!isEnabled()) {
+            return null;
+        }
+
+        MessageDigest digest = createDigest();
+        digest.update(data.duplicate());
+        byte[] contentHash = digest.digest();
+        String entryName = resourcePath == null ? HexFormat.of().formatHex(contentHash)
+                : HexFormat.of().formatHex(createDigest().digest(resourcePath.getBytes(StandardCharsets.UTF_8)));
+        return new Key(entryName, HexFormat.of().formatHex(contentHash));
+    }
+
+    /**
+     * Maps a cached texture
+     * @param key key of the source file
+     * @return optional containing a texture backed by the mapped entry. Empty if not cached, the entry is invalid or
+     * it was stored for other contents of the source file
+     */
+    public Optional<TextureAsset> load(Key key) {
+        if(key == null) {
+            return Optional.empty();
+        }
+
+        Path entryPath = getEntryPath(key);
+        try(FileChannel channel = FileChannel.open(entryPath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if(fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                LOGGER.warn("Ignoring cached texture {} with invalid size {}", entryPath, fileSize);
+                return Optional.empty();
+            }
+
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mapping.order(BYTE_ORDER);
+            int width = mapping.getInt(8);
+            int height = mapping.getInt(12);
+            long pixelBytes = (long) width * height * BYTES_PER_PIXEL;
+
+            if(mapping.getInt(0) != MAGIC || mapping.getInt(4) != VERSION
+                    || width <= 0 || height <= 0 || HEADER_SIZE + pixelBytes != fileSize) {
+                LOGGER.warn("Ignoring invalid cached texture {}", entryPath);
+                return Optional.empty();
+            }
+            if(!mapping.slice(CONTENT_HASH_OFFSET, CONTENT_HASH_SIZE).equals(ByteBuffer.wrap(key.getContentHashBytes()))) {
+                // The source changed since the entry was stored, it is replaced once decoded again
+                return Optional.empty();
+            }
+
+            usedEntries.add(key.entryName());
+            touch(entryPath);
+            ByteBuffer pixels = mapping.slice(HEADER_SIZE, (int) pixelBytes);
+            TextureAsset texture = new TextureAsset(pixels, height, width);
+            texture.setPixelsMapped(true);
+            return Optional.of(texture);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read cached texture {}", entryPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a decoded texture, replacing the entry of the key if there is one, then deletes old entries while the
+     * entries exceed the maximum size. Failures are logged and ignored
+     * @param key key of the source file
+     * @param texture decoded texture with RGBA pixels. Its buffer position is not moved
+     * @return true if the texture was stored
+     */
+    public boolean store(Key key, TextureAsset texture) {
+        if(key == null) {
+            return false;
+        }
+
+        ByteBuffer pixels = texture.getImgBuffer().duplicate().rewind();
+        if(pixels.remaining() != (long) texture.getWidth() * texture.getHeight() * BYTES_PER_PIXEL) {
+            LOGGER.warn("Not caching texture with {} bytes of pixels for {}x{}",
+                    pixels.remaining(), texture.getWidth(), texture.getHeight());
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        header.putInt(MAGIC).putInt(VERSION).putInt(texture.getWidth()).putInt(texture.getHeight())
+                .put(CONTENT_HASH_OFFSET, key.getContentHashBytes()).rewind();
+
+        Path tempPath = null;
+        try {
+            Files.createDirectories(directory);
+            tempPath = Files.createTempFile(directory, key.entryName(), ".tmp");
+            try(FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                while(header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while(pixels.hasRemaining()) {
+                    channel.write(pixels);
+                }
+            }
+            Files.move(tempPath, getEntryPath(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            usedEntries.add(key.entryName());
+            deleteOldEntries();
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to cache decoded texture {}", key, e);
+            if(tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries that were not used by this run until the entries fit the maximum size
+     */
+    private synchronized void deleteOldEntries() {
+        if(maxBytes <= 0) {
+            return;
+        }
+
+        record Entry(Path path, BasicFileAttributes attributes) {}
+        List<Path> paths;
+        try(Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(ENTRY_EXTENSION)).toList();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to list cached textures in {}", directory, e);
+            return;
+        }
+
+        long totalBytes = 0;
+        List<Entry> entries = new ArrayList<>(paths.size());
+        for(Path path : paths) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                totalBytes += attributes.size();
+                entries.add(new Entry(path, attributes));
+            } catch (IOException ignored) {
+                // Replaced or deleted since it was listed
+            }
+        }
+        entries.sort(Comparator.comparing(entry -> entry.attributes().lastModifiedTime()));
+
+        for(Entry entry : entries) {
+            if(totalBytes <= maxBytes) {
+                return;
+            }
+            String fileName = entry.path().getFileName().toString();
+            if(usedEntries.contains(fileName.substring(0, fileName.length() - ENTRY_EXTENSION.length()))) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(entry.path());
+                totalBytes -= entry.attributes().size();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to delete cached texture {}", entry.path(), e);
+            }
+        }
+
+        if(totalBytes > maxBytes) {
+            LOGGER.warn("Cached textures in use take {} bytes, more than the maximum of {} bytes", totalBytes, maxBytes);
+        }
+    }
+
+    /**
+     * Marks an entry as recently used, so it is deleted after entries that were not used since
+     */
+    private static void touch(Path entryPath) {
+        try {
+            Files.setLastModifiedTime(entryPath, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOGGER.debug("Failed to update the time of cached texture {}", entryPath, e);
+        }
+    }
+
+    private Path getEntryPath(Key key) {
+        return directory.resolve(key.entryName() + ENTRY_EXTENSION);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Key of a source file in the cache
+     * @param entryName name of the entry of the source file
+     * @param contentHash hex SHA-256 of the contents of the source file, which the entry must have been stored for
+     */
+    public record Key(String entryName, String contentHash) {
+        private byte[] getContentHashBytes() {
+            return HexFormat.of().parseHex(contentHash);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs rectangles into a fixed size area with the skyline bottom-left heuristic. The packer tracks the top edge of the
+ * packed rectangles as a list of horizontal segments, and places each rectangle on the segment where its top would be
+ * lowest. Rectangles are packed one at a time as they are added, so they can be inserted incrementally.
+ * Space below the skyline that is covered by a taller rectangle is not reused
+ */
+class SkylinePacker {
+    private final int width;
+    private final int height;
+    // Segments ordered by x, covering the whole width
+    private final List<Segment> skyline = new ArrayList<>();
+
+    /**
+     * Creates a packer for an empty area
+     * @param width width of the area
+     * @param height height of the area
+     */
+    SkylinePacker(int width, int height) {
+        this.width = width;
+        this.height = height;
+        skyline.add(new Segment(0, 0, width));
+    }
+
+    /**
+     * Finds a place for a rectangle and marks it as used
+     * @param rectWidth width of the rectangle
+     * @param rectHeight height of the rectangle
+     * @return x and y of the top left corner of the rectangle, or null if it does not fit
+     */
+    int[] pack(int rectWidth, int rectHeight) {
+        if(rectWidth <= 0 || rectHeight <= 0 || rectWidth > width || rectHeight > height) {
+            return null;
+        }
+
+        int bestIndex = -1;
+        int bestY = Integer.MAX_VALUE;
+        int bestWidth = Integer.MAX_VALUE;
+        for(int i = 0; i < skyline.size(); i++) {
+            int y = fitY(i, rectWidth, rectHeight);
+            Segment segment = skyline.get(i);
+            // Lowest top wins, then the narrowest segment to leave wide segments for wide rectangles
+            if(y >= 0 && (y < bestY || (y == bestY && segment.width < bestWidth))) {
+                bestIndex = i;
+                bestY = y;
+                bestWidth = segment.width;
+            }
+        }
+
+        if(bestIndex < 0) {
+            return null;
+        }
+
+        int rectX = skyline.get(bestIndex).x;
+        addSegment(bestIndex, new Segment(rectX, bestY + rectHeight, rectWidth));
+        return new int[] {rectX, bestY};
+    }
+
+    /**
+     * Computes the y a rectangle would be placed at when its left edge is at the start of a segment
+     * @param index index of the segment
+     * @param rectWidth width of the rectangle
+     * @param rectHeight height of the rectangle
+     * @return the y, or -1 if the rectangle does not fit there
+     */
+    private int fitY(int index, int rectWidth, int rectHeight) {
+        int x = skyline.get(index).x;
+        if(x + rectWidth > width) {
+            return -1;
+        }
+
+        int y = 0;
+        int remainingWidth = rectWidth;
+        for(int i = index; remainingWidth > 0; i++) {
+            Segment segment = skyline.get(i);
+            y = Math.max(y, segment.y);
+            if(y + rectHeight > height) {
+                return -1;
+            }
+            remainingWidth -= segment.width;
+        }
+        return y;
+    }
+
+    /**
+     * Inserts the top edge of a packed rectangle into the skyline, shrinking or removing the segments below it
+     * @param index index to insert the segment at
+     * @param segment the top edge
+     */
+    private void addSegment(int index, Segment segment) {
+        skyline.add(index, segment);
+
+        int end = segment.x + segment.width;
+        for(int i = index + 1; i < skyline.size(); ) {
+            Segment next = skyline.get(i);
+            if(next.x >= end) {
+                break;
+            }
+
+            int overlap = end - next.x;
+            if(overlap >= next.width) {
+                skyline.remove(i);
+            } else {
+                skyline.set(i, new Segment(end, next.y, next.width - overlap));
+                break;
+            }
+        }
+
+        // Merge neighbours at the same height
+        for(int i = 0; i < skyline.size() - 1; ) {
+            Segment current = skyline.get(i);
+            Segment next = skyline.get(i + 1);
+            if(current.y == next.y) {
+                skyline.set(i, new Segment(current.x, current.y, current.width + next.width));
+                skyline.remove(i + 1);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private record Segment(int x, int y, int width) {
+    }
+}
@@ -4,11 +4,15 @@ import lombok.*;
 import me.kyledulce.kengine.resource.GameAsset;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
-@RequiredArgsConstructor
 public class TextureAsset implements GameAsset {
-    private final ByteBuffer imgBuffer;
+    private static final AtomicInteger NEXT_SORT_ID = new AtomicInteger();
+
+    // RGBA pixels in main memory. null once released after upload, see TextureRetention
+    @Setter(AccessLevel.PACKAGE)
+    private ByteBuffer imgBuffer;
     private final int height;
     private final int width;
 
@@ -16,4 +20,49 @@ public class TextureAsset implements GameAsset {
     private int id = 0;
     @Setter(AccessLevel.PACKAGE)
     private boolean unloaded = false;
+    // Pixels were allocated by stb_image and must be freed by it when the texture is unloaded
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private boolean stbAllocated = false;
+    // Pixels are mapped from the DecodedTextureCache instead of allocated in native memory
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private boolean pixelsMapped = false;
+    // Key of the pixels in the DecodedTextureCache. null if they are not cached
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private DecodedTextureCache.Key cacheKey;
+    /**
+     * What happens to the pixels in main memory after the texture is uploaded. Applies from the next upload
+     */
+    @Setter
+    private TextureRetention retention = TextureRetention.KEEP;
+    // 0 until the sort id is first asked for
+    @Getter(AccessLevel.NONE)
+    private int sortId = 0;
+
+    public TextureAsset(ByteBuffer imgBuffer, int height, int width) {
+        this.imgBuffer = imgBuffer;
+        this.height = height;
+        this.width = width;
+    }
+
+    /**
+     * @return true if the pixels are in main memory
+     */
+    public boolean isPixelsRetained() {
+        return imgBuffer != null;
+    }
+
+    /**
+     * Id telling the texture apart from other textures when sorting draws. Assigned the first time it is asked for,
+     * so only textures that are drawn use up ids and they stay small
+     * @return id of the texture, unique to it and greater than 0
+     */
+    public int getSortId() {
+        if(sortId == 0) {
+            sortId = NEXT_SORT_ID.incrementAndGet();
+        }
+        return sortId;
+    }
 }
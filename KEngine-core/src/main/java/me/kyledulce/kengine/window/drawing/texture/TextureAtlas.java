@@ -0,0 +1,197 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.Getter;
+import me.kyledulce.kengine.config.Config;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.BufferUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Packs small textures into large pages, so sprites using different textures can be drawn with the same bound texture.
+ * Textures are copied into the page with free space for them as they are added, and a new page is started when none
+ * has room. Pages are textures kept in main memory and uploaded through the {@link TextureResidencyManager}.
+ * A texture added to a page that is already in video memory is uploaded into it without uploading the whole page.
+ * Must only be used from the thread that owns the GL context
+ */
+@Singleton
+public class TextureAtlas {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TextureAtlas.class);
+    private static final int BYTES_PER_PIXEL = 4;
+    static final int DEFAULT_PAGE_SIZE = 2048;
+
+    @Getter
+    private final int pageSize;
+    @Getter
+    private final int padding;
+    private final TextureResidencyManager residencyManager;
+
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<TextureAsset, AtlasRegion> regions = new IdentityHashMap<>();
+
+    @Inject
+    public TextureAtlas(TextureResidencyManager residencyManager, Config config) {
+        this(residencyManager, config.getTextureAtlasPageSize(), 1);
+    }
+
+    /**
+     * Creates an empty atlas
+     * @param residencyManager manager to upload pages with
+     * @param pageSize width and height of the pages in pixels
+     * @param padding empty pixels kept between packed textures, so filtering does not blend neighbours
+     */
+    public TextureAtlas(TextureResidencyManager residencyManager, int pageSize, int padding) {
+        this.residencyManager = residencyManager;
+        this.pageSize = pageSize;
+        this.padding = padding;
+    }
+
+    /**
+     * Packs a texture into the atlas. The pixels are copied, so the texture can be unloaded afterwards.
+     * Pixels released after upload are mapped again from the {@link DecodedTextureCache} to copy them,
+     * and released again once copied
+     * @param texture texture to pack
+     * @return region of the texture, the same one if it was already packed.
+     * Empty if the texture is larger than a page, or its pixels were released and are not in the cache
+     */
+    public Optional<AtlasRegion> add(@NotNull TextureAsset texture) {
+        AtlasRegion existing = regions.get(texture);
+        if(existing != null) {
+            return Optional.of(existing);
+        }
+        int paddedWidth = texture.getWidth() + padding;
+        int paddedHeight = texture.getHeight() + padding;
+        if(paddedWidth > pageSize || paddedHeight > pageSize) {
+            return Optional.empty();
+        }
+
+        boolean reloaded = !texture.isPixelsRetained();
+        if(!residencyManager.reloadPixels(texture)) {
+            LOGGER.warn("Cannot pack texture, its pixels were released and are not in the decoded texture cache");
+            return Optional.empty();
+        }
+
+        Page page = null;
+        int[] position = null;
+        for(int i = 0; i < pages.size() && position == null; i++) {
+            page = pages.get(i);
+            position = page.packer.pack(paddedWidth, paddedHeight);
+        }
+        if(position == null) {
+            page = createPage();
+            position = page.packer.pack(paddedWidth, paddedHeight);
+        }
+
+        AtlasRegion region = copyIntoPage(page, texture, position[0], position[1]);
+        regions.put(texture, region);
+        if(reloaded) {
+            residencyManager.releasePixels(texture);
+        }
+        return Optional.of(region);
+    }
+
+    /**
+     * Forgets a packed texture, so sprites using it are drawn with the texture itself again.
+     * Its space in the page is not reused until the atlas is cleared
+     * @param texture texture to remove
+     * @return true if the texture was packed
+     */
+    public boolean remove(@NotNull TextureAsset texture) {
+        return regions.remove(texture) != null;
+    }
+
+    /**
+     * @param texture a texture
+     * @return region of the texture if it was packed
+     */
+    public Optional<AtlasRegion> getRegion(@NotNull TextureAsset texture) {
+        return Optional.ofNullable(regions.get(texture));
+    }
+
+    /**
+     * Looks up the region of a texture without allocating, for code that runs for every sprite drawn
+     * @param texture a texture
+     * @return region of the texture. null if it was not packed
+     */
+    public AtlasRegion findRegion(@NotNull TextureAsset texture) {
+        return regions.get(texture);
+    }
+
+    /**
+     * Looks up the page a texture is drawn from without allocating, for code that runs for every sprite drawn
+     * @param texture a texture
+     * @return page the texture was packed into. null if it was not packed
+     */
+    public TextureAsset getPage(@NotNull TextureAsset texture) {
+        AtlasRegion region = regions.get(texture);
+        return region == null ? null : region.page();
+    }
+
+    /**
+     * @return textures of the pages, in the order they were created
+     */
+    public List<TextureAsset> getPages() {
+        return pages.stream().map(Page::texture).toList();
+    }
+
+    /**
+     * Deletes the pages from video memory and forgets every packed texture
+     */
+    public void clear() {
+        for(Page page : pages) {
+            residencyManager.evict(page.texture);
+            page.texture.setUnloaded(true);
+            residencyManager.releasePixels(page.texture);
+        }
+        pages.clear();
+        regions.clear();
+    }
+
+    private Page createPage() {
+        ByteBuffer pixels = BufferUtils.createByteBuffer(pageSize * pageSize * BYTES_PER_PIXEL);
+        TextureAsset texture = new TextureAsset(pixels, pageSize, pageSize);
+        // Later textures are copied into the pixels, and evicted pages are uploaded again from them
+        texture.setRetention(TextureRetention.KEEP);
+        residencyManager.getMemoryMetrics().recordAllocated(texture);
+
+        Page page = new Page(texture, new SkylinePacker(pageSize, pageSize));
+        pages.add(page);
+        return page;
+    }
+
+    private AtlasRegion copyIntoPage(Page page, TextureAsset texture, int x, int y) {
+        int width = texture.getWidth();
+        int height = texture.getHeight();
+        int rowBytes = width * BYTES_PER_PIXEL;
+        ByteBuffer source = texture.getImgBuffer().duplicate().rewind();
+        ByteBuffer pagePixels = page.texture.getImgBuffer();
+
+        for(int row = 0; row < height; row++) {
+            int pageOffset = ((y + row) * pageSize + x) * BYTES_PER_PIXEL;
+            pagePixels.put(pageOffset, source, row * rowBytes, rowBytes);
+        }
+
+        TextureAsset pageTexture = page.texture;
+        if(pageTexture.getId() != 0) {
+            residencyManager.getGlBackend().activeTexture(0);
+            residencyManager.getGlBackend().bindTexture2D(pageTexture.getId());
+            residencyManager.getGlBackend().texSubImage2D(x, y, width, height, source);
+        }
+
+        float pixelSize = 1f / pageSize;
+        return new AtlasRegion(pageTexture, x, y, width, height,
+                x * pixelSize, y * pixelSize, (x + width) * pixelSize, (y + height) * pixelSize);
+    }
+
+    private record Page(TextureAsset texture, SkylinePacker packer) {
+    }
+}
@@ -1,12 +1,17 @@
 package me.kyledulce.kengine.window.drawing.texture;
 
+import jakarta.inject.Inject;
 import me.kyledulce.kengine.annotations.AssetFactory;
+import me.kyledulce.kengine.config.Config;
 import me.kyledulce.kengine.resource.GameAsset;
 import me.kyledulce.kengine.resource.GameAssetFactory;
+import me.kyledulce.kengine.utils.ByteBufferInputStream;
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.BufferUtils;
-import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL13;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,11 +20,46 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @AssetFactory
 public class TextureHandler implements GameAssetFactory<TextureAsset> {
     private static final Logger LOGGER = LoggerFactory.getLogger(TextureHandler.class);
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final TextureResidencyManager residencyManager;
+    private final DecodedTextureCache decodedTextureCache;
+    private final TextureRetention defaultRetention;
+    private final TextureAtlas textureAtlas;
+
+    public TextureHandler(TextureResidencyManager residencyManager) {
+        this(residencyManager, new DecodedTextureCache((Path) null), TextureRetention.KEEP,
+                new TextureAtlas(residencyManager, TextureAtlas.DEFAULT_PAGE_SIZE, 1));
+    }
+
+    @Inject
+    public TextureHandler(TextureResidencyManager residencyManager, DecodedTextureCache decodedTextureCache, Config config,
+                          TextureAtlas textureAtlas) {
+        this(residencyManager, decodedTextureCache, config.getTextureRetention(), textureAtlas);
+    }
+
+    /**
+     * Creates a texture handler
+     * @param residencyManager manager of the textures in video memory
+     * @param decodedTextureCache cache to map previously decoded textures from
+     * @param defaultRetention retention of the decoded textures
+     * @param textureAtlas atlas unloaded textures are removed from
+     */
+    public TextureHandler(TextureResidencyManager residencyManager, DecodedTextureCache decodedTextureCache,
+                          TextureRetention defaultRetention, TextureAtlas textureAtlas) {
+        this.residencyManager = residencyManager;
+        this.decodedTextureCache = decodedTextureCache;
+        this.defaultRetention = defaultRetention;
+        this.textureAtlas = textureAtlas;
+    }
 
     @Override
     public Class<TextureAsset> getResourceType() {
@@ -33,43 +73,156 @@ public class TextureHandler implements GameAssetFactory<TextureAsset> {
 
     @Override
     public Optional<TextureAsset> readResource(InputStream inputStream) {
+        return GameAssetFactory.decodeStream(inputStream, this::decodeResource);
+    }
+
+    @Override
+    public Optional<TextureAsset> decodeResource(ByteBuffer data) {
+        return decodeResource(null, data);
+    }
+
+    /**
+     * Maps the texture from the {@link DecodedTextureCache} if it was decoded before. Otherwise decodes a PNG, JPG,
+     * TGA, BMP or GIF texture with stb_image straight into a native RGBA buffer and stores it in the cache, replacing
+     * the entry of the path. Formats stb_image cannot read are decoded with ImageIO instead
+     * @param resourcePath path the texture was read from. null if it was not read from an asset path
+     * @param data read-only direct buffer with the contents of the texture file
+     * @return optional containing the decoded texture. Empty if it could not be decoded
+     */
+    @Override
+    public Optional<TextureAsset> decodeResource(@Nullable String resourcePath, ByteBuffer data) {
+        DecodedTextureCache.Key cacheKey = decodedTextureCache.computeKey(resourcePath, data);
+        Optional<TextureAsset> texture = decodedTextureCache.load(cacheKey);
+        if(texture.isPresent()) {
+            texture.get().setCacheKey(cacheKey);
+            texture.get().setRetention(defaultRetention);
+            residencyManager.getMemoryMetrics().recordAllocated(texture.get());
+            return texture;
+        }
+
+        texture = decodeWithStb(data);
+        if(texture.isEmpty()) {
+            texture = decodeWithImageIo(data);
+        }
+        texture.ifPresent(decoded -> {
+            if(decodedTextureCache.store(cacheKey, decoded)) {
+                decoded.setCacheKey(cacheKey);
+            }
+        });
+        return texture;
+    }
+
+    /**
+     * Decodes a texture with stb_image into a buffer it allocates, which must be freed with
+     * {@link STBImage#stbi_image_free(ByteBuffer)}
+     * @param data direct buffer with the contents of the texture file
+     * @return optional containing the decoded texture. Empty if stb_image could not decode it
+     */
+    Optional<TextureAsset> decodeWithStb(ByteBuffer data) {
+        if(!data.isDirect() || !data.hasRemaining()) {
+            return Optional.empty();
+        }
+
+        try(MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(data, width, height, channels, BYTES_PER_PIXEL);
+            if(pixels == null) {
+                LOGGER.debug("stb_image could not decode texture, falling back to ImageIO: {}",
+                        STBImage.stbi_failure_reason());
+                return Optional.empty();
+            }
+
+            TextureAsset texture = new TextureAsset(pixels, height.get(0), width.get(0));
+            texture.setStbAllocated(true);
+            texture.setRetention(defaultRetention);
+            residencyManager.getMemoryMetrics().recordAllocated(texture);
+            return Optional.of(texture);
+        }
+    }
+
+    /**
+     * Decodes a texture with ImageIO into a direct buffer owned by the garbage collector
+     * @param data buffer with the contents of the texture file
+     * @return optional containing the decoded texture. Empty if it could not be decoded
+     */
+    Optional<TextureAsset> decodeWithImageIo(ByteBuffer data) {
         try {
-            BufferedImage bufferedImage = ImageIO.read(inputStream);
+            BufferedImage bufferedImage = ImageIO.read(new ByteBufferInputStream(data));
+            if(bufferedImage == null) {
+                LOGGER.error("Failed to read texture file, unsupported image format");
+                return Optional.empty();
+            }
+
             int height = bufferedImage.getHeight();
             int width = bufferedImage.getWidth();
-            int imageArea = height * width;
-
-            int[] pixelsRaw = new int[imageArea];
 
-            pixelsRaw = bufferedImage.getRGB(0,0, width, height, pixelsRaw, 0, width);
+            ByteBuffer pixelsProcessed = BufferUtils.createByteBuffer(height * width * BYTES_PER_PIXEL);
 
-            ByteBuffer pixelsProcessed = BufferUtils.createByteBuffer(imageArea);
+            // Copy a row at a time to avoid holding a second copy of the whole image on the heap
+            int[] pixelsRaw = new int[width];
+            for(int y = 0; y < height; y++) {
+                bufferedImage.getRGB(0, y, width, 1, pixelsRaw, 0, width);
 
-            for(int pixel : pixelsRaw) {
-                // Extract raw color data
-                // Bitshift to color bits, then reduce to a single byte, then cast to byte
-                pixelsProcessed.put((byte) ((pixel >> 16) & 0xFF)); // Red
-                pixelsProcessed.put((byte) ((pixel >> 8) & 0xFF));  // Green
-                pixelsProcessed.put((byte) (pixel & 0xFF));         // Blue
-                pixelsProcessed.put((byte) ((pixel >> 24) & 0xFF)); // Alpha
+                for(int pixel : pixelsRaw) {
+                    // Extract raw color data
+                    // Bitshift to color bits, then reduce to a single byte, then cast to byte
+                    pixelsProcessed.put((byte) ((pixel >> 16) & 0xFF)); // Red
+                    pixelsProcessed.put((byte) ((pixel >> 8) & 0xFF));  // Green
+                    pixelsProcessed.put((byte) (pixel & 0xFF));         // Blue
+                    pixelsProcessed.put((byte) ((pixel >> 24) & 0xFF)); // Alpha
+                }
             }
 
             pixelsProcessed.flip();
-            return Optional.of(new TextureAsset(pixelsProcessed, height, width));
+            TextureAsset texture = new TextureAsset(pixelsProcessed, height, width);
+            texture.setRetention(defaultRetention);
+            residencyManager.getMemoryMetrics().recordAllocated(texture);
+            return Optional.of(texture);
         } catch (IOException e) {
             LOGGER.error("Failed to read texture file", e);
             return Optional.empty();
         }
     }
 
+    @Override
+    public void finalizeResource(TextureAsset resource) {
+        generateTextures(resource);
+    }
+
+    /**
+     * Counts only pixels held in memory owned by the process, the native bytes of the {@link TextureMemoryMetrics}.
+     * Pixels mapped from the {@link DecodedTextureCache} are backed by the cache file and can be dropped by the OS,
+     * so they only count as mapped bytes. The size is reported again whenever the pixels are released or reloaded
+     */
+    @Override
+    public long getResourceSize(TextureAsset resource) {
+        if(!resource.isPixelsRetained() || resource.isPixelsMapped()) {
+            return 0;
+        }
+        return resource.getImgBuffer().capacity();
+    }
+
+    /**
+     * Reports textures whose pixels were released or reloaded by the {@link TextureResidencyManager}
+     */
+    @Override
+    public void setResourceSizeListener(Consumer<TextureAsset> listener) {
+        residencyManager.setPixelsListener(listener);
+    }
+
     @Override
     public void unloadResource(GameAsset resource) {
         if(!(resource instanceof TextureAsset textureAsset)) {
             return;
         }
 
+        textureAtlas.remove(textureAsset);
         deleteTextures(textureAsset);
         textureAsset.setUnloaded(true);
+        residencyManager.releasePixels(textureAsset);
     }
 
     /**
@@ -77,15 +230,7 @@ public class TextureHandler implements GameAssetFactory<TextureAsset> {
      * @param texture texture to generate
      */
     public void generateTextures(TextureAsset texture) {
-        if(texture.getId() != 0 || texture.isUnloaded()) {
-            return;
-        }
-
-        texture.setId(GL11.glGenTextures());
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture.getId());
-        GL11.glTexParameterf(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
-        GL11.glTexParameterf(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
-        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, texture.getWidth(), texture.getHeight(), 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, texture.getImgBuffer());
+        residencyManager.makeResident(texture);
     }
 
     /**
@@ -93,20 +238,23 @@ public class TextureHandler implements GameAssetFactory<TextureAsset> {
      * @param texture texture to remove
      */
     public void deleteTextures(TextureAsset texture) {
-        if(texture.getId() != 0) {
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
-            GL11.glDeleteTextures(texture.getId());
-            texture.setId(0);
-        }
+        residencyManager.evict(texture);
     }
 
+    /**
+     * Binds a texture, uploading it again first if it was evicted from video memory
+     * @param texture texture to bind
+     */
     public void bindTexture(@NotNull TextureAsset texture) {
-        GL13.glActiveTexture(GL13.GL_TEXTURE0);
-        GL13.glBindTexture(GL11.GL_TEXTURE_2D, texture.getId());
+        residencyManager.bind(texture);
     }
 
+    /**
+     * Unbinds the texture of unit 0. Forces the next bind to be made, so only needed before GL code that does not go
+     * through the {@link GlBackend}
+     */
     public void clearBind() {
-        GL13.glActiveTexture(GL13.GL_TEXTURE0);
-        GL13.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        residencyManager.getGlBackend().activeTexture(0);
+        residencyManager.getGlBackend().bindTexture2D(0);
     }
 }
@@ -0,0 +1,62 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory held outside the heap by the pixels of textures in main memory. Pixels decoded into native memory
+ * and pixels mapped from the {@link DecodedTextureCache} are counted separately,
+ * since the operating system can drop mapped pages and read them again
+ */
+public class TextureMemoryMetrics {
+    private final AtomicLong nativeBytes = new AtomicLong();
+    private final AtomicLong mappedBytes = new AtomicLong();
+    private final LongAdder releaseCount = new LongAdder();
+    private final LongAdder reloadCount = new LongAdder();
+
+    /**
+     * @return bytes of pixels decoded into native memory
+     */
+    public long getNativeBytes() {
+        return nativeBytes.get();
+    }
+
+    /**
+     * @return bytes of pixels mapped from the decoded texture cache
+     */
+    public long getMappedBytes() {
+        return mappedBytes.get();
+    }
+
+    /**
+     * @return number of times the pixels of a texture were released from main memory
+     */
+    public long getReleaseCount() {
+        return releaseCount.sum();
+    }
+
+    /**
+     * @return number of times released pixels were mapped again from the decoded texture cache
+     */
+    public long getReloadCount() {
+        return reloadCount.sum();
+    }
+
+    void recordAllocated(TextureAsset texture) {
+        counterOf(texture).addAndGet(texture.getImgBuffer().capacity());
+    }
+
+    void recordReloaded(TextureAsset texture) {
+        recordAllocated(texture);
+        reloadCount.increment();
+    }
+
+    void recordReleased(TextureAsset texture) {
+        counterOf(texture).addAndGet(-texture.getImgBuffer().capacity());
+        releaseCount.increment();
+    }
+
+    private AtomicLong counterOf(TextureAsset texture) {
+        return texture.isPixelsMapped() ? mappedBytes : nativeBytes;
+    }
+}
@@ -0,0 +1,263 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.Getter;
+import me.kyledulce.kengine.config.Config;
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.stb.STBImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the textures uploaded to video memory within a budget, and their pixels in main memory
+ * as set by their {@link TextureRetention}.
+ * Every uploaded texture is tracked with its estimated size in video memory. When an upload exceeds the budget,
+ * the least recently bound textures are deleted from video memory. Their pixels are kept in the {@link TextureAsset}
+ * or mapped again from the {@link DecodedTextureCache}, so they are uploaded again the next time they are bound.
+ * Textures whose pixels were discarded are not evicted.
+ * Must only be used from the thread that owns the GL context, except for the memory metrics
+ */
+@Singleton
+public class TextureResidencyManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TextureResidencyManager.class);
+    private static final int BYTES_PER_PIXEL = 4;
+
+    @Getter
+    private final GlBackend glBackend;
+    @Getter
+    private final long budgetBytes;
+    private final DecodedTextureCache decodedTextureCache;
+    @Getter
+    private final TextureMemoryMetrics memoryMetrics = new TextureMemoryMetrics();
+
+    // Resident textures by estimated size, in order of least to most recently bound
+    private final LinkedHashMap<TextureAsset, Long> residentTextures = new LinkedHashMap<>(16, 0.75f, true);
+    @Getter
+    private long residentBytes = 0;
+    @Getter
+    private long uploadCount = 0;
+    @Getter
+    private long evictionCount = 0;
+    // Called with a texture whenever its pixels are released or reloaded
+    private Consumer<TextureAsset> pixelsListener = texture -> {};
+
+    @Inject
+    public TextureResidencyManager(GlBackend glBackend, DecodedTextureCache decodedTextureCache, Config config) {
+        this(glBackend, decodedTextureCache, config.getTextureVramBudgetBytes());
+    }
+
+    /**
+     * Creates a residency manager that does not reload released pixels
+     * @param glBackend backend to make GL calls with
+     * @param budgetBytes video memory in bytes textures may use. 0 or less for no budget
+     */
+    public TextureResidencyManager(GlBackend glBackend, long budgetBytes) {
+        this(glBackend, new DecodedTextureCache((Path) null), budgetBytes);
+    }
+
+    /**
+     * Creates a residency manager
+     * @param glBackend backend to make GL calls with
+     * @param decodedTextureCache cache to map spilled pixels from
+     * @param budgetBytes video memory in bytes textures may use. 0 or less for no budget
+     */
+    public TextureResidencyManager(GlBackend glBackend, DecodedTextureCache decodedTextureCache, long budgetBytes) {
+        this.glBackend = glBackend;
+        this.decodedTextureCache = decodedTextureCache;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Uploads a texture to video memory if it is not resident, evicting other textures if the budget is exceeded
+     * @param texture texture to upload
+     * @return true if the texture is resident
+     */
+    public boolean makeResident(@NotNull TextureAsset texture) {
+        if(texture.getId() != 0) {
+            return true;
+        }
+        if(texture.isUnloaded()) {
+            return false;
+        }
+        if(!texture.isPixelsRetained() && !reloadPixels(texture)) {
+            LOGGER.error("Pixels of texture were released and cannot be uploaded again");
+            return false;
+        }
+
+        long size = estimateSize(texture);
+        evictUntilFits(size);
+
+        int textureId = glBackend.genTexture();
+        texture.setId(textureId);
+        glBackend.activeTexture(0);
+        glBackend.bindTexture2D(textureId);
+        glBackend.texParameter2D(GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+        glBackend.texParameter2D(GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+        // Upload from the start of the buffer without moving its position, so it can be uploaded again later
+        glBackend.texImage2D(texture.getWidth(), texture.getHeight(), texture.getImgBuffer().duplicate().rewind());
+
+        residentTextures.put(texture, size);
+        residentBytes += size;
+        uploadCount++;
+
+        if(budgetBytes > 0 && residentBytes > budgetBytes) {
+            LOGGER.warn("Texture of {} bytes exceeds the video memory budget of {} bytes", size, budgetBytes);
+        }
+
+        switch(texture.getRetention()) {
+            case DISCARD -> releasePixels(texture);
+            case SPILL -> {
+                if(texture.getCacheKey() != null) {
+                    releasePixels(texture);
+                }
+            }
+            case KEEP -> { }
+        }
+        return true;
+    }
+
+    /**
+     * Binds a texture to texture unit 0, uploading it first if it was evicted. Marks it as the most recently bound
+     * @param texture texture to bind
+     */
+    public void bind(@NotNull TextureAsset texture) {
+        if(texture.getId() == 0 && !makeResident(texture)) {
+            LOGGER.error("Attempted to bind unloaded texture");
+            return;
+        }
+
+        // Access ordered map, getting the texture moves it to the most recently bound end
+        residentTextures.get(texture);
+        glBackend.activeTexture(0);
+        glBackend.bindTexture2D(texture.getId());
+    }
+
+    /**
+     * Deletes a texture from video memory. It can be made resident again if its pixels were kept or cached
+     * @param texture texture to evict
+     */
+    public void evict(@NotNull TextureAsset texture) {
+        Long size = residentTextures.remove(texture);
+        if(texture.getId() != 0) {
+            glBackend.bindTexture2D(0);
+            glBackend.deleteTexture(texture.getId());
+            texture.setId(0);
+        }
+        if(size != null) {
+            residentBytes -= size;
+        }
+    }
+
+    /**
+     * Sets the listener to call with a texture whenever its pixels are released from main memory or reloaded,
+     * replacing the previous listener
+     * @param pixelsListener listener to call on the thread that owns the GL context
+     */
+    public void setPixelsListener(@NotNull Consumer<TextureAsset> pixelsListener) {
+        this.pixelsListener = pixelsListener;
+    }
+
+    /**
+     * Releases the pixels of a texture from main memory. Freed right away if they were allocated by stb_image,
+     * otherwise once they are garbage collected
+     * @param texture texture to release the pixels of
+     */
+    void releasePixels(@NotNull TextureAsset texture) {
+        ByteBuffer pixels = texture.getImgBuffer();
+        if(pixels == null) {
+            return;
+        }
+
+        memoryMetrics.recordReleased(texture);
+        texture.setImgBuffer(null);
+        texture.setPixelsMapped(false);
+        if(texture.isStbAllocated()) {
+            texture.setStbAllocated(false);
+            STBImage.stbi_image_free(pixels);
+        }
+        pixelsListener.accept(texture);
+    }
+
+    /**
+     * Makes sure the pixels of a texture are in main memory, mapping them from the decoded texture cache if they were
+     * released after upload. For code that needs the pixels of textures loaded with {@link TextureRetention#SPILL}
+     * or {@link TextureRetention#DISCARD}, such as the {@link TextureAtlas}. Reloaded pixels are released again the
+     * next time the texture is uploaded
+     * @param texture texture to reload the pixels of
+     * @return true if the pixels are in main memory. false if the texture was unloaded, or its pixels were released
+     * and are not in the cache
+     */
+    public boolean reloadPixels(@NotNull TextureAsset texture) {
+        if(texture.isUnloaded()) {
+            return false;
+        }
+        if(texture.isPixelsRetained()) {
+            return true;
+        }
+
+        Optional<TextureAsset> cached = decodedTextureCache.load(texture.getCacheKey());
+        if(cached.isEmpty()
+                || cached.get().getWidth() != texture.getWidth() || cached.get().getHeight() != texture.getHeight()) {
+            return false;
+        }
+
+        texture.setImgBuffer(cached.get().getImgBuffer());
+        texture.setPixelsMapped(true);
+        memoryMetrics.recordReloaded(texture);
+        pixelsListener.accept(texture);
+        return true;
+    }
+
+    /**
+     * @return number of textures in video memory
+     */
+    public int getResidentCount() {
+        return residentTextures.size();
+    }
+
+    /**
+     * Evicts the least recently bound textures until a texture of the given size fits in the budget
+     * @param size size in bytes of the texture to fit
+     */
+    private void evictUntilFits(long size) {
+        if(budgetBytes <= 0) {
+            return;
+        }
+
+        Iterator<Map.Entry<TextureAsset, Long>> iterator = residentTextures.entrySet().iterator();
+        while(residentBytes + size > budgetBytes && iterator.hasNext()) {
+            Map.Entry<TextureAsset, Long> entry = iterator.next();
+            TextureAsset texture = entry.getKey();
+            if(!texture.isPixelsRetained() && texture.getCacheKey() == null) {
+                // Could not be uploaded again
+                continue;
+            }
+            iterator.remove();
+
+            glBackend.deleteTexture(texture.getId());
+            texture.setId(0);
+            residentBytes -= entry.getValue();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Estimates the video memory used by a texture, stored as RGBA with 8 bits per channel
+     * @param texture the texture
+     * @return size in bytes
+     */
+    static long estimateSize(TextureAsset texture) {
+        return (long) texture.getWidth() * texture.getHeight() * BYTES_PER_PIXEL;
+    }
+}
@@ -0,0 +1,23 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+/**
+ * What happens to the pixels of a texture in main memory once it is uploaded to video memory
+ */
+public enum TextureRetention {
+    /**
+     * Keep the pixels, so the texture can be uploaded again right away after it is evicted from video memory
+     */
+    KEEP,
+    /**
+     * Release the pixels. The texture is not evicted from video memory to stay within the budget,
+     * since it could not be uploaded again. The pixels can only be brought back with
+     * {@link TextureResidencyManager#reloadPixels(TextureAsset)} if the texture is in the {@link DecodedTextureCache}
+     */
+    DISCARD,
+    /**
+     * Release the pixels and map them from the {@link DecodedTextureCache} when the texture is uploaded again, or
+     * when {@link TextureResidencyManager#reloadPixels(TextureAsset)} is called.
+     * Textures that are not in the cache are kept as with {@link #KEEP}. This is the default
+     */
+    SPILL
+}
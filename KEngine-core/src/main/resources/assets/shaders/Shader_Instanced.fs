@@ -0,0 +1,12 @@
+#version 330 core
+
+uniform sampler2D sampler;
+
+in vec2 tex_coords;
+in vec4 color;
+
+out vec4 frag_color;
+
+void main() {
+	frag_color = texture(sampler, tex_coords) * color;
+}
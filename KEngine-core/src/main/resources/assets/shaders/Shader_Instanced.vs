@@ -0,0 +1,28 @@
+#version 330 core
+
+in vec2 vertices;
+in vec2 instancePositions;
+in vec2 instanceRotations;
+in vec2 instanceSizes;
+in vec4 instanceUvs;
+in vec4 instanceColors;
+
+out vec2 tex_coords;
+out vec4 color;
+
+uniform mat4 projection;
+
+void main() {
+	vec2 local = vertices * instanceSizes;
+	vec2 rotated = vec2(
+		local.x * instanceRotations.x - local.y * instanceRotations.y,
+		local.x * instanceRotations.y + local.y * instanceRotations.x
+	);
+
+	tex_coords = vec2(
+		mix(instanceUvs.x, instanceUvs.z, vertices.x + 0.5),
+		mix(instanceUvs.y, instanceUvs.w, 0.5 - vertices.y)
+	);
+	color = instanceColors;
+	gl_Position = projection * vec4(instancePositions + rotated, 0, 1);
+}
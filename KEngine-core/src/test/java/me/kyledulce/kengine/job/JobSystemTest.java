@@ -0,0 +1,164 @@
+package me.kyledulce.kengine.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobSystemTest {
+
+    JobSystem jobSystem;
+
+    @BeforeEach
+    public void beforeEach() {
+        jobSystem = new JobSystem(4);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        jobSystem.close();
+    }
+
+    @Test
+    public void testSchedule_complete_runsJob() {
+        AtomicInteger runCount = new AtomicInteger();
+
+        JobHandle handle = jobSystem.schedule(runCount::incrementAndGet);
+        handle.complete();
+
+        assertTrue(handle.isComplete());
+        assertEquals(1, runCount.get());
+    }
+
+    @Test
+    public void testParallelFor_runsEveryIndexOnce() {
+        int count = 100_000;
+        AtomicInteger[] runCounts = new AtomicInteger[count];
+        for (int x = 0; x < count; x++) {
+            runCounts[x] = new AtomicInteger();
+        }
+
+        jobSystem.parallelFor(count, 64, index -> runCounts[index].incrementAndGet()).complete();
+
+        for (AtomicInteger runCount : runCounts) {
+            assertEquals(1, runCount.get());
+        }
+    }
+
+    @Test
+    public void testParallelFor_splitsAcrossThreads() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        // Each index waits until a second thread joined in, which only happens if the range was split and stolen
+        jobSystem.parallelFor(64, 1, index -> {
+            threads.add(Thread.currentThread());
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (threads.size() < 2 && System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }).complete();
+
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    public void testParallelFor_emptyRange_completes() {
+        JobHandle handle = jobSystem.parallelFor(0, 16, index -> fail());
+
+        handle.complete();
+
+        assertTrue(handle.isComplete());
+    }
+
+    @Test
+    public void testParallelFor_invalidGrain_throws() {
+        assertThrows(IllegalArgumentException.class, () -> jobSystem.parallelFor(10, 0, index -> {}));
+    }
+
+    @Test
+    public void testSchedule_dependencies_runAfterDependencies() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger order = new AtomicInteger();
+        int[] seen = new int[3];
+
+        JobHandle first = jobSystem.schedule(() -> {
+            awaitQuietly(release);
+            seen[0] = order.incrementAndGet();
+        });
+        JobHandle second = jobSystem.parallelFor(10, 1, index -> seen[1] = order.get(), first);
+        JobHandle last = jobSystem.schedule(() -> seen[2] = order.incrementAndGet(), first, second);
+
+        Thread.sleep(20);
+        assertFalse(second.isComplete());
+        assertFalse(last.isComplete());
+        release.countDown();
+        last.complete();
+
+        assertEquals(1, seen[0]);
+        assertEquals(1, seen[1]);
+        assertEquals(2, seen[2]);
+    }
+
+    @Test
+    public void testSchedule_completedDependency_runsImmediately() {
+        JobHandle first = jobSystem.schedule(() -> {});
+        first.complete();
+        AtomicInteger runCount = new AtomicInteger();
+
+        jobSystem.schedule(runCount::incrementAndGet, first).complete();
+
+        assertEquals(1, runCount.get());
+    }
+
+    @Test
+    public void testSchedule_failedDependency_failsDependentWithoutRunning() {
+        AtomicInteger runCount = new AtomicInteger();
+        JobHandle first = jobSystem.schedule(() -> {
+            throw new IllegalStateException("Test");
+        });
+        JobHandle second = jobSystem.schedule(runCount::incrementAndGet, first);
+
+        assertThrows(IllegalStateException.class, second::complete);
+        assertTrue(second.isComplete());
+        assertEquals(0, runCount.get());
+    }
+
+    @Test
+    public void testParallelFor_bodyThrows_completeThrows() {
+        JobHandle handle = jobSystem.parallelFor(100, 1, index -> {
+            if (index == 42) {
+                throw new IllegalStateException("Test");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, handle::complete);
+    }
+
+    @Test
+    public void testCombine_completesAfterAllJobs() {
+        AtomicInteger runCount = new AtomicInteger();
+        JobHandle[] jobs = new JobHandle[8];
+        for (int x = 0; x < jobs.length; x++) {
+            jobs[x] = jobSystem.parallelFor(100, 10, index -> runCount.incrementAndGet());
+        }
+
+        jobSystem.combine(jobs).complete();
+
+        assertEquals(800, runCount.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package me.kyledulce.kengine.resource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetCacheTest {
+
+    private final Set<String> pinned = new HashSet<>();
+    private final Set<String> accessedByHandle = new HashSet<>();
+
+    @Test
+    public void testAdd_tracksUsedBytes() {
+        AssetCache cache = new AssetCache(100);
+
+        cache.add("a", 40);
+        cache.add("b", 50);
+        assertFalse(cache.isOverBudget());
+        cache.add("a", 60);
+
+        assertEquals(110, cache.getMetrics().getUsedBytes());
+        assertTrue(cache.isOverBudget());
+
+        cache.remove("b");
+        assertEquals(60, cache.getMetrics().getUsedBytes());
+        assertFalse(cache.isOverBudget());
+    }
+
+    @Test
+    public void testResize_updatesUsedBytesOfCachedAsset() {
+        AssetCache cache = new AssetCache(100);
+        cache.add("a", 40);
+
+        cache.resize("a", 120);
+        assertEquals(120, cache.getMetrics().getUsedBytes());
+        assertTrue(cache.isOverBudget());
+
+        cache.resize("a", 0);
+        cache.resize("b", 50);
+        assertEquals(0, cache.getMetrics().getUsedBytes());
+        cache.remove("a");
+        assertEquals(0, cache.getMetrics().getUsedBytes());
+    }
+
+    @Test
+    public void testIsOverBudget_unbounded_neverOver() {
+        AssetCache cache = new AssetCache(0);
+
+        cache.add("a", Long.MAX_VALUE / 2);
+
+        assertFalse(cache.isOverBudget());
+    }
+
+    @Test
+    public void testSelectEviction_noAccess_evictsInInsertionOrder() {
+        AssetCache cache = new AssetCache(10);
+        cache.add("a", 10);
+        cache.add("b", 10);
+        cache.add("c", 10);
+
+        assertEquals("a", select(cache));
+        cache.remove("a");
+        assertEquals("b", select(cache));
+    }
+
+    @Test
+    public void testSelectEviction_accessedAsset_getsSecondChance() {
+        AssetCache cache = new AssetCache(10);
+        cache.add("a", 10);
+        cache.add("b", 10);
+        // First sweep clears the marks set on add
+        assertEquals("a", select(cache));
+
+        cache.recordAccess("a");
+
+        assertEquals("b", select(cache));
+    }
+
+    @Test
+    public void testSelectEviction_accessedByHandle_getsSecondChance() {
+        AssetCache cache = new AssetCache(10);
+        cache.add("a", 10);
+        cache.add("b", 10);
+        assertEquals("a", select(cache));
+
+        accessedByHandle.add("a");
+
+        assertEquals("b", select(cache));
+    }
+
+    @Test
+    public void testSelectEviction_pinned_skipped() {
+        AssetCache cache = new AssetCache(10);
+        cache.add("a", 10);
+        cache.add("b", 10);
+        pinned.add("a");
+
+        assertEquals("b", select(cache));
+        pinned.add("b");
+        assertNull(select(cache));
+    }
+
+    @Test
+    public void testSelectEviction_empty_returnsNull() {
+        assertNull(select(new AssetCache(10)));
+    }
+
+    private String select(AssetCache cache) {
+        return cache.selectEviction(pinned::contains, accessedByHandle::remove);
+    }
+}
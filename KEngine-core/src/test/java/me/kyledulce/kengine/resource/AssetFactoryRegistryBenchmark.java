@@ -0,0 +1,193 @@
+package me.kyledulce.kengine.resource;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares factory lookups through the {@link AssetFactoryRegistry} against the linear scan over the factory list
+ * previously done by the {@link GameAssetManager}, with 32 registered factories.
+ * Run with {@link #main(String[])} from the test classpath
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetFactoryRegistryBenchmark {
+
+    private static final List<Class<? extends GameAsset>> ASSET_TYPES = List.of(
+            Asset0.class,
+            Asset1.class,
+            Asset2.class,
+            Asset3.class,
+            Asset4.class,
+            Asset5.class,
+            Asset6.class,
+            Asset7.class,
+            Asset8.class,
+            Asset9.class,
+            Asset10.class,
+            Asset11.class,
+            Asset12.class,
+            Asset13.class,
+            Asset14.class,
+            Asset15.class,
+            Asset16.class,
+            Asset17.class,
+            Asset18.class,
+            Asset19.class,
+            Asset20.class,
+            Asset21.class,
+            Asset22.class,
+            Asset23.class,
+            Asset24.class,
+            Asset25.class,
+            Asset26.class,
+            Asset27.class,
+            Asset28.class,
+            Asset29.class,
+            Asset30.class,
+            Asset31.class
+    );
+
+    private List<GameAssetFactory> factoryList;
+    private AssetFactoryRegistry registry;
+    private Map<String, GameAsset> loadedResources;
+    private int lookupIndex;
+
+    @Setup
+    public void setup() {
+        factoryList = new ArrayList<>();
+        loadedResources = new HashMap<>();
+        for (Class<? extends GameAsset> type : ASSET_TYPES) {
+            factoryList.add(new BenchmarkFactory<>(type));
+        }
+        registry = new AssetFactoryRegistry(factoryList);
+        loadedResources.put("asset", new Asset31());
+        lookupIndex = 0;
+    }
+
+    private Class<? extends GameAsset> nextType() {
+        lookupIndex = lookupIndex == ASSET_TYPES.size() - 1 ? 0 : lookupIndex + 1;
+        return ASSET_TYPES.get(lookupIndex);
+    }
+
+    @Benchmark
+    public GameAssetFactory<?> linearScanLookup() {
+        Class<? extends GameAsset> type = nextType();
+        for (GameAssetFactory<?> factory : factoryList) {
+            if (factory.getResourceType() == type) {
+                return factory;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public GameAssetFactory<?> registryLookup() {
+        return registry.getFactory(nextType());
+    }
+
+    /**
+     * Previous getResource: a contains check, a factory scan for the last registered type, then a get
+     */
+    @Benchmark
+    public Optional<Asset31> linearScanGetResource() {
+        if (loadedResources.containsKey("asset")) {
+            GameAssetFactory<?> found = null;
+            for (GameAssetFactory<?> factory : factoryList) {
+                if (factory.getResourceType() == Asset31.class) {
+                    found = factory;
+                    break;
+                }
+            }
+            GameAsset resource = loadedResources.get("asset");
+            if (found != null && found.isResourceInstanceOfType(resource)) {
+                return Optional.of((Asset31) resource);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Benchmark
+    public Optional<Asset31> singleProbeGetResource() {
+        GameAsset resource = loadedResources.get("asset");
+        if (Asset31.class.isInstance(resource)) {
+            return Optional.of(Asset31.class.cast(resource));
+        }
+        return Optional.empty();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AssetFactoryRegistryBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    public static final class Asset0 implements GameAsset { }
+    public static final class Asset1 implements GameAsset { }
+    public static final class Asset2 implements GameAsset { }
+    public static final class Asset3 implements GameAsset { }
+    public static final class Asset4 implements GameAsset { }
+    public static final class Asset5 implements GameAsset { }
+    public static final class Asset6 implements GameAsset { }
+    public static final class Asset7 implements GameAsset { }
+    public static final class Asset8 implements GameAsset { }
+    public static final class Asset9 implements GameAsset { }
+    public static final class Asset10 implements GameAsset { }
+    public static final class Asset11 implements GameAsset { }
+    public static final class Asset12 implements GameAsset { }
+    public static final class Asset13 implements GameAsset { }
+    public static final class Asset14 implements GameAsset { }
+    public static final class Asset15 implements GameAsset { }
+    public static final class Asset16 implements GameAsset { }
+    public static final class Asset17 implements GameAsset { }
+    public static final class Asset18 implements GameAsset { }
+    public static final class Asset19 implements GameAsset { }
+    public static final class Asset20 implements GameAsset { }
+    public static final class Asset21 implements GameAsset { }
+    public static final class Asset22 implements GameAsset { }
+    public static final class Asset23 implements GameAsset { }
+    public static final class Asset24 implements GameAsset { }
+    public static final class Asset25 implements GameAsset { }
+    public static final class Asset26 implements GameAsset { }
+    public static final class Asset27 implements GameAsset { }
+    public static final class Asset28 implements GameAsset { }
+    public static final class Asset29 implements GameAsset { }
+    public static final class Asset30 implements GameAsset { }
+    public static final class Asset31 implements GameAsset { }
+
+    private record BenchmarkFactory<T extends GameAsset>(Class<T> resourceType) implements GameAssetFactory<T> {
+
+        @Override
+        public Class<T> getResourceType() {
+            return resourceType;
+        }
+
+        @Override
+        public Optional<T> readResource(InputStream inputStream) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void unloadResource(GameAsset resource) {
+        }
+
+        @Override
+        public boolean isResourceInstanceOfType(GameAsset resource) {
+            return resourceType.isInstance(resource);
+        }
+    }
+}
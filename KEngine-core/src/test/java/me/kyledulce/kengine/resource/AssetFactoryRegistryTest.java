@@ -0,0 +1,100 @@
+package me.kyledulce.kengine.resource;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetFactoryRegistryTest {
+
+    @Test
+    public void testGetFactory_registeredType_returnsFactory() {
+        TestFactory<BaseAsset> baseFactory = new TestFactory<>(BaseAsset.class);
+        TestFactory<OtherAsset> otherFactory = new TestFactory<>(OtherAsset.class);
+        AssetFactoryRegistry registry = new AssetFactoryRegistry(List.of(baseFactory, otherFactory));
+
+        assertSame(baseFactory, registry.getFactory(BaseAsset.class));
+        assertSame(otherFactory, registry.getFactory(OtherAsset.class));
+    }
+
+    @Test
+    public void testGetFactory_subclass_returnsFactoryOfClosestSupertype() {
+        TestFactory<BaseAsset> baseFactory = new TestFactory<>(BaseAsset.class);
+        TestFactory<ChildAsset> childFactory = new TestFactory<>(ChildAsset.class);
+        AssetFactoryRegistry registry = new AssetFactoryRegistry(List.of(baseFactory, childFactory));
+
+        assertSame(childFactory, registry.getFactory(GrandchildAsset.class));
+        assertSame(baseFactory, registry.getFactory(SiblingAsset.class));
+    }
+
+    @Test
+    public void testGetFactory_registeredInterface_returnsFactory() {
+        TestFactory<MarkedAsset> markedFactory = new TestFactory<>(MarkedAsset.class);
+        AssetFactoryRegistry registry = new AssetFactoryRegistry(List.of(markedFactory));
+
+        assertSame(markedFactory, registry.getFactory(MarkedImplAsset.class));
+    }
+
+    @Test
+    public void testGetFactory_missing_returnsNullEveryTime() {
+        AssetFactoryRegistry registry = new AssetFactoryRegistry(List.of(new TestFactory<>(OtherAsset.class)));
+
+        assertNull(registry.getFactory(BaseAsset.class));
+        assertNull(registry.getFactory(BaseAsset.class));
+    }
+
+    @Test
+    public void testGetFactory_duplicateType_firstFactoryWins() {
+        TestFactory<BaseAsset> first = new TestFactory<>(BaseAsset.class);
+        TestFactory<BaseAsset> second = new TestFactory<>(BaseAsset.class);
+        AssetFactoryRegistry registry = new AssetFactoryRegistry(List.of(first, second));
+
+        assertSame(first, registry.getFactory(BaseAsset.class));
+    }
+
+    private static class BaseAsset implements GameAsset {
+    }
+
+    private static class ChildAsset extends BaseAsset {
+    }
+
+    private static class GrandchildAsset extends ChildAsset {
+    }
+
+    private static class SiblingAsset extends BaseAsset {
+    }
+
+    private static class OtherAsset implements GameAsset {
+    }
+
+    private interface MarkedAsset extends GameAsset {
+    }
+
+    private static class MarkedImplAsset implements MarkedAsset {
+    }
+
+    private record TestFactory<T extends GameAsset>(Class<T> resourceType) implements GameAssetFactory<T> {
+
+        @Override
+        public Class<T> getResourceType() {
+            return resourceType;
+        }
+
+        @Override
+        public Optional<T> readResource(InputStream inputStream) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void unloadResource(GameAsset resource) {
+        }
+
+        @Override
+        public boolean isResourceInstanceOfType(GameAsset resource) {
+            return resourceType.isInstance(resource);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package me.kyledulce.kengine.resource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetHandleTableTest {
+
+    private static final String PATH_1 = "path/one.txt";
+    private static final String PATH_2 = "path/two.txt";
+
+    private AssetHandleTable table;
+    private Map<String, GameAsset> loadedResources;
+
+    @BeforeEach
+    public void beforeEach() {
+        table = new AssetHandleTable();
+        loadedResources = new HashMap<>();
+    }
+
+    @Test
+    public void testIntern_samePath_sameSlot() {
+        AssetHandle<TestAsset> first = table.intern(TestAsset.class, PATH_1, loadedResources::get);
+        AssetHandle<TestAsset> second = table.intern(TestAsset.class, PATH_1, loadedResources::get);
+        AssetHandle<TestAsset> other = table.intern(TestAsset.class, PATH_2, loadedResources::get);
+
+        assertEquals(first, second);
+        assertNotEquals(first.index(), other.index());
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testResolve_alreadyLoadedWhenInterned_returnsResource() {
+        TestAsset asset = new TestAsset();
+        loadedResources.put(PATH_1, asset);
+
+        AssetHandle<TestAsset> handle = table.intern(TestAsset.class, PATH_1, loadedResources::get);
+
+        assertSame(asset, table.resolve(handle));
+    }
+
+    @Test
+    public void testResolve_storedAfterInterned_returnsResource() {
+        AssetHandle<TestAsset> handle = table.intern(TestAsset.class, PATH_1, loadedResources::get);
+        assertNull(table.resolve(handle));
+
+        TestAsset asset = new TestAsset();
+        table.store(PATH_1, asset);
+
+        assertSame(asset, table.resolve(handle));
+    }
+
+    @Test
+    public void testResolve_differentType_returnsNull() {
+        table.intern(TestAsset.class, PATH_1, loadedResources::get);
+        table.store(PATH_1, new TestAsset());
+
+        AssetHandle<OtherAsset> handle = table.intern(OtherAsset.class, PATH_1, loadedResources::get);
+
+        assertNull(table.resolve(handle));
+    }
+
+    @Test
+    public void testRelease_handleIsStale() {
+        AssetHandle<TestAsset> handle = table.intern(TestAsset.class, PATH_1, loadedResources::get);
+        table.store(PATH_1, new TestAsset());
+
+        table.release(PATH_1);
+
+        assertFalse(table.isValid(handle));
+        assertNull(table.resolve(handle));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testRelease_slotReusedByOtherPath_staleHandleDoesNotResolveNewResource() {
+        AssetHandle<TestAsset> staleHandle = table.intern(TestAsset.class, PATH_1, loadedResources::get);
+        table.release(PATH_1);
+
+        AssetHandle<TestAsset> newHandle = table.intern(TestAsset.class, PATH_2, loadedResources::get);
+        TestAsset asset = new TestAsset();
+        table.store(PATH_2, asset);
+
+        assertEquals(staleHandle.index(), newHandle.index());
+        assertNotEquals(staleHandle.generation(), newHandle.generation());
+        assertNull(table.resolve(staleHandle));
+        assertSame(asset, table.resolve(newHandle));
+    }
+
+    @Test
+    public void testStore_notInterned_doesNothing() {
+        table.store(PATH_1, new TestAsset());
+
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testIntern_manyPaths_grows() {
+        for (int x = 0; x < 1000; x++) {
+            String path = "path/" + x;
+            table.intern(TestAsset.class, path, loadedResources::get);
+            table.store(path, new TestAsset());
+        }
+
+        AssetHandle<TestAsset> handle = table.intern(TestAsset.class, "path/999", loadedResources::get);
+        assertNotNull(table.resolve(handle));
+        assertEquals(1000, table.size());
+    }
+
+    @Test
+    public void testResolve_unknownIndex_returnsNull() {
+        assertNull(table.resolve(new AssetHandle<>(TestAsset.class, 5000, 0)));
+        assertFalse(table.isValid(new AssetHandle<>(TestAsset.class, -1, 0)));
+    }
+
+    private static class TestAsset implements GameAsset {
+    }
+
+    private static class OtherAsset implements GameAsset {
+    }
+}
@@ -0,0 +1,183 @@
+package me.kyledulce.kengine.resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import me.kyledulce.kengine.game.GameTime;
+import me.kyledulce.kengine.scheduler.TaskScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AssetLoadPipelineTest {
+
+    private static final String TEST_FILE_1_ID = "GameAssetTest/testFile.txt";
+    private static final String TEST_FILE_2_ID = "GameAssetTest/rand/otherTestFile.txt";
+    private static final String TEST_FILE_1_CONTENT = "Some Text";
+    private static final long FINALIZE_NANOS = 100;
+
+    @Mock
+    TaskScheduler taskScheduler;
+
+    @Mock
+    GameTime gameTime;
+
+    long nanoTime = 0;
+    List<Runnable> ioTasks;
+    TestFactory factory;
+    AssetLoadPipeline assetLoadPipeline;
+    MockTaskSchedulerRunner taskSchedulerRunner;
+
+    @BeforeEach
+    public void beforeEach() {
+        ioTasks = new ArrayList<>();
+        Executor ioExecutor = ioTasks::add;
+        factory = new TestFactory();
+        assetLoadPipeline = new AssetLoadPipeline(taskScheduler, gameTime, new ClasspathAssetSource(), ioExecutor, FINALIZE_NANOS * 2);
+        taskSchedulerRunner = new MockTaskSchedulerRunner(taskScheduler);
+        lenient().when(gameTime.getCurrentTimeNanos()).thenAnswer(invocation -> nanoTime);
+    }
+
+    @Test
+    public void testLoad_runsStagesInOrder() {
+        List<Optional<TestAsset>> results = new ArrayList<>();
+
+        assetLoadPipeline.load(TEST_FILE_1_ID, factory, results::add);
+        verifyNoInteractions(taskScheduler);
+
+        ioTasks.forEach(Runnable::run);
+        verify(taskScheduler).scheduleAsynchronousTask(any(), isNull());
+        assertEquals(0, factory.finalizedCount);
+
+        taskSchedulerRunner.runAllTasks();
+
+        assertEquals(1, results.size());
+        assertEquals(TEST_FILE_1_CONTENT, results.get(0).get().getContent());
+        assertTrue(results.get(0).get().isFinalized());
+    }
+
+    @Test
+    public void testLoad_missingFile_completesEmptyWithoutDecoding() {
+        List<Optional<TestAsset>> results = new ArrayList<>();
+
+        assetLoadPipeline.load("fakeFile", factory, results::add);
+        ioTasks.forEach(Runnable::run);
+        taskSchedulerRunner.runAllTasks();
+
+        verify(taskScheduler, never()).scheduleAsynchronousTask(any(), any());
+        assertEquals(List.of(Optional.empty()), results);
+        assertEquals(0, factory.finalizedCount);
+    }
+
+    @Test
+    public void testLoad_decodeThrows_completesEmpty() {
+        factory.throwOnDecode = true;
+        List<Optional<TestAsset>> results = new ArrayList<>();
+
+        assetLoadPipeline.load(TEST_FILE_1_ID, factory, results::add);
+        ioTasks.forEach(Runnable::run);
+        taskSchedulerRunner.runAllTasks();
+
+        assertEquals(List.of(Optional.empty()), results);
+    }
+
+    @Test
+    public void testLoad_overBudget_finalizesAcrossFrames() {
+        List<Optional<TestAsset>> results = new ArrayList<>();
+        for (int x = 0; x < 5; x++) {
+            assetLoadPipeline.load(x % 2 == 0 ? TEST_FILE_1_ID : TEST_FILE_2_ID, factory, results::add);
+        }
+        ioTasks.forEach(Runnable::run);
+        // Decode everything, which schedules a single finalize pass
+        taskSchedulerRunner.runScheduledTasks();
+        verify(taskScheduler, times(1)).scheduleSynchronousTask(any());
+
+        taskSchedulerRunner.runScheduledTasks();
+        assertEquals(2, results.size());
+        taskSchedulerRunner.runScheduledTasks();
+        assertEquals(4, results.size());
+        taskSchedulerRunner.runScheduledTasks();
+        assertEquals(5, results.size());
+
+        assertEquals(0, taskSchedulerRunner.runScheduledTasks());
+        assertEquals(5, factory.finalizedCount);
+    }
+
+    @Test
+    public void testLoad_afterQueueDrained_schedulesNewPass() {
+        List<Optional<TestAsset>> results = new ArrayList<>();
+        assetLoadPipeline.load(TEST_FILE_1_ID, factory, results::add);
+        ioTasks.forEach(Runnable::run);
+        taskSchedulerRunner.runAllTasks();
+        ioTasks.clear();
+
+        assetLoadPipeline.load(TEST_FILE_2_ID, factory, results::add);
+        ioTasks.forEach(Runnable::run);
+        taskSchedulerRunner.runAllTasks();
+
+        assertEquals(2, results.size());
+        verify(taskScheduler, times(2)).scheduleSynchronousTask(any());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class TestAsset implements GameAsset {
+        private String content;
+        private boolean finalized;
+    }
+
+    private class TestFactory implements GameAssetFactory<TestAsset> {
+        int finalizedCount = 0;
+        boolean throwOnDecode = false;
+
+        @Override
+        public Class<TestAsset> getResourceType() {
+            return TestAsset.class;
+        }
+
+        @Override
+        public Optional<TestAsset> readResource(InputStream inputStream) {
+            fail("Pipeline should decode from bytes");
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<TestAsset> decodeResource(ByteBuffer data) {
+            if (throwOnDecode) {
+                throw new IllegalStateException("Test");
+            }
+            assertTrue(data.isDirect());
+            assertTrue(data.isReadOnly());
+            return Optional.of(new TestAsset(StandardCharsets.UTF_8.decode(data).toString(), false));
+        }
+
+        @Override
+        public void finalizeResource(TestAsset resource) {
+            resource.finalized = true;
+            finalizedCount++;
+            nanoTime += FINALIZE_NANOS;
+        }
+
+        @Override
+        public void unloadResource(GameAsset resource) {
+        }
+
+        @Override
+        public boolean isResourceInstanceOfType(GameAsset resource) {
+            return resource instanceof TestAsset;
+        }
+    }
+}
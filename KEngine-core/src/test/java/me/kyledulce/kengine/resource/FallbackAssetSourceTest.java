@@ -0,0 +1,54 @@
+package me.kyledulce.kengine.resource;
+
+import me.kyledulce.kengine.resource.pack.AssetPack;
+import me.kyledulce.kengine.resource.pack.AssetPacker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FallbackAssetSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRead_packAndClasspath_prefersPackThenFallsBack() throws IOException {
+        Path assets = tempDir.resolve("assets");
+        Files.createDirectories(assets.resolve("GameAssetTest"));
+        Files.writeString(assets.resolve("GameAssetTest/testFile.txt"), "Packed Text");
+        Path packFile = tempDir.resolve("assets.kpak");
+        AssetPacker.pack(assets, packFile, false);
+
+        try (AssetPack assetPack = AssetPack.open(packFile)) {
+            FallbackAssetSource source = new FallbackAssetSource(assetPack, new ClasspathAssetSource());
+
+            assertEquals("Packed Text", decode(source.read("GameAssetTest/testFile.txt")));
+            assertEquals("Some Other Text", decode(source.read("GameAssetTest/rand/otherTestFile.txt")));
+            assertNull(source.read("GameAssetTest/missing.txt"));
+        }
+    }
+
+    @Test
+    public void testRead_firstSourceFails_throwsWithoutFallingBack() throws IOException {
+        AssetSource failing = mock(AssetSource.class);
+        AssetSource fallback = mock(AssetSource.class);
+        when(failing.read("asset")).thenThrow(new IOException("corrupt"));
+
+        FallbackAssetSource source = new FallbackAssetSource(failing, fallback);
+
+        assertThrows(IOException.class, () -> source.read("asset"));
+        verifyNoInteractions(fallback);
+    }
+
+    private static String decode(ByteBuffer data) {
+        return StandardCharsets.UTF_8.decode(data).toString();
+    }
+}
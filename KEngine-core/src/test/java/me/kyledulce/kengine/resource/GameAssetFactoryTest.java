@@ -0,0 +1,106 @@
+package me.kyledulce.kengine.resource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameAssetFactoryTest {
+
+    private static final String CONTENT = "Some Text";
+
+    @Test
+    public void testReadResource_streamFactory_decodesThroughStream() {
+        ByteBuffer data = ByteBuffer.allocateDirect(CONTENT.length())
+                .put(CONTENT.getBytes(StandardCharsets.UTF_8))
+                .flip()
+                .asReadOnlyBuffer();
+
+        Optional<TestAsset> result = new StreamFactory().decodeResource(data);
+
+        assertEquals(CONTENT, result.get().getContent());
+        assertEquals(0, data.position());
+    }
+
+    @Test
+    public void testReadResource_bufferFactory_readsStreamIntoDirectBuffer() {
+        BufferFactory factory = new BufferFactory();
+
+        Optional<TestAsset> result = factory.readResource(
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(CONTENT, result.get().getContent());
+        assertTrue(factory.lastDataDirect);
+        assertTrue(factory.lastDataReadOnly);
+    }
+
+    @Test
+    public void testReadResource_streamFails_returnsEmpty() {
+        InputStream failingStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Test");
+            }
+        };
+
+        assertTrue(new BufferFactory().readResource(failingStream).isEmpty());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class TestAsset implements GameAsset {
+        private String content;
+    }
+
+    private abstract static class TestFactory implements GameAssetFactory<TestAsset> {
+        @Override
+        public Class<TestAsset> getResourceType() {
+            return TestAsset.class;
+        }
+
+        @Override
+        public void unloadResource(GameAsset resource) {
+        }
+
+        @Override
+        public boolean isResourceInstanceOfType(GameAsset resource) {
+            return resource instanceof TestAsset;
+        }
+    }
+
+    private static class StreamFactory extends TestFactory {
+        @Override
+        public Optional<TestAsset> readResource(InputStream inputStream) {
+            try {
+                return Optional.of(new TestAsset(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static class BufferFactory extends TestFactory {
+        boolean lastDataDirect;
+        boolean lastDataReadOnly;
+
+        @Override
+        public Optional<TestAsset> readResource(InputStream inputStream) {
+            return GameAssetFactory.decodeStream(inputStream, this::decodeResource);
+        }
+
+        @Override
+        public Optional<TestAsset> decodeResource(ByteBuffer data) {
+            lastDataDirect = data.isDirect();
+            lastDataReadOnly = data.isReadOnly();
+            return Optional.of(new TestAsset(StandardCharsets.UTF_8.decode(data).toString()));
+        }
+    }
+}
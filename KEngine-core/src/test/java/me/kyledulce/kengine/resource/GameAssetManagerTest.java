@@ -4,10 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.SneakyThrows;
+import me.kyledulce.kengine.game.GameTime;
 import me.kyledulce.kengine.scheduler.TaskScheduler;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import me.kyledulce.kengine.window.drawing.texture.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -15,10 +19,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -36,18 +52,21 @@ public class GameAssetManagerTest {
     private static final String FAKE_TEST_FILE_ID = "fakeFile";
     private static final String FAKE_TEST_FILE_CONTENT = "Content";
 
-    private List<GameAssetFactory> factories;
-
     @Mock
     private TaskScheduler taskScheduler;
 
+    @Mock
+    private GameTime gameTime;
+
+    private AssetLoadPipeline assetLoadPipeline;
     private GameAssetManager gameAssetManager;
+    private MockTaskSchedulerRunner taskSchedulerRunner;
 
     @BeforeEach
     public void beforeEach() {
-        factories = new ArrayList<>();
-        factories.add(new TestResourceFactory());
-        gameAssetManager = new GameAssetManager(factories, taskScheduler);
+        assetLoadPipeline = new AssetLoadPipeline(taskScheduler, gameTime, new ClasspathAssetSource(), Runnable::run, Long.MAX_VALUE);
+        useFactories(new TestResourceFactory());
+        taskSchedulerRunner = new MockTaskSchedulerRunner(taskScheduler);
     }
 
     @ParameterizedTest
@@ -88,18 +107,131 @@ public class GameAssetManagerTest {
     @ParameterizedTest
     @MethodSource("provideResourceParams")
     public void testLoadResourceAsync_success(String resourceId, String expectedContent) {
-        final ArgumentCaptor<Runnable> argumentCaptor0 = ArgumentCaptor.forClass(Runnable.class);
-        final ArgumentCaptor<Runnable> argumentCaptor1 = ArgumentCaptor.forClass(Runnable.class);
-        Consumer<Optional<TestResourceType>> onComplete = (resource) -> assertEquals(expectedContent, resource.get().getContent());
+        final boolean[] calledComplete = {false};
+        Consumer<Optional<TestResourceType>> onComplete = (resource) -> {
+            assertEquals(expectedContent, resource.get().getContent());
+            calledComplete[0] = true;
+        };
 
         gameAssetManager.loadResourceAsync(TestResourceType.class, resourceId, onComplete);
-        verify(taskScheduler).scheduleAsynchronousTask(argumentCaptor0.capture(), argumentCaptor1.capture());
-        argumentCaptor0.getValue().run();
-        argumentCaptor1.getValue().run();
+        verify(taskScheduler).scheduleAsynchronousTask(any(), isNull());
+        taskSchedulerRunner.runAllTasks();
 
+        assertTrue(calledComplete[0]);
         assertFileLoaded(resourceId, expectedContent);
     }
 
+    @Test
+    public void testLoadResourceAsync_missingFile_completesEmpty() {
+        final boolean[] calledComplete = {false};
+
+        gameAssetManager.loadResourceAsync(TestResourceType.class, FAKE_TEST_FILE_ID, (resource) -> {
+            assertTrue(resource.isEmpty());
+            calledComplete[0] = true;
+        });
+        taskSchedulerRunner.runAllTasks();
+
+        assertTrue(calledComplete[0]);
+        assertFalse(gameAssetManager.getLoadedResources().containsKey(FAKE_TEST_FILE_ID));
+    }
+
+    @Test
+    public void testLoadResourceAsync_alreadyLoaded_completesWithLoadedResource() {
+        TestResourceType loadedResource = new TestResourceType(TEST_FILE_1_CONTENT);
+        gameAssetManager.getLoadedResources().put(TEST_FILE_1_ID, loadedResource);
+        final boolean[] calledComplete = {false};
+
+        gameAssetManager.loadResourceAsync(TestResourceType.class, TEST_FILE_1_ID, (resource) -> {
+            assertSame(loadedResource, resource.get());
+            calledComplete[0] = true;
+        });
+        taskSchedulerRunner.runAllTasks();
+
+        verify(taskScheduler, never()).scheduleAsynchronousTask(any(), any());
+        assertTrue(calledComplete[0]);
+    }
+
+    @Test
+    public void testLoadResourceAsync_concurrentRequests_readsOnce() {
+        TestResourceFactory factory = spy(new TestResourceFactory());
+        useFactories(factory);
+        List<Optional<TestResourceType>> results = new ArrayList<>();
+
+        gameAssetManager.loadResourceAsync(TestResourceType.class, TEST_FILE_1_ID, results::add);
+        gameAssetManager.loadResourceAsync(TestResourceType.class, TEST_FILE_1_ID, results::add);
+        gameAssetManager.loadResourceAsync(TestResourceType.class, TEST_FILE_1_ID, results::add);
+        taskSchedulerRunner.runAllTasks();
+
+        verify(taskScheduler, times(1)).scheduleAsynchronousTask(any(), any());
+        verify(factory, times(1)).readResource(any());
+        verify(factory, never()).unloadResource(any());
+        assertEquals(3, results.size());
+        assertSame(results.get(0).get(), results.get(1).get());
+        assertSame(results.get(0).get(), results.get(2).get());
+        assertFileLoaded(TEST_FILE_1_ID, TEST_FILE_1_CONTENT);
+    }
+
+    @Test
+    public void testLoadResourceAsync_afterLoadFailed_retries() {
+        gameAssetManager.loadResourceAsync(TestResourceType.class, FAKE_TEST_FILE_ID, (resource) -> {});
+        taskSchedulerRunner.runAllTasks();
+
+        gameAssetManager.loadResourceAsync(TestResourceType.class, FAKE_TEST_FILE_ID, (resource) -> {});
+        taskSchedulerRunner.runAllTasks();
+
+        verify(taskScheduler, never()).scheduleAsynchronousTask(any(), any());
+        verify(taskScheduler, times(2)).scheduleSynchronousTask(any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testLoadResource_concurrentThreads_readsOnce() {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestResourceFactory factory = spy(new TestResourceFactory() {
+            @SneakyThrows
+            @Override
+            public Optional<TestResourceType> readResource(InputStream inputStream) {
+                reading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return super.readResource(inputStream);
+            }
+        });
+        useFactories(factory);
+        List<Optional<TestResourceType>> results = Collections.synchronizedList(new ArrayList<>());
+
+        Thread first = new Thread(() -> results.add(gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID)));
+        first.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> results.add(gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID)));
+        second.start();
+        second.join(50);
+        assertTrue(second.isAlive());
+        release.countDown();
+        first.join();
+        second.join();
+
+        verify(factory, times(1)).readResource(any());
+        assertEquals(2, results.size());
+        assertSame(results.get(0).get(), results.get(1).get());
+    }
+
+    @Test
+    public void testLoadResource_whileLoadingAsync_doesNotWaitAndUnloadsDuplicate() {
+        TestResourceFactory factory = spy(new TestResourceFactory());
+        useFactories(factory);
+        List<Optional<TestResourceType>> asyncResults = new ArrayList<>();
+
+        gameAssetManager.loadResourceAsync(TestResourceType.class, TEST_FILE_1_ID, asyncResults::add);
+        Optional<TestResourceType> syncResult = gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        taskSchedulerRunner.runAllTasks();
+
+        assertTrue(syncResult.isPresent());
+        verify(factory, times(1)).unloadResource(any());
+        assertSame(syncResult.get(), asyncResults.get(0).get());
+        assertSame(syncResult.get(), gameAssetManager.getLoadedResources().get(TEST_FILE_1_ID));
+    }
+
     @Test
     public void testLoadResource_nullFactory_emptyOptional() {
         Optional<TestResourceOtherType> actual = gameAssetManager.loadResource(TestResourceOtherType.class, FAKE_TEST_FILE_ID);
@@ -121,7 +253,7 @@ public class GameAssetManagerTest {
 
     @Test
     public void testLoadResource_cached_badType_emptyOptional() {
-        factories.add(new TestResourceOtherFactory());
+        useFactories(new TestResourceFactory(), new TestResourceOtherFactory());
         TestResourceType expectedResource = new TestResourceType(FAKE_TEST_FILE_CONTENT);
         gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, expectedResource);
 
@@ -140,7 +272,7 @@ public class GameAssetManagerTest {
     @Test
     public void testLoadResource_failedResourceRead_emptyOptional() {
         TestResourceOtherFactory factory = spy(new TestResourceOtherFactory());
-        factories.add(factory);
+        useFactories(new TestResourceFactory(), factory);
 
         Optional<TestResourceOtherType> actual = gameAssetManager.loadResource(TestResourceOtherType.class, TEST_FILE_1_ID);
 
@@ -196,9 +328,6 @@ public class GameAssetManagerTest {
 
     @Test
     public void loadResourcesAsync_success() {
-        final ArgumentCaptor<Runnable> argumentCaptorAsync0Task = ArgumentCaptor.forClass(Runnable.class);
-        final ArgumentCaptor<Runnable> argumentCaptorAsync1Task = ArgumentCaptor.forClass(Runnable.class);
-        final ArgumentCaptor<Runnable> argumentCaptorCheckingTask = ArgumentCaptor.forClass(Runnable.class);
         final boolean[] calledComplete = {false};
 
         Consumer<AssetManager.LoadedResource<GameAsset>[]> onComplete = (resources) -> {
@@ -212,25 +341,13 @@ public class GameAssetManagerTest {
                 new ResourceRequest(TestResourceType.class, TEST_FILE_1_ID),
                 new ResourceRequest(TestResourceType.class, TEST_FILE_2_ID),
         }, onComplete);
-        verify(taskScheduler, times(2)).scheduleAsynchronousTask(argumentCaptorAsync0Task.capture(), argumentCaptorAsync1Task.capture());
-        verify(taskScheduler, times(1)).scheduleRepeatingSynchronousTask(argumentCaptorCheckingTask.capture(), anyLong());
-
-        List<Runnable> loadTasks = argumentCaptorAsync0Task.getAllValues();
-        assertEquals(2, loadTasks.size());
-        loadTasks.forEach(Runnable::run);
-
-        //Verify oncomplete not run until end
-        List<Runnable> incrementTasks = argumentCaptorAsync1Task.getAllValues();
-        Runnable checkingTask = argumentCaptorCheckingTask.getValue();
-        assertEquals(2, incrementTasks.size());
+        verify(taskScheduler, times(2)).scheduleAsynchronousTask(any(), isNull());
 
-        checkingTask.run();
-        incrementTasks.get(0).run();
-        checkingTask.run();
-        incrementTasks.get(1).run();
-        checkingTask.run();
+        // Decode both resources, but do not finalize them yet
+        taskSchedulerRunner.runScheduledTasks();
+        assertFalse(calledComplete[0]);
 
-        verify(taskScheduler, times(1)).cancelTask(anyInt());
+        taskSchedulerRunner.runAllTasks();
 
         assertTrue(calledComplete[0]);
         assertFileLoaded(TEST_FILE_1_ID, TEST_FILE_1_CONTENT);
@@ -266,13 +383,27 @@ public class GameAssetManagerTest {
         TestResourceFactory factoryMock = setupUnloadResourceTest();
 
         gameAssetManager.unloadResourceAsync(FAKE_TEST_FILE_ID);
-        verify(taskScheduler).scheduleAsynchronousTask(argumentCaptor.capture(), any());
+        verify(factoryMock, never()).unloadResource(any());
+        verify(taskScheduler, never()).scheduleAsynchronousTask(any(), any());
+        verify(taskScheduler).scheduleSynchronousTask(argumentCaptor.capture());
         argumentCaptor.getValue().run();
 
         verify(factoryMock, times(1)).unloadResource(any());
         assertFalse(gameAssetManager.getLoadedResources().containsKey(FAKE_TEST_FILE_ID));
     }
 
+    @Test
+    public void testUnloadResourceAsync_referenced_notUnloaded() {
+        TestResourceFactory factoryMock = setupUnloadResourceTest();
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+
+        gameAssetManager.unloadResourceAsync(FAKE_TEST_FILE_ID);
+
+        verifyNoInteractions(taskScheduler);
+        verify(factoryMock, never()).unloadResource(any());
+        assertTrue(gameAssetManager.getLoadedResources().containsKey(FAKE_TEST_FILE_ID));
+    }
+
     @Test
     public void testUnloadResource_doesNotContainResource_doesNothing() {
         gameAssetManager.unloadResource(FAKE_TEST_FILE_ID);
@@ -282,8 +413,8 @@ public class GameAssetManagerTest {
 
     @Test
     public void testUnloadResource_noFactory_doesNothing() {
+        useFactories();
         gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, new TestResourceType(FAKE_TEST_FILE_CONTENT));
-        factories.clear();
 
         gameAssetManager.unloadResource(FAKE_TEST_FILE_ID);
 
@@ -328,14 +459,93 @@ public class GameAssetManagerTest {
         gameAssetManager.unloadResourcesAsync(new String[] {
                 TEST_FILE_1_ID, TEST_FILE_2_ID
         });
-        verify(taskScheduler,atLeastOnce()).scheduleAsynchronousTask(argumentCaptor.capture(), any());
-        argumentCaptor.getAllValues().forEach(Runnable::run);
+        verify(taskScheduler, never()).scheduleAsynchronousTask(any(), any());
+        verify(taskScheduler).scheduleSynchronousTask(argumentCaptor.capture());
+        argumentCaptor.getValue().run();
 
         verify(factory, times(2)).unloadResource(any());
         assertFalse(gameAssetManager.getLoadedResources().containsKey(TEST_FILE_1_ID));
         assertFalse(gameAssetManager.getLoadedResources().containsKey(TEST_FILE_2_ID));
     }
 
+    @Test
+    public void testUnloadResource_subclassResource_usesFactoryOfSupertype() {
+        TestResourceFactory factory = setupUnloadResourceTest();
+        gameAssetManager.getLoadedResources().put(TEST_FILE_1_ID, new TestResourceSubType(TEST_FILE_1_CONTENT));
+
+        gameAssetManager.unloadResource(TEST_FILE_1_ID);
+
+        verify(factory, times(1)).unloadResource(any());
+        assertFalse(gameAssetManager.getLoadedResources().containsKey(TEST_FILE_1_ID));
+    }
+
+    @Test
+    public void testGetResource_loaded_returnsResource() {
+        TestResourceType expectedResource = new TestResourceType(FAKE_TEST_FILE_CONTENT);
+        gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, expectedResource);
+
+        Optional<TestResourceType> actual = gameAssetManager.getResource(TestResourceType.class, FAKE_TEST_FILE_ID);
+
+        assertSame(expectedResource, actual.get());
+    }
+
+    @Test
+    public void testGetResource_differentTypeOrMissing_emptyOptional() {
+        gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, new TestResourceType(FAKE_TEST_FILE_CONTENT));
+
+        assertTrue(gameAssetManager.getResource(TestResourceOtherType.class, FAKE_TEST_FILE_ID).isEmpty());
+        assertTrue(gameAssetManager.getResource(TestResourceType.class, TEST_FILE_1_ID).isEmpty());
+    }
+
+    @Test
+    public void testGetResourceByHandle_handleBeforeLoad_resolvesOnceLoaded() {
+        AssetHandle<TestResourceType> handle = gameAssetManager.getHandle(TestResourceType.class, TEST_FILE_1_ID);
+        assertTrue(gameAssetManager.getResource(handle).isEmpty());
+
+        Optional<TestResourceType> loaded = gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+
+        assertSame(loaded.get(), gameAssetManager.getResource(handle).get());
+    }
+
+    @Test
+    public void testGetResourceByHandle_handleAfterLoad_resolves() {
+        Optional<TestResourceType> loaded = gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+
+        AssetHandle<TestResourceType> handle = gameAssetManager.getHandle(TestResourceType.class, TEST_FILE_1_ID);
+
+        assertTrue(gameAssetManager.isHandleValid(handle));
+        assertSame(loaded.get(), gameAssetManager.getResource(handle).get());
+    }
+
+    @Test
+    public void testGetResourceByHandle_unloaded_handleIsStale() {
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        AssetHandle<TestResourceType> handle = gameAssetManager.getHandle(TestResourceType.class, TEST_FILE_1_ID);
+
+        gameAssetManager.unloadResource(TEST_FILE_1_ID);
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+
+        assertFalse(gameAssetManager.isHandleValid(handle));
+        assertTrue(gameAssetManager.getResource(handle).isEmpty());
+        AssetHandle<TestResourceType> newHandle = gameAssetManager.getHandle(TestResourceType.class, TEST_FILE_1_ID);
+        assertTrue(gameAssetManager.getResource(newHandle).isPresent());
+    }
+
+    @Test
+    public void testUnloadResource_handleNeverLoaded_releasesSlot() {
+        AssetHandle<TestResourceType> handle = gameAssetManager.getHandle(TestResourceType.class, "never/loaded-0");
+
+        gameAssetManager.unloadResource("never/loaded-0");
+
+        assertFalse(gameAssetManager.isHandleValid(handle));
+        for (int x = 1; x < 100; x++) {
+            AssetHandle<TestResourceType> nextHandle =
+                    gameAssetManager.getHandle(TestResourceType.class, "never/loaded-" + x);
+            gameAssetManager.unloadResource("never/loaded-" + x);
+            assertEquals(handle.index(), nextHandle.index());
+        }
+    }
+
     @Test
     public void testLoadAndClearResourcesAsync_loadAll_loads() {
         final boolean[] calledComplete = {false};
@@ -373,9 +583,8 @@ public class GameAssetManagerTest {
 
     @Test
     public void testLoadAndClearResourcesAsync_someLoadSomeUnloadSomeKeep_success() {
-        factories.clear();
         TestResourceFactory factory = spy(new TestResourceFactory());
-        factories.add(factory);
+        useFactories(factory);
         final boolean[] calledComplete = {false};
         // To unload
         gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, new TestResourceType(FAKE_TEST_FILE_CONTENT));
@@ -400,6 +609,247 @@ public class GameAssetManagerTest {
         assertTrue(calledComplete[0]);
     }
 
+    @Test
+    public void testLoadAndClearResourcesAsync_sharedBetweenScenes_staysLoaded() {
+        TestResourceFactory factory = spy(new TestResourceFactory());
+        useFactories(factory);
+        gameAssetManager.loadAndClearResourcesAsync(new ResourceRequest[] {
+                new ResourceRequest(TestResourceType.class, TEST_FILE_1_ID),
+                new ResourceRequest(TestResourceType.class, TEST_FILE_2_ID),
+        }, () -> {});
+        taskSchedulerRunner.runAllTasks();
+        GameAsset sharedResource = gameAssetManager.getLoadedResources().get(TEST_FILE_2_ID);
+
+        gameAssetManager.loadAndClearResourcesAsync(new ResourceRequest[] {
+                new ResourceRequest(TestResourceType.class, TEST_FILE_2_ID),
+        }, () -> {});
+        taskSchedulerRunner.runAllTasks();
+
+        verify(factory, times(2)).readResource(any());
+        verify(factory, times(1)).unloadResource(any());
+        assertFalse(gameAssetManager.getLoadedResources().containsKey(TEST_FILE_1_ID));
+        assertSame(sharedResource, gameAssetManager.getLoadedResources().get(TEST_FILE_2_ID));
+        assertEquals(1, gameAssetManager.getReferenceCount(TEST_FILE_2_ID));
+        assertEquals(0, gameAssetManager.getReferenceCount(TEST_FILE_1_ID));
+    }
+
+    @Test
+    public void testLoadAndClearResourcesAsync_acquiredElsewhere_staysLoaded() {
+        gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, new TestResourceType(FAKE_TEST_FILE_CONTENT));
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+
+        gameAssetManager.loadAndClearResourcesAsync(new ResourceRequest[] {}, () -> {});
+        taskSchedulerRunner.runAllTasks();
+
+        assertFileLoaded(FAKE_TEST_FILE_ID, FAKE_TEST_FILE_CONTENT);
+    }
+
+    @Test
+    public void testReleaseResource_lastReference_unloadsOnNextFrame() {
+        TestResourceFactory factory = setupUnloadResourceTest();
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+
+        gameAssetManager.releaseResource(FAKE_TEST_FILE_ID);
+        assertEquals(1, gameAssetManager.getReferenceCount(FAKE_TEST_FILE_ID));
+        verify(taskScheduler, never()).scheduleSynchronousTask(any());
+
+        gameAssetManager.releaseResource(FAKE_TEST_FILE_ID);
+        assertFileLoaded(FAKE_TEST_FILE_ID, FAKE_TEST_FILE_CONTENT);
+        taskSchedulerRunner.runAllTasks();
+
+        verify(factory, times(1)).unloadResource(any());
+        assertFalse(gameAssetManager.getLoadedResources().containsKey(FAKE_TEST_FILE_ID));
+    }
+
+    @Test
+    public void testReleaseResource_acquiredBeforeUnload_keepsResource() {
+        TestResourceFactory factory = setupUnloadResourceTest();
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+
+        gameAssetManager.releaseResource(FAKE_TEST_FILE_ID);
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+        taskSchedulerRunner.runAllTasks();
+
+        verify(factory, never()).unloadResource(any());
+        assertFileLoaded(FAKE_TEST_FILE_ID, FAKE_TEST_FILE_CONTENT);
+    }
+
+    @Test
+    public void testReleaseResource_notAcquired_doesNothing() {
+        setupUnloadResourceTest();
+
+        gameAssetManager.releaseResource(FAKE_TEST_FILE_ID);
+
+        verify(taskScheduler, never()).scheduleSynchronousTask(any());
+        assertEquals(0, gameAssetManager.getReferenceCount(FAKE_TEST_FILE_ID));
+    }
+
+    @Test
+    public void testUnloadResource_acquired_doesNotUnload() {
+        TestResourceFactory factory = setupUnloadResourceTest();
+        gameAssetManager.acquireResource(FAKE_TEST_FILE_ID);
+
+        gameAssetManager.unloadResource(FAKE_TEST_FILE_ID);
+
+        verify(factory, never()).unloadResource(any());
+        assertFileLoaded(FAKE_TEST_FILE_ID, FAKE_TEST_FILE_CONTENT);
+    }
+
+    @Test
+    public void testReleaseResource_overBudget_unloadsOnePerFrame() {
+        TestResourceFactory factory = spy(new TestResourceFactory());
+        gameAssetManager = new GameAssetManager(List.of(factory), taskScheduler, assetLoadPipeline, gameTime, 0, 0);
+        gameAssetManager.getLoadedResources().put(TEST_FILE_1_ID, new TestResourceType(TEST_FILE_1_CONTENT));
+        gameAssetManager.getLoadedResources().put(TEST_FILE_2_ID, new TestResourceType(TEST_FILE_2_CONTENT));
+        gameAssetManager.acquireResource(TEST_FILE_1_ID);
+        gameAssetManager.acquireResource(TEST_FILE_2_ID);
+
+        gameAssetManager.releaseResource(TEST_FILE_1_ID);
+        gameAssetManager.releaseResource(TEST_FILE_2_ID);
+        taskSchedulerRunner.runScheduledTasks();
+
+        verify(factory, times(1)).unloadResource(any());
+        taskSchedulerRunner.runAllTasks();
+        verify(factory, times(2)).unloadResource(any());
+    }
+
+    @Test
+    public void testResourceSizeChanged_updatesCacheAndEvictsOverBudget() {
+        ResizingResourceFactory factory = spy(new ResizingResourceFactory());
+        gameAssetManager = new GameAssetManager(List.of(factory), taskScheduler, assetLoadPipeline, gameTime, Long.MAX_VALUE, 20);
+        TestResourceType resource = gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID).get();
+        assertEquals(TEST_FILE_1_CONTENT.length(), gameAssetManager.getCacheMetrics().getUsedBytes());
+
+        factory.resize(resource, 0);
+        assertEquals(0, gameAssetManager.getCacheMetrics().getUsedBytes());
+
+        factory.resize(resource, 30);
+        assertEquals(30, gameAssetManager.getCacheMetrics().getUsedBytes());
+        taskSchedulerRunner.runAllTasks();
+        verify(factory).unloadResource(resource);
+        assertEquals(0, gameAssetManager.getCacheMetrics().getUsedBytes());
+    }
+
+    @Test
+    public void testResourceSizeChanged_notLoaded_ignored() {
+        ResizingResourceFactory factory = new ResizingResourceFactory();
+        useFactories(factory);
+
+        factory.resize(new TestResourceType(TEST_FILE_1_CONTENT), 30);
+
+        assertEquals(0, gameAssetManager.getCacheMetrics().getUsedBytes());
+    }
+
+    @Test
+    public void testLoadResource_textureSpilledAfterUpload_cacheFollowsPixels(@TempDir Path cacheDirectory) throws IOException {
+        DecodedTextureCache decodedTextureCache = new DecodedTextureCache(cacheDirectory);
+        TextureResidencyManager residencyManager =
+                new TextureResidencyManager(new RecordingGlBackend(), decodedTextureCache, 0);
+        TextureHandler textureHandler = new TextureHandler(residencyManager, decodedTextureCache, TextureRetention.SPILL,
+                new TextureAtlas(residencyManager, 16, 1));
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 2, BufferedImage.TYPE_INT_ARGB), "png", encoded);
+        ByteBuffer data = ByteBuffer.allocateDirect(encoded.size()).put(encoded.toByteArray()).flip();
+        assetLoadPipeline = new AssetLoadPipeline(taskScheduler, gameTime, path -> data.asReadOnlyBuffer(), Runnable::run, Long.MAX_VALUE);
+        useFactories(textureHandler);
+        TextureMemoryMetrics textureMetrics = residencyManager.getMemoryMetrics();
+
+        TextureAsset texture = gameAssetManager.loadResource(TextureAsset.class, "texture.png").get();
+        assertEquals(4 * 2 * 4, gameAssetManager.getCacheMetrics().getUsedBytes());
+        assertEquals(textureMetrics.getNativeBytes(), gameAssetManager.getCacheMetrics().getUsedBytes());
+
+        textureHandler.generateTextures(texture);
+        assertFalse(texture.isPixelsRetained());
+        assertEquals(0, gameAssetManager.getCacheMetrics().getUsedBytes());
+        assertEquals(textureMetrics.getNativeBytes(), gameAssetManager.getCacheMetrics().getUsedBytes());
+
+        // Reloaded pixels are mapped from the decoded texture cache, which does not count against the budget
+        assertTrue(residencyManager.reloadPixels(texture));
+        assertEquals(0, gameAssetManager.getCacheMetrics().getUsedBytes());
+        assertEquals(textureMetrics.getNativeBytes(), gameAssetManager.getCacheMetrics().getUsedBytes());
+    }
+
+    @Test
+    public void testLoadResource_textureSourceChanged_replacesDecodedTextureCacheEntry(@TempDir Path cacheDirectory) throws IOException {
+        DecodedTextureCache decodedTextureCache = new DecodedTextureCache(cacheDirectory);
+        TextureResidencyManager residencyManager =
+                new TextureResidencyManager(new RecordingGlBackend(), decodedTextureCache, 0);
+        TextureHandler textureHandler = new TextureHandler(residencyManager, decodedTextureCache, TextureRetention.KEEP,
+                new TextureAtlas(residencyManager, 16, 1));
+        ByteBuffer[] data = {encodePng(4, 2)};
+        assetLoadPipeline = new AssetLoadPipeline(taskScheduler, gameTime, path -> data[0].asReadOnlyBuffer(), Runnable::run, Long.MAX_VALUE);
+        useFactories(textureHandler);
+
+        gameAssetManager.loadResource(TextureAsset.class, "texture.png");
+        gameAssetManager.unloadResource("texture.png");
+        data[0] = encodePng(2, 2);
+        TextureAsset texture = gameAssetManager.loadResource(TextureAsset.class, "texture.png").get();
+
+        assertEquals(2, texture.getWidth());
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    private static ByteBuffer encodePng(int width, int height) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", encoded);
+        return ByteBuffer.allocateDirect(encoded.size()).put(encoded.toByteArray()).flip();
+    }
+
+    @Test
+    public void testLoadResource_overCacheBudget_evictsLeastRecentlyUsed() {
+        TestResourceFactory factory = spy(new TestResourceFactory());
+        // Only one of the test files fits the budget
+        gameAssetManager = new GameAssetManager(List.of(factory), taskScheduler, assetLoadPipeline, gameTime, Long.MAX_VALUE, 20);
+
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_2_ID);
+        taskSchedulerRunner.runAllTasks();
+
+        verify(factory, times(1)).unloadResource(any());
+        assertFalse(gameAssetManager.getLoadedResources().containsKey(TEST_FILE_1_ID));
+        assertFileLoaded(TEST_FILE_2_ID, TEST_FILE_2_CONTENT);
+        assertEquals(1, gameAssetManager.getCacheMetrics().getEvictionCount());
+        assertEquals(TEST_FILE_2_CONTENT.length(), gameAssetManager.getCacheMetrics().getUsedBytes());
+    }
+
+    @Test
+    public void testLoadResource_overCacheBudget_keepsAcquired() {
+        gameAssetManager = new GameAssetManager(List.of(new TestResourceFactory()), taskScheduler, assetLoadPipeline, gameTime, Long.MAX_VALUE, 20);
+        gameAssetManager.acquireResource(TEST_FILE_1_ID);
+
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_2_ID);
+        taskSchedulerRunner.runAllTasks();
+
+        assertFileLoaded(TEST_FILE_1_ID, TEST_FILE_1_CONTENT);
+        assertFalse(gameAssetManager.getLoadedResources().containsKey(TEST_FILE_2_ID));
+    }
+
+    @Test
+    public void testLoadResource_allAcquiredOverCacheBudget_keepsAll() {
+        gameAssetManager = new GameAssetManager(List.of(new TestResourceFactory()), taskScheduler, assetLoadPipeline, gameTime, Long.MAX_VALUE, 1);
+        gameAssetManager.acquireResource(TEST_FILE_1_ID);
+
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        taskSchedulerRunner.runAllTasks();
+
+        assertFileLoaded(TEST_FILE_1_ID, TEST_FILE_1_CONTENT);
+        assertEquals(0, gameAssetManager.getCacheMetrics().getEvictionCount());
+    }
+
+    @Test
+    public void testLoadResource_countsHitsAndMisses() {
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_1_ID);
+        gameAssetManager.loadResource(TestResourceType.class, TEST_FILE_2_ID);
+
+        assertEquals(1, gameAssetManager.getCacheMetrics().getHitCount());
+        assertEquals(2, gameAssetManager.getCacheMetrics().getMissCount());
+    }
+
     private void assertFileLoaded(String resourceId, String expectedContent) {
         GameAsset resource = gameAssetManager.getLoadedResources().get(resourceId);
 
@@ -408,40 +858,29 @@ public class GameAssetManagerTest {
     }
 
     private TestResourceFactory setupUnloadResourceTest() {
-        gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, new TestResourceType(FAKE_TEST_FILE_CONTENT));
-        factories.clear();
         TestResourceFactory factory = spy(new TestResourceFactory());
-        factories.add(factory);
+        useFactories(factory);
+        gameAssetManager.getLoadedResources().put(FAKE_TEST_FILE_ID, new TestResourceType(FAKE_TEST_FILE_CONTENT));
         return factory;
     }
 
     private TestResourceFactory setupUnloadResourceMultipleTest() {
+        TestResourceFactory factory = spy(new TestResourceFactory());
+        useFactories(factory);
         gameAssetManager.getLoadedResources().put(TEST_FILE_1_ID, new TestResourceType(TEST_FILE_1_CONTENT));
         gameAssetManager.getLoadedResources().put(TEST_FILE_2_ID, new TestResourceType(TEST_FILE_2_CONTENT));
-        factories.clear();
-        TestResourceFactory factory = spy(new TestResourceFactory());
-        factories.add(factory);
         return factory;
     }
 
-    private void runAllTasksInLoadAndClearResourcesAsync() {
-        final ArgumentCaptor<Runnable> argumentCaptorAsync0 = ArgumentCaptor.forClass(Runnable.class);
-        final ArgumentCaptor<Runnable> argumentCaptorAsync1 = ArgumentCaptor.forClass(Runnable.class);
-
-        verify(taskScheduler, atLeastOnce()).scheduleAsynchronousTask(argumentCaptorAsync0.capture(), argumentCaptorAsync1.capture());
-        argumentCaptorAsync0.getAllValues().forEach(Runnable::run);
-
-        verify(taskScheduler, atLeast(0)).scheduleAsynchronousTask(argumentCaptorAsync0.capture(), argumentCaptorAsync1.capture());
-        argumentCaptorAsync0.getAllValues().forEach(Runnable::run);
-        argumentCaptorAsync1.getAllValues().forEach((runnable) -> {
-            if(runnable != null) {
-                runnable.run();
-            }
-        });
+    /**
+     * Recreates the asset manager with the given factories, as factories are registered on construction
+     */
+    private void useFactories(GameAssetFactory... factories) {
+        gameAssetManager = new GameAssetManager(List.of(factories), taskScheduler, assetLoadPipeline, gameTime, Long.MAX_VALUE, 0);
+    }
 
-        final ArgumentCaptor<Runnable> argumentCaptorSyncRepeating = ArgumentCaptor.forClass(Runnable.class);
-        verify(taskScheduler, atLeastOnce()).scheduleRepeatingSynchronousTask(argumentCaptorSyncRepeating.capture(), anyLong());
-        argumentCaptorSyncRepeating.getAllValues().forEach(Runnable::run);
+    private void runAllTasksInLoadAndClearResourcesAsync() {
+        taskSchedulerRunner.runAllTasks();
     }
 
     private static Stream<Arguments> provideResourceParams() {
@@ -458,6 +897,12 @@ public class GameAssetManagerTest {
         private String content;
     }
 
+    private class TestResourceSubType extends TestResourceType {
+        private TestResourceSubType(String content) {
+            super(content);
+        }
+    }
+
     private class TestResourceOtherType implements GameAsset {
         private String content;
     }
@@ -477,6 +922,11 @@ public class GameAssetManagerTest {
             return Optional.of(new TestResourceType(data.toString()));
         }
 
+        @Override
+        public long getResourceSize(TestResourceType resource) {
+            return resource.getContent().length();
+        }
+
         @Override
         public void unloadResource(GameAsset resource) {
 
@@ -488,6 +938,26 @@ public class GameAssetManagerTest {
         }
     }
 
+    private class ResizingResourceFactory extends TestResourceFactory {
+        private final Map<TestResourceType, Long> sizes = new IdentityHashMap<>();
+        private Consumer<TestResourceType> resourceSizeListener;
+
+        @Override
+        public long getResourceSize(TestResourceType resource) {
+            return sizes.getOrDefault(resource, super.getResourceSize(resource));
+        }
+
+        @Override
+        public void setResourceSizeListener(Consumer<TestResourceType> listener) {
+            resourceSizeListener = listener;
+        }
+
+        private void resize(TestResourceType resource, long size) {
+            sizes.put(resource, size);
+            resourceSizeListener.accept(resource);
+        }
+    }
+
     private class TestResourceOtherFactory implements GameAssetFactory<TestResourceOtherType> {
 
         @Override
@@ -0,0 +1,57 @@
+package me.kyledulce.kengine.resource;
+
+import me.kyledulce.kengine.scheduler.TaskScheduler;
+import org.mockito.invocation.Invocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Runs the tasks given to a mocked {@link TaskScheduler}, as the game loop and its workers would.
+ * Asynchronous tasks are run together with their completion callback
+ */
+final class MockTaskSchedulerRunner {
+    private final TaskScheduler taskScheduler;
+    private int handledInvocations = 0;
+
+    MockTaskSchedulerRunner(TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Runs the tasks scheduled so far, but not the tasks they schedule
+     * @return number of tasks that were run
+     */
+    int runScheduledTasks() {
+        List<Invocation> invocations = new ArrayList<>(mockingDetails(taskScheduler).getInvocations());
+        int tasksRun = 0;
+
+        for (; handledInvocations < invocations.size(); handledInvocations++) {
+            Invocation invocation = invocations.get(handledInvocations);
+            String method = invocation.getMethod().getName();
+            if (method.equals("scheduleSynchronousTask")) {
+                invocation.<Runnable>getArgument(0).run();
+                tasksRun++;
+            } else if (method.equals("scheduleAsynchronousTask")) {
+                invocation.<Runnable>getArgument(0).run();
+                Runnable onComplete = invocation.getArgument(1);
+                if (onComplete != null) {
+                    onComplete.run();
+                }
+                tasksRun++;
+            }
+        }
+
+        return tasksRun;
+    }
+
+    /**
+     * Runs scheduled tasks until no new tasks are scheduled
+     */
+    void runAllTasks() {
+        while (runScheduledTasks() > 0) {
+        }
+    }
+}
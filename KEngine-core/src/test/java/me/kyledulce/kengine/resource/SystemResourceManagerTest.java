@@ -0,0 +1,75 @@
+package me.kyledulce.kengine.resource;
+
+import me.kyledulce.kengine.config.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SystemResourceManagerTest {
+
+    private static final int MAX_THREADS = 4;
+
+    @Mock
+    Config config;
+
+    SystemResourceManager systemResourceManager;
+
+    @AfterEach
+    public void afterEach() {
+        systemResourceManager.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutorStrategy.class)
+    public void testSubmitTask_runsTasksConcurrently(ExecutorStrategy strategy) throws InterruptedException {
+        when(config.getThreadPoolStrategy()).thenReturn(strategy);
+        when(config.getMaxPoolThreads()).thenReturn(MAX_THREADS);
+        lenient().when(config.getThreadTimeoutSeconds()).thenReturn(60);
+        systemResourceManager = new SystemResourceManager(config);
+
+        // Every task waits until all tasks started, so this only finishes if they run at the same time
+        CountDownLatch started = new CountDownLatch(MAX_THREADS);
+        CountDownLatch finished = new CountDownLatch(MAX_THREADS);
+        for (int x = 0; x < MAX_THREADS; x++) {
+            systemResourceManager.submitTask(() -> {
+                started.countDown();
+                try {
+                    if (started.await(5, TimeUnit.SECONDS)) {
+                        finished.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ExecutorStrategy.class)
+    public void testSubmitTask_futureCompletes(ExecutorStrategy strategy) throws InterruptedException {
+        when(config.getThreadPoolStrategy()).thenReturn(strategy);
+        when(config.getMaxPoolThreads()).thenReturn(MAX_THREADS);
+        lenient().when(config.getThreadTimeoutSeconds()).thenReturn(60);
+        systemResourceManager = new SystemResourceManager(config);
+
+        TaskFuture taskFuture = systemResourceManager.submitTask(() -> {});
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!taskFuture.isComplete() && System.nanoTime() < end) {
+            Thread.sleep(1);
+        }
+        assertTrue(taskFuture.isComplete());
+    }
+}
@@ -0,0 +1,117 @@
+package me.kyledulce.kengine.resource.pack;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetPackTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRead_uncompressed_returnsReadOnlySlice() throws IOException {
+        Path assets = createAssets();
+
+        try (AssetPack pack = packAndOpen(assets, false)) {
+            ByteBuffer data = pack.read("textures/a.txt");
+
+            assertTrue(data.isReadOnly());
+            assertTrue(data.isDirect());
+            assertEquals("Texture A", decode(data));
+            assertEquals("Nested", decode(pack.read("textures/nested/b.txt")));
+            assertEquals(3, pack.getEntryCount());
+        }
+    }
+
+    @Test
+    public void testRead_compressed_inflates() throws IOException {
+        Path assets = createAssets();
+        String repeated = "compressible ".repeat(1000);
+        Files.writeString(assets.resolve("big.txt"), repeated);
+
+        try (AssetPack pack = packAndOpen(assets, true)) {
+            assertEquals(repeated, decode(pack.read("big.txt")));
+            // Too small to save space, stored as is
+            assertEquals("Texture A", decode(pack.read("textures/a.txt")));
+        }
+        assertTrue(Files.size(tempDir.resolve("assets.kpak")) < repeated.length());
+    }
+
+    @Test
+    public void testRead_missing_returnsNull() throws IOException {
+        try (AssetPack pack = packAndOpen(createAssets(), false)) {
+            assertNull(pack.read("textures/missing.txt"));
+            assertNull(pack.read("a.txt"));
+            assertFalse(pack.contains("textures"));
+            assertTrue(pack.contains("textures/a.txt"));
+        }
+    }
+
+    @Test
+    public void testRead_manyEntries_findsEach() throws IOException {
+        Path assets = tempDir.resolve("assets");
+        Files.createDirectories(assets);
+        for (int x = 0; x < 500; x++) {
+            Files.writeString(assets.resolve("file" + x + ".txt"), "content " + x);
+        }
+
+        try (AssetPack pack = packAndOpen(assets, false)) {
+            for (int x = 0; x < 500; x++) {
+                assertEquals("content " + x, decode(pack.read("file" + x + ".txt")));
+            }
+        }
+    }
+
+    @Test
+    public void testRead_readTwice_independentBuffers() throws IOException {
+        try (AssetPack pack = packAndOpen(createAssets(), false)) {
+            ByteBuffer first = pack.read("textures/a.txt");
+            first.get();
+
+            assertEquals("Texture A", decode(pack.read("textures/a.txt")));
+        }
+    }
+
+    @Test
+    public void testOpen_notAPack_throws() throws IOException {
+        Path file = tempDir.resolve("notAPack.kpak");
+        Files.writeString(file, "This is not an asset pack file at all");
+
+        assertThrows(IOException.class, () -> AssetPack.open(file));
+    }
+
+    @Test
+    public void testAdd_duplicatePath_throws() {
+        AssetPackWriter writer = new AssetPackWriter();
+        writer.add("a.txt", tempDir.resolve("a.txt"), false);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.add("a.txt", tempDir.resolve("b.txt"), false));
+    }
+
+    private Path createAssets() throws IOException {
+        Path assets = tempDir.resolve("assets");
+        Files.createDirectories(assets.resolve("textures/nested"));
+        Files.writeString(assets.resolve("textures/a.txt"), "Texture A");
+        Files.writeString(assets.resolve("textures/nested/b.txt"), "Nested");
+        Files.writeString(assets.resolve("shader.glsl"), "void main() {}");
+        return assets;
+    }
+
+    private AssetPack packAndOpen(Path assets, boolean compress) throws IOException {
+        Path packFile = tempDir.resolve("assets.kpak");
+        AssetPacker.pack(assets, packFile, compress);
+        return AssetPack.open(packFile);
+    }
+
+    private static String decode(ByteBuffer data) {
+        return StandardCharsets.UTF_8.decode(data).toString();
+    }
+}
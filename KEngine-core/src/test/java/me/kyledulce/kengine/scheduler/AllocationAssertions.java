@@ -0,0 +1,47 @@
+package me.kyledulce.kengine.scheduler;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts on the bytes allocated by the current thread using the {@link com.sun.management.ThreadMXBean} counters
+ */
+public final class AllocationAssertions {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int MAX_WARMUP_ROUNDS = 100;
+    private static final int WARM_CLEAN_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+
+    private AllocationAssertions() {}
+
+    /**
+     * Warms the frame up, then asserts that every one of several rounds of running it again does not allocate.
+     * Warming up runs rounds until several in a row do not allocate, since JIT compilation can allocate a few bytes
+     * while the frame is still being compiled. A frame that allocates in any measured round fails
+     * @param frame frame to run
+     * @param frames number of frames per round
+     */
+    public static void assertFramesDoNotAllocate(Runnable frame, int frames) {
+        long threadId = Thread.currentThread().getId();
+        int cleanRounds = 0;
+        for (int round = 0; round < MAX_WARMUP_ROUNDS && cleanRounds < WARM_CLEAN_ROUNDS; round++) {
+            cleanRounds = measureRound(frame, frames, threadId) == 0 ? cleanRounds + 1 : 0;
+        }
+
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            assertEquals(0, measureRound(frame, frames, threadId),
+                    "Bytes allocated over " + frames + " frames in measured round " + round);
+        }
+    }
+
+    private static long measureRound(Runnable frame, int frames, long threadId) {
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        for (int x = 0; x < frames; x++) {
+            frame.run();
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before;
+    }
+}
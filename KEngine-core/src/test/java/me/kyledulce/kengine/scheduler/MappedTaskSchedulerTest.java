@@ -2,13 +2,15 @@ package me.kyledulce.kengine.scheduler;
 
 import me.kyledulce.kengine.game.GameTime;
 import me.kyledulce.kengine.resource.SystemResourceManager;
-import me.kyledulce.kengine.resource.TaskFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -102,34 +104,22 @@ public class MappedTaskSchedulerTest {
     @Test
     public void testScheduleAsynchronousTask_triParam_success() {
         int actualId = mappedTaskScheduler.scheduleAsynchronousTask(() -> {}, () -> {});
-        ScheduledTask task = mappedTaskScheduler.getWaitingTasks().get(actualId);
 
         assertEquals(-1, actualId);
         assertEquals(2, mappedTaskScheduler.getNextTaskId());
-        assertNotNull(task);
-        assertEquals(-1, task.getId());
-        assertNotNull(task.getProgram());
-        assertEquals(0, task.getDelayMillis());
-        assertEquals(0, task.getIntervalMillis());
-        assertEquals(0,task.getScheduledTime());
-        assertTrue(task.isRepeating());
+        assertTrue(mappedTaskScheduler.isTaskInProgress(actualId));
+        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
         verify(systemResourceManager, times(1)).submitTask(any());
     }
 
     @Test
     public void testScheduleAsynchronousTask_triParamNullOnComplete_success() {
         int actualId = mappedTaskScheduler.scheduleAsynchronousTask(() -> {}, null);
-        ScheduledTask task = mappedTaskScheduler.getWaitingTasks().get(actualId);
 
         assertEquals(-1, actualId);
         assertEquals(2, mappedTaskScheduler.getNextTaskId());
-        assertNotNull(task);
-        assertEquals(-1, task.getId());
-        assertNotNull(task.getProgram());
-        assertEquals(0, task.getDelayMillis());
-        assertEquals(0, task.getIntervalMillis());
-        assertEquals(0,task.getScheduledTime());
-        assertTrue(task.isRepeating());
+        assertTrue(mappedTaskScheduler.isTaskInProgress(actualId));
+        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
         verify(systemResourceManager, times(1)).submitTask(any());
     }
 
@@ -168,55 +158,70 @@ public class MappedTaskSchedulerTest {
     }
 
     @Test
-    public void testScheduleAsynchronousTask_syncTaskRuns_shouldNotCancelTaskWhenNotDone() {
+    public void testScheduleAsynchronousTask_workerNotDone_shouldNotRunComplete() {
         Runnable mockRunnableComplete = mock(Runnable.class);
-        TaskFuture mockTaskFuture = mock(TaskFuture.class);
-        when(systemResourceManager.submitTask(any()))
-                .thenReturn(mockTaskFuture);
-        when(mockTaskFuture.isComplete())
-                .thenReturn(false);
 
         int actualId = mappedTaskScheduler.scheduleAsynchronousTask(() -> {}, mockRunnableComplete);
-        ScheduledTask task = mappedTaskScheduler.getWaitingTasks().get(actualId);
-        task.getProgram().run();
+        int tasksRun = mappedTaskScheduler.runTasksAndUpdate();
 
         verify(systemResourceManager, times(1)).submitTask(any());
         verify(mockRunnableComplete, never()).run();
-        assertEquals(1, mappedTaskScheduler.getWaitingTasks().size());
+        assertEquals(0, tasksRun);
+        assertTrue(mappedTaskScheduler.isTaskInProgress(actualId));
     }
 
     @Test
-    public void testScheduleAsynchronousTask_syncTaskComplete_shouldRunCompleteAndCancel() {
+    public void testScheduleAsynchronousTask_workerDone_shouldRunCompleteAndFinish() {
         Runnable mockRunnableComplete = mock(Runnable.class);
-        TaskFuture mockTaskFuture = mock(TaskFuture.class);
-        when(systemResourceManager.submitTask(any()))
-                .thenReturn(mockTaskFuture);
-        when(mockTaskFuture.isComplete())
-                .thenReturn(true);
+        Runnable mockRunnableTask = mock(Runnable.class);
 
-        int actualId = mappedTaskScheduler.scheduleAsynchronousTask(() -> {}, mockRunnableComplete);
-        ScheduledTask task = mappedTaskScheduler.getWaitingTasks().get(actualId);
-        task.getProgram().run();
+        int actualId = mappedTaskScheduler.scheduleAsynchronousTask(mockRunnableTask, mockRunnableComplete);
+        runSubmittedWorker();
+        verify(mockRunnableComplete, never()).run();
+        assertTrue(mappedTaskScheduler.isTaskInProgress(actualId));
 
-        verify(systemResourceManager, times(1)).submitTask(any());
+        int tasksRun = mappedTaskScheduler.runTasksAndUpdate();
+
+        verify(mockRunnableTask, times(1)).run();
         verify(mockRunnableComplete, times(1)).run();
+        assertEquals(1, tasksRun);
+        assertFalse(mappedTaskScheduler.isTaskInProgress(actualId));
         assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
     }
 
     @Test
-    public void testScheduleAsynchronousTask_syncTaskCompleteNullComplete_ShouldCancel() {
-        TaskFuture mockTaskFuture = mock(TaskFuture.class);
-        when(systemResourceManager.submitTask(any()))
-                .thenReturn(mockTaskFuture);
-        when(mockTaskFuture.isComplete())
-                .thenReturn(true);
-
+    public void testScheduleAsynchronousTask_workerDoneNullComplete_shouldFinish() {
         int actualId = mappedTaskScheduler.scheduleAsynchronousTask(() -> {}, null);
-        ScheduledTask task = mappedTaskScheduler.getWaitingTasks().get(actualId);
-        task.getProgram().run();
+        runSubmittedWorker();
 
-        verify(systemResourceManager, times(1)).submitTask(any());
-        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
+        int tasksRun = mappedTaskScheduler.runTasksAndUpdate();
+
+        assertEquals(0, tasksRun);
+        assertFalse(mappedTaskScheduler.isTaskInProgress(actualId));
+    }
+
+    @Test
+    public void testScheduleAsynchronousTask_workerThrows_shouldStillRunComplete() {
+        Runnable mockRunnableComplete = mock(Runnable.class);
+
+        int actualId = mappedTaskScheduler.scheduleAsynchronousTask(() -> {
+            throw new IllegalStateException("Test");
+        }, mockRunnableComplete);
+        assertThrows(IllegalStateException.class, this::runSubmittedWorker);
+
+        mappedTaskScheduler.runTasksAndUpdate();
+
+        verify(mockRunnableComplete, times(1)).run();
+        assertFalse(mappedTaskScheduler.isTaskInProgress(actualId));
+    }
+
+    /**
+     * Runs the task last submitted to the system resource manager, as a worker thread would
+     */
+    private void runSubmittedWorker() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(systemResourceManager, atLeastOnce()).submitTask(captor.capture());
+        captor.getValue().run();
     }
 
     @Test
@@ -243,9 +248,7 @@ public class MappedTaskSchedulerTest {
 
     @Test
     public void testIsTaskInProgress_success() {
-        int expectedId = 5;
-        ScheduledTask expectedTask = new ScheduledTask(expectedId, () -> {}, 0, 0, 0, false);
-        mappedTaskScheduler.getWaitingTasks().put(expectedId, expectedTask);
+        int expectedId = mappedTaskScheduler.scheduleSynchronousTask(() -> {}, 10);
 
         boolean actual = mappedTaskScheduler.isTaskInProgress(expectedId);
 
@@ -328,4 +331,175 @@ public class MappedTaskSchedulerTest {
         assertEquals(2, mappedTaskScheduler.getWaitingTasks().size());
         assertEquals(expectedNewDelay, mappedTaskScheduler.getWaitingTasks().get(1).getDelayMillis());
     }
+
+    @Test
+    public void testRunTasksAndUpdate_runsDueTasks() {
+        when(gameTime.getCurrentTimeMillis())
+                .thenReturn(0L);
+        int[] runCount = new int[1];
+        int id = mappedTaskScheduler.scheduleSynchronousTask(() -> runCount[0]++);
+        mappedTaskScheduler.scheduleSynchronousTask(() -> runCount[0]++, 10);
+        mappedTaskScheduler.scheduleRepeatingSynchronousTask(() -> runCount[0]++, 5);
+
+        int actual = mappedTaskScheduler.runTasksAndUpdate();
+
+        assertEquals(2, actual);
+        assertEquals(2, runCount[0]);
+        assertFalse(mappedTaskScheduler.isTaskInProgress(id));
+        assertEquals(2, mappedTaskScheduler.getWaitingTasks().size());
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_taskCancelledBySameUpdate_doesNotRun() {
+        when(gameTime.getCurrentTimeMillis())
+                .thenReturn(0L);
+        int[] ids = new int[2];
+        boolean[] ran = new boolean[2];
+        ids[0] = mappedTaskScheduler.scheduleSynchronousTask(() -> {
+            ran[0] = true;
+            mappedTaskScheduler.cancelTask(ids[1]);
+        });
+        ids[1] = mappedTaskScheduler.scheduleSynchronousTask(() -> {
+            ran[1] = true;
+            mappedTaskScheduler.cancelTask(ids[0]);
+        });
+
+        int actual = mappedTaskScheduler.runTasksAndUpdate();
+
+        assertEquals(1, actual);
+        assertTrue(ran[0] ^ ran[1]);
+        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_steadyState_doesNotAllocate() {
+        TestGameTime testGameTime = new TestGameTime();
+        mappedTaskScheduler = new MappedTaskScheduler(testGameTime, systemResourceManager);
+        int[] runCount = new int[1];
+        Runnable task = () -> runCount[0]++;
+        for (int x = 0; x < 2000; x++) {
+            mappedTaskScheduler.scheduleRepeatingSynchronousTask(task, x % 50, x % 300);
+        }
+
+        AllocationAssertions.assertFramesDoNotAllocate(() -> {
+            testGameTime.time += 7;
+            mappedTaskScheduler.runTasksAndUpdate();
+        }, 5_000);
+        assertTrue(runCount[0] > 0);
+    }
+
+    @Test
+    public void testScheduleSynchronousTask_fromOtherThread_appliedOnNextUpdate() throws InterruptedException {
+        mappedTaskScheduler = new MappedTaskScheduler(new TestGameTime(), systemResourceManager);
+        boolean[] ran = new boolean[1];
+        int[] id = new int[1];
+
+        Thread thread = new Thread(() -> id[0] = mappedTaskScheduler.scheduleSynchronousTask(() -> ran[0] = true));
+        thread.start();
+        thread.join();
+
+        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
+        assertEquals(1, mappedTaskScheduler.runTasksAndUpdate());
+        assertTrue(ran[0]);
+        assertEquals(1, id[0]);
+    }
+
+    @Test
+    public void testCancelTask_fromOtherThread_appliedBeforeTasksRun() throws InterruptedException {
+        mappedTaskScheduler = new MappedTaskScheduler(new TestGameTime(), systemResourceManager);
+        boolean[] ran = new boolean[1];
+        int id = mappedTaskScheduler.scheduleSynchronousTask(() -> ran[0] = true);
+
+        Thread thread = new Thread(() -> mappedTaskScheduler.cancelTask(id));
+        thread.start();
+        thread.join();
+
+        assertFalse(mappedTaskScheduler.isTaskInProgress(id));
+        assertEquals(0, mappedTaskScheduler.runTasksAndUpdate());
+        assertFalse(ran[0]);
+        assertFalse(mappedTaskScheduler.isTaskInProgress(id));
+    }
+
+    @Test
+    public void testCancelTask_scheduledFromOtherThreadCancelledOnLoopThread_doesNotRun() throws InterruptedException {
+        mappedTaskScheduler = new MappedTaskScheduler(new TestGameTime(), systemResourceManager);
+        boolean[] ran = new boolean[1];
+        int[] id = new int[1];
+
+        Thread thread = new Thread(() -> id[0] = mappedTaskScheduler.scheduleSynchronousTask(() -> ran[0] = true));
+        thread.start();
+        thread.join();
+        mappedTaskScheduler.cancelTask(id[0]);
+
+        assertEquals(0, mappedTaskScheduler.runTasksAndUpdate());
+        assertFalse(ran[0]);
+        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
+    }
+
+    @Test
+    public void testIsTaskInProgress_scheduledFromOtherThread_trueBeforeUpdate() throws InterruptedException {
+        mappedTaskScheduler = new MappedTaskScheduler(new TestGameTime(), systemResourceManager);
+        int[] id = new int[1];
+
+        Thread thread = new Thread(() -> id[0] = mappedTaskScheduler.scheduleSynchronousTask(() -> {}));
+        thread.start();
+        thread.join();
+
+        assertTrue(mappedTaskScheduler.isTaskInProgress(id[0]));
+        mappedTaskScheduler.runTasksAndUpdate();
+        assertFalse(mappedTaskScheduler.isTaskInProgress(id[0]));
+    }
+
+    @Test
+    public void testScheduleSynchronousTask_manyThreads_allTasksRunWithUniqueIds() throws InterruptedException {
+        mappedTaskScheduler = new MappedTaskScheduler(new TestGameTime(), systemResourceManager);
+        int threadCount = 4;
+        int tasksPerThread = 10_000;
+        int[] runCount = new int[1];
+        int[][] ids = new int[threadCount][tasksPerThread];
+        Thread[] threads = new Thread[threadCount];
+
+        for (int t = 0; t < threadCount; t++) {
+            int[] threadIds = ids[t];
+            threads[t] = new Thread(() -> {
+                for (int x = 0; x < tasksPerThread; x++) {
+                    threadIds[x] = mappedTaskScheduler.scheduleSynchronousTask(() -> runCount[0]++);
+                }
+            });
+            threads[t].start();
+        }
+
+        int totalRun = 0;
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread thread : threads) {
+                running |= thread.isAlive();
+            }
+            totalRun += mappedTaskScheduler.runTasksAndUpdate();
+        }
+
+        assertEquals(threadCount * tasksPerThread, totalRun);
+        assertEquals(totalRun, runCount[0]);
+        assertEquals(threadCount * tasksPerThread, Arrays.stream(ids).flatMapToInt(Arrays::stream).distinct().count());
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_budget_carriesOverRemainingTasks() {
+        TestGameTime testGameTime = new TestGameTime();
+        mappedTaskScheduler = new MappedTaskScheduler(testGameTime, systemResourceManager);
+        int[] runCount = new int[1];
+        for (int x = 0; x < 10; x++) {
+            mappedTaskScheduler.scheduleSynchronousTask(() -> { runCount[0]++; testGameTime.nanoTime += 10; });
+        }
+
+        assertEquals(4, mappedTaskScheduler.runTasksAndUpdate(35));
+        assertEquals(6, mappedTaskScheduler.getMetrics().getDeferredTaskCount());
+        assertEquals(6, mappedTaskScheduler.getWaitingTasks().size());
+        assertEquals(6, mappedTaskScheduler.runTasksAndUpdate());
+
+        assertEquals(10, runCount[0]);
+        assertEquals(0, mappedTaskScheduler.getWaitingTasks().size());
+        assertEquals(6, mappedTaskScheduler.getMetrics().getTotalDeferredTaskCount());
+    }
 }
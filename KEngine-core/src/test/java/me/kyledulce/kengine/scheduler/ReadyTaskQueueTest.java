@@ -0,0 +1,87 @@
+package me.kyledulce.kengine.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadyTaskQueueTest {
+
+    ReadyTaskQueue readyTaskQueue;
+
+    @BeforeEach
+    public void beforeEach() {
+        readyTaskQueue = new ReadyTaskQueue();
+    }
+
+    private static ScheduledTask task(int id, long dueTime) {
+        return new ScheduledTask(id, () -> {}, dueTime, 0, 0, false);
+    }
+
+    @Test
+    public void testPoll_returnsTasksInDueOrder() {
+        ScheduledTask late = task(1, 30);
+        ScheduledTask early = task(2, 10);
+        ScheduledTask middle = task(3, 20);
+        readyTaskQueue.add(late);
+        readyTaskQueue.add(early);
+        readyTaskQueue.add(middle);
+
+        assertSame(early, readyTaskQueue.poll());
+        assertSame(middle, readyTaskQueue.poll());
+        assertSame(late, readyTaskQueue.poll());
+        assertNull(readyTaskQueue.poll());
+        assertEquals(ReadyTaskQueue.NOT_QUEUED, late.getReadyIndex());
+    }
+
+    @Test
+    public void testAdd_alreadyQueued_doesNothing() {
+        ScheduledTask task = task(1, 10);
+
+        readyTaskQueue.add(task);
+        readyTaskQueue.add(task);
+
+        assertEquals(1, readyTaskQueue.size());
+    }
+
+    @Test
+    public void testRemove_notQueued_doesNothing() {
+        readyTaskQueue.add(task(1, 10));
+
+        readyTaskQueue.remove(task(2, 5));
+
+        assertEquals(1, readyTaskQueue.size());
+    }
+
+    @Test
+    public void testRandomOperations_keepsDueOrder() {
+        Random random = new Random(42);
+        List<ScheduledTask> queued = new ArrayList<>();
+
+        for (int x = 1; x <= 5000; x++) {
+            ScheduledTask task = task(x, random.nextInt(1000));
+            readyTaskQueue.add(task);
+            queued.add(task);
+
+            if (random.nextInt(3) == 0) {
+                ScheduledTask removed = queued.remove(random.nextInt(queued.size()));
+                readyTaskQueue.remove(removed);
+                assertEquals(ReadyTaskQueue.NOT_QUEUED, removed.getReadyIndex());
+            }
+        }
+
+        assertEquals(queued.size(), readyTaskQueue.size());
+        long lastDueTime = Long.MIN_VALUE;
+        while (!readyTaskQueue.isEmpty()) {
+            ScheduledTask task = readyTaskQueue.poll();
+            assertTrue(queued.remove(task));
+            assertTrue(ReadyTaskQueue.dueTime(task) >= lastDueTime);
+            lastDueTime = ReadyTaskQueue.dueTime(task);
+        }
+        assertTrue(queued.isEmpty());
+    }
+}
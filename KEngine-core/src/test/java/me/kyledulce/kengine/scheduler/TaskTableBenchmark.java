@@ -0,0 +1,96 @@
+package me.kyledulce.kengine.scheduler;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link TaskTable} against the boxed {@link HashMap} previously used to hold waiting tasks.
+ * Run with {@link #main(String[])} from the test classpath
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskTableBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int liveTasks;
+
+    private Map<Integer, ScheduledTask> hashMap;
+    private TaskTable<ScheduledTask> taskTable;
+    private ScheduledTask task;
+    private int lookupId;
+    private int churnId;
+
+    @Setup
+    public void setup() {
+        hashMap = new HashMap<>();
+        taskTable = new TaskTable<>();
+        task = new ScheduledTask(1, () -> {}, 0, 0, 0, false);
+
+        for (int id = 1; id <= liveTasks; id++) {
+            hashMap.put(id, task);
+            taskTable.put(id, task);
+        }
+        lookupId = 1;
+        churnId = liveTasks + 1;
+    }
+
+    private int nextLookupId() {
+        lookupId = lookupId == liveTasks ? 1 : lookupId + 1;
+        return lookupId;
+    }
+
+    @Benchmark
+    public ScheduledTask hashMapGet() {
+        return hashMap.get(nextLookupId());
+    }
+
+    @Benchmark
+    public ScheduledTask taskTableGet() {
+        return taskTable.get(nextLookupId());
+    }
+
+    @Benchmark
+    public boolean hashMapContainsMissing() {
+        return hashMap.containsKey(-nextLookupId());
+    }
+
+    @Benchmark
+    public boolean taskTableContainsMissing() {
+        return taskTable.containsKey(-nextLookupId());
+    }
+
+    /**
+     * Schedules a new task and finishes the oldest one, keeping the number of live tasks constant
+     */
+    @Benchmark
+    public void hashMapChurn(Blackhole blackhole) {
+        blackhole.consume(hashMap.put(churnId, task));
+        blackhole.consume(hashMap.remove(churnId - liveTasks));
+        churnId++;
+    }
+
+    @Benchmark
+    public void taskTableChurn(Blackhole blackhole) {
+        blackhole.consume(taskTable.put(churnId, task));
+        blackhole.consume(taskTable.remove(churnId - liveTasks));
+        churnId++;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskTableBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,131 @@
+package me.kyledulce.kengine.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskTableTest {
+
+    TaskTable<String> taskTable;
+
+    @BeforeEach
+    public void beforeEach() {
+        taskTable = new TaskTable<>();
+    }
+
+    @Test
+    public void testPut_success() {
+        assertNull(taskTable.put(5, "Test"));
+
+        assertEquals("Test", taskTable.get(5));
+        assertTrue(taskTable.containsKey(5));
+        assertEquals(1, taskTable.size());
+    }
+
+    @Test
+    public void testPut_existingId_replaces() {
+        taskTable.put(-5, "Old");
+
+        String actual = taskTable.put(-5, "New");
+
+        assertEquals("Old", actual);
+        assertEquals("New", taskTable.get(-5));
+        assertEquals(1, taskTable.size());
+    }
+
+    @Test
+    public void testPut_zeroId_throws() {
+        assertThrows(IllegalArgumentException.class, () -> taskTable.put(0, "Test"));
+    }
+
+    @Test
+    public void testGet_missing_returnsNull() {
+        taskTable.put(1, "Test");
+
+        assertNull(taskTable.get(2));
+        assertNull(taskTable.get(0));
+        assertFalse(taskTable.containsKey(2));
+    }
+
+    @Test
+    public void testRemove_success() {
+        taskTable.put(1, "Test");
+
+        String actual = taskTable.remove(1);
+
+        assertEquals("Test", actual);
+        assertFalse(taskTable.containsKey(1));
+        assertTrue(taskTable.isEmpty());
+        assertNull(taskTable.remove(1));
+    }
+
+    @Test
+    public void testRemove_idsSharingBucket_keepsOthers() {
+        taskTable.put(1, "First");
+        taskTable.put(1 + 1024, "Second");
+        taskTable.put(1 + 2048, "Third");
+
+        taskTable.remove(1 + 1024);
+
+        assertEquals("First", taskTable.get(1));
+        assertNull(taskTable.get(1 + 1024));
+        assertEquals("Third", taskTable.get(1 + 2048));
+        assertEquals(2, taskTable.size());
+    }
+
+    @Test
+    public void testForEach_visitsAllValues() {
+        for (int x = 1; x <= 100; x++) {
+            taskTable.put(x, String.valueOf(x));
+        }
+        taskTable.remove(50);
+        List<String> visited = new ArrayList<>();
+
+        taskTable.forEach(visited::add);
+
+        assertEquals(99, visited.size());
+        assertFalse(visited.contains("50"));
+    }
+
+    @Test
+    public void testClear_success() {
+        taskTable.put(1, "Test");
+
+        taskTable.clear();
+
+        assertTrue(taskTable.isEmpty());
+        assertNull(taskTable.get(1));
+    }
+
+    @Test
+    public void testRandomOperations_matchesHashMap() {
+        Random random = new Random(42);
+        Map<Integer, String> expected = new HashMap<>();
+
+        for (int x = 0; x < 200_000; x++) {
+            int id = random.nextInt(2000) - 1000;
+            if (id == 0) {
+                continue;
+            }
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), taskTable.remove(id));
+            } else {
+                String value = String.valueOf(x);
+                assertEquals(expected.put(id, value), taskTable.put(id, value));
+            }
+        }
+
+        assertEquals(expected.size(), taskTable.size());
+        for (int id = -1000; id < 1000; id++) {
+            assertEquals(expected.get(id), taskTable.get(id));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package me.kyledulce.kengine.scheduler;
+
+import me.kyledulce.kengine.game.GameTime;
+
+/**
+ * Game time that only moves when set. Unlike a mock, reading it does not allocate
+ */
+class TestGameTime implements GameTime {
+    long time = 0;
+    long nanoTime = 0;
+
+    @Override
+    public void setStartTime() {
+    }
+
+    @Override
+    public long getCurrentTimeMillis() {
+        return time;
+    }
+
+    @Override
+    public long getCurrentTimeMillisSinceStart() {
+        return time;
+    }
+
+    @Override
+    public long getCurrentTimeNanos() {
+        return nanoTime;
+    }
+}
@@ -0,0 +1,366 @@
+package me.kyledulce.kengine.scheduler;
+
+import me.kyledulce.kengine.resource.SystemResourceManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimingWheelTaskSchedulerTest {
+
+    @Mock
+    SystemResourceManager systemResourceManager;
+
+    TestGameTime gameTime;
+
+    TimingWheelTaskScheduler timingWheelTaskScheduler;
+
+    @BeforeEach
+    public void beforeEach() {
+        gameTime = new TestGameTime();
+        timingWheelTaskScheduler = new TimingWheelTaskScheduler(gameTime, systemResourceManager, 1);
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_noDelay_runsOnNextUpdate() {
+        Runnable expected = () -> {};
+        int id = timingWheelTaskScheduler.scheduleSynchronousTask(expected);
+
+        Runnable[] actual = timingWheelTaskScheduler.getTasksToRunAndUpdate();
+
+        assertArrayEquals(new Runnable[] {expected}, actual);
+        assertFalse(timingWheelTaskScheduler.isTaskInProgress(id));
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_delayed_runsWhenDue() {
+        Runnable expected = () -> {};
+        int id = timingWheelTaskScheduler.scheduleSynchronousTask(expected, 100);
+
+        gameTime.time = 99;
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        assertTrue(timingWheelTaskScheduler.isTaskInProgress(id));
+
+        gameTime.time = 100;
+        assertArrayEquals(new Runnable[] {expected}, timingWheelTaskScheduler.getTasksToRunAndUpdate());
+        assertFalse(timingWheelTaskScheduler.isTaskInProgress(id));
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_repeatingTask_reschedulesFromCurrentTime() {
+        Runnable expected = () -> {};
+        int id = timingWheelTaskScheduler.scheduleRepeatingSynchronousTask(expected, 10, 5);
+
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        gameTime.time = 7;
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        gameTime.time = 16;
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        gameTime.time = 17;
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        assertTrue(timingWheelTaskScheduler.isTaskInProgress(id));
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_repeatingNoInterval_runsEveryUpdate() {
+        timingWheelTaskScheduler.scheduleRepeatingSynchronousTask(() -> {}, 0);
+
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        gameTime.time = 1;
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+    }
+
+    @Test
+    public void testCancelTask_success() {
+        int id = timingWheelTaskScheduler.scheduleSynchronousTask(() -> {}, 10);
+
+        timingWheelTaskScheduler.cancelTask(id);
+        gameTime.time = 10;
+
+        assertFalse(timingWheelTaskScheduler.isTaskInProgress(id));
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+    }
+
+    @Test
+    public void testCancelTask_dueTask_success() {
+        int id = timingWheelTaskScheduler.scheduleSynchronousTask(() -> {});
+
+        timingWheelTaskScheduler.cancelTask(id);
+
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_longDelays_cascadeThroughWheels() {
+        long[] delays = new long[] {63, 64, 4095, 4096, 262_143, 262_144, 16_777_215, 16_777_216, 40_000_000};
+        for (long delay : delays) {
+            timingWheelTaskScheduler.scheduleSynchronousTask(() -> {}, delay);
+        }
+
+        for (long delay : delays) {
+            gameTime.time = delay - 1;
+            assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length, "early at " + delay);
+            gameTime.time = delay;
+            assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length, "missed at " + delay);
+        }
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_randomDelays_runExactlyOnceWhenDue() {
+        Random random = new Random(1234);
+        int taskCount = 5000;
+        long[] dueTimes = new long[taskCount];
+        long[] ranAt = new long[taskCount];
+        Arrays.fill(ranAt, -1);
+
+        for (int x = 0; x < taskCount; x++) {
+            int index = x;
+            long delay = random.nextInt(200_000);
+            dueTimes[x] = delay;
+            timingWheelTaskScheduler.scheduleSynchronousTask(() -> {
+                assertEquals(-1, ranAt[index]);
+                ranAt[index] = gameTime.time;
+            }, delay);
+        }
+
+        long step = 7;
+        for (gameTime.time = 0; gameTime.time < 200_000 + step; gameTime.time += step) {
+            for (Runnable runnable : timingWheelTaskScheduler.getTasksToRunAndUpdate()) {
+                runnable.run();
+            }
+        }
+
+        for (int x = 0; x < taskCount; x++) {
+            assertTrue(ranAt[x] >= dueTimes[x]);
+            assertTrue(ranAt[x] < dueTimes[x] + step);
+        }
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_largeTick_runsWhenDueWithinTick() {
+        timingWheelTaskScheduler = new TimingWheelTaskScheduler(gameTime, systemResourceManager, 10);
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> {}, 15);
+
+        gameTime.time = 14;
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        gameTime.time = 15;
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_largeTickNoDelay_runsOnNextUpdate() {
+        timingWheelTaskScheduler = new TimingWheelTaskScheduler(gameTime, systemResourceManager, 10);
+        gameTime.time = 5;
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+
+        gameTime.time = 13;
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> {});
+
+        assertEquals(1, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+    }
+
+    @Test
+    public void testGetTasksToRunAndUpdate_longPauses_runExactlyWhenFirstUpdatedAfterDue() {
+        timingWheelTaskScheduler = new TimingWheelTaskScheduler(gameTime, systemResourceManager, 4);
+        Random random = new Random(99);
+        int taskCount = 2000;
+        long[] dueTimes = new long[taskCount];
+        long[] ranAt = new long[taskCount];
+        Arrays.fill(ranAt, -1);
+
+        for (int x = 0; x < taskCount; x++) {
+            int index = x;
+            long delay = random.nextInt(30_000_000);
+            dueTimes[x] = delay;
+            timingWheelTaskScheduler.scheduleSynchronousTask(() -> {
+                assertEquals(-1, ranAt[index]);
+                ranAt[index] = gameTime.time;
+            }, delay);
+        }
+
+        long[] updateTimes = new long[200];
+        for (int x = 1; x < updateTimes.length; x++) {
+            // Mostly short frames with the occasional hitch of several seconds
+            updateTimes[x] = updateTimes[x - 1] + (random.nextInt(10) == 0 ? 5_000_000 : random.nextInt(50_000));
+        }
+        for (long updateTime : updateTimes) {
+            gameTime.time = updateTime;
+            for (Runnable runnable : timingWheelTaskScheduler.getTasksToRunAndUpdate()) {
+                runnable.run();
+            }
+        }
+
+        for (int x = 0; x < taskCount; x++) {
+            if (dueTimes[x] > updateTimes[updateTimes.length - 1]) {
+                assertEquals(-1, ranAt[x]);
+                continue;
+            }
+            long dueTime = dueTimes[x];
+            long expected = Arrays.stream(updateTimes).filter(time -> time >= dueTime).findFirst().orElseThrow();
+            assertEquals(expected, ranAt[x], "task due at " + dueTimes[x]);
+        }
+    }
+
+    @Test
+    public void testScheduleAsynchronousTask_workerDone_shouldRunCompleteAndFinish() {
+        Runnable mockRunnableComplete = mock(Runnable.class);
+
+        int id = timingWheelTaskScheduler.scheduleAsynchronousTask(() -> {}, mockRunnableComplete);
+        assertEquals(0, timingWheelTaskScheduler.getTasksToRunAndUpdate().length);
+        verify(mockRunnableComplete, never()).run();
+        assertTrue(timingWheelTaskScheduler.isTaskInProgress(id));
+
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(systemResourceManager).submitTask(captor.capture());
+        captor.getValue().run();
+        for (Runnable runnable : timingWheelTaskScheduler.getTasksToRunAndUpdate()) {
+            runnable.run();
+        }
+        verify(mockRunnableComplete, times(1)).run();
+        assertFalse(timingWheelTaskScheduler.isTaskInProgress(id));
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_runsDueTasks() {
+        int[] runCount = new int[1];
+        int id = timingWheelTaskScheduler.scheduleSynchronousTask(() -> runCount[0]++, 10);
+        timingWheelTaskScheduler.scheduleRepeatingSynchronousTask(() -> runCount[0]++, 5);
+
+        assertEquals(1, timingWheelTaskScheduler.runTasksAndUpdate());
+        gameTime.time = 10;
+        assertEquals(2, timingWheelTaskScheduler.runTasksAndUpdate());
+
+        assertEquals(3, runCount[0]);
+        assertFalse(timingWheelTaskScheduler.isTaskInProgress(id));
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_taskCancelledBySameUpdate_doesNotRun() {
+        int[] ids = new int[2];
+        boolean[] ran = new boolean[2];
+        ids[0] = timingWheelTaskScheduler.scheduleSynchronousTask(() -> {
+            ran[0] = true;
+            timingWheelTaskScheduler.cancelTask(ids[1]);
+        });
+        ids[1] = timingWheelTaskScheduler.scheduleSynchronousTask(() -> {
+            ran[1] = true;
+            timingWheelTaskScheduler.cancelTask(ids[0]);
+        });
+
+        assertEquals(1, timingWheelTaskScheduler.runTasksAndUpdate());
+        assertTrue(ran[0] ^ ran[1]);
+        assertEquals(0, timingWheelTaskScheduler.runTasksAndUpdate());
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_taskThrows_remainingTasksRunNextUpdate() {
+        int[] runCount = new int[1];
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> runCount[0]++);
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> {
+            throw new IllegalStateException();
+        });
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> runCount[0]++);
+
+        assertThrows(IllegalStateException.class, () -> timingWheelTaskScheduler.runTasksAndUpdate());
+        timingWheelTaskScheduler.runTasksAndUpdate();
+
+        assertEquals(2, runCount[0]);
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_steadyState_doesNotAllocate() {
+        int[] runCount = new int[1];
+        Runnable task = () -> runCount[0]++;
+        for (int x = 0; x < 2000; x++) {
+            timingWheelTaskScheduler.scheduleRepeatingSynchronousTask(task, x % 50, x % 300);
+        }
+
+        AllocationAssertions.assertFramesDoNotAllocate(() -> {
+            gameTime.time += 7;
+            timingWheelTaskScheduler.runTasksAndUpdate();
+        }, 20_000);
+        assertTrue(runCount[0] > 0);
+    }
+
+    @Test
+    public void testConstructor_invalidTick_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimingWheelTaskScheduler(gameTime, systemResourceManager, 0));
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_budget_defersRemainingTasksInDueOrder() {
+        StringBuilder order = new StringBuilder();
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> { order.append('c'); gameTime.nanoTime += 10; }, 3);
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> { order.append('a'); gameTime.nanoTime += 10; }, 1);
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> { order.append('b'); gameTime.nanoTime += 10; }, 2);
+        gameTime.time = 5;
+
+        assertEquals(2, timingWheelTaskScheduler.runTasksAndUpdate(15));
+        assertEquals("ab", order.toString());
+        assertEquals(1, timingWheelTaskScheduler.getMetrics().getDeferredTaskCount());
+        assertEquals(2, timingWheelTaskScheduler.getMetrics().getCarryOverLagMillis());
+
+        gameTime.time = 6;
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> order.append('d'));
+        assertEquals(2, timingWheelTaskScheduler.runTasksAndUpdate(100));
+        assertEquals("abcd", order.toString());
+        assertEquals(0, timingWheelTaskScheduler.getMetrics().getDeferredTaskCount());
+        assertEquals(1, timingWheelTaskScheduler.getMetrics().getTotalDeferredTaskCount());
+        assertEquals(2, timingWheelTaskScheduler.getMetrics().getMaxCarryOverLagMillis());
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_budgetExhausted_stillRunsOneTask() {
+        int[] runCount = new int[1];
+        for (int x = 0; x < 3; x++) {
+            timingWheelTaskScheduler.scheduleSynchronousTask(() -> { runCount[0]++; gameTime.nanoTime += 100; });
+        }
+
+        assertEquals(1, timingWheelTaskScheduler.runTasksAndUpdate(0));
+        assertEquals(1, timingWheelTaskScheduler.runTasksAndUpdate(0));
+        assertEquals(1, timingWheelTaskScheduler.runTasksAndUpdate(0));
+        assertEquals(0, timingWheelTaskScheduler.runTasksAndUpdate(0));
+        assertEquals(3, runCount[0]);
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_deferredTaskCancelled_doesNotRun() {
+        boolean[] ran = new boolean[1];
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> gameTime.nanoTime += 100);
+        int id = timingWheelTaskScheduler.scheduleSynchronousTask(() -> ran[0] = true, 1);
+        gameTime.time = 1;
+
+        assertEquals(1, timingWheelTaskScheduler.runTasksAndUpdate(50));
+        timingWheelTaskScheduler.cancelTask(id);
+
+        assertEquals(0, timingWheelTaskScheduler.runTasksAndUpdate(50));
+        assertFalse(ran[0]);
+        assertEquals(0, timingWheelTaskScheduler.getMetrics().getDeferredTaskCount());
+    }
+
+    @Test
+    public void testRunTasksAndUpdate_deferredRepeatingTask_runsOncePerUpdate() {
+        int[] runCount = new int[1];
+        timingWheelTaskScheduler.scheduleSynchronousTask(() -> gameTime.nanoTime += 100);
+        timingWheelTaskScheduler.scheduleRepeatingSynchronousTask(() -> runCount[0]++, 1);
+
+        timingWheelTaskScheduler.runTasksAndUpdate(50);
+        assertEquals(0, runCount[0]);
+        gameTime.time = 10;
+        timingWheelTaskScheduler.runTasksAndUpdate(50);
+
+        assertEquals(1, runCount[0]);
+    }
+}
@@ -0,0 +1,37 @@
+package me.kyledulce.kengine.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteBufferInputStreamTest {
+
+    @Test
+    public void testRead_readsRemainingBytes() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3, (byte) 200});
+        buffer.position(1);
+        ByteBufferInputStream inputStream = new ByteBufferInputStream(buffer);
+
+        assertEquals(3, inputStream.available());
+        assertEquals(2, inputStream.read());
+        byte[] rest = new byte[4];
+        assertEquals(2, inputStream.read(rest, 0, 4));
+        assertEquals(3, rest[0]);
+        assertEquals(200, rest[1] & 0xFF);
+        assertEquals(-1, inputStream.read());
+        assertEquals(-1, inputStream.read(rest, 0, 4));
+    }
+
+    @Test
+    public void testRead_doesNotMoveBufferPosition() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3});
+
+        ByteBufferInputStream inputStream = new ByteBufferInputStream(buffer);
+        assertEquals(3, inputStream.skip(10));
+        assertEquals(-1, inputStream.read());
+
+        assertEquals(0, buffer.position());
+    }
+}
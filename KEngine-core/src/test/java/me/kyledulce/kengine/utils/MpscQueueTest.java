@@ -0,0 +1,92 @@
+package me.kyledulce.kengine.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscQueueTest {
+
+    MpscQueue<Integer> queue;
+
+    @BeforeEach
+    public void beforeEach() {
+        queue = new MpscQueue<>();
+    }
+
+    @Test
+    public void testPoll_empty_returnsNull() {
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPoll_returnsInOfferOrder() {
+        queue.offer(1);
+        queue.offer(2);
+        queue.offer(3);
+
+        assertFalse(queue.isEmpty());
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testOffer_null_throws() {
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    public void testOffer_manyProducers_consumerReceivesAllInProducerOrder() throws InterruptedException {
+        int producerCount = 4;
+        int valuesPerProducer = 100_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+
+        for (int producer = 0; producer < producerCount; producer++) {
+            int base = producer * valuesPerProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int x = 0; x < valuesPerProducer; x++) {
+                    queue.offer(base + x);
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+
+        int[] lastValue = new int[producerCount];
+        Arrays.fill(lastValue, -1);
+        int received = 0;
+        while (received < producerCount * valuesPerProducer) {
+            Integer value = queue.poll();
+            if (value == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int producer = value / valuesPerProducer;
+            int offset = value % valuesPerProducer;
+            assertEquals(lastValue[producer] + 1, offset);
+            lastValue[producer] = offset;
+            received++;
+        }
+
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -34,4 +34,16 @@ public class PathUtilsTest {
 
         assertEquals(expectedPath, actual);
     }
+
+    @Test
+    public void testNormalizeResourcePath_normalizedPath_returnsSameInstance() {
+        String path = "somePath/OtherPath/Somefile.txt";
+
+        assertSame(path, PathUtils.normalizeResourcePath(path));
+    }
+
+    @Test
+    public void testNormalizeResourcePath_onlyRemovesFirstLeadingSlash() {
+        assertEquals("/somePath/Somefile.txt", PathUtils.normalizeResourcePath("\\\\somePath\\Somefile.txt"));
+    }
 }
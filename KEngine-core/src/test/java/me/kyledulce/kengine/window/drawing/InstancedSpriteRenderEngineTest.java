@@ -0,0 +1,136 @@
+package me.kyledulce.kengine.window.drawing;
+
+import me.kyledulce.kengine.types.Color;
+import me.kyledulce.kengine.types.Vector2;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend.DrawCall;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.shader.ShaderPrograms;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstancedSpriteRenderEngineTest {
+
+    private RecordingGlBackend glBackend;
+    private TextureResidencyManager residencyManager;
+    private TextureAtlas textureAtlas;
+    private InstancedSpriteRenderEngine renderEngine;
+    private ShaderProgram shaders;
+
+    @BeforeEach
+    public void beforeEach() {
+        glBackend = new RecordingGlBackend();
+        residencyManager = new TextureResidencyManager(glBackend, 0);
+        textureAtlas = new TextureAtlas(residencyManager, 64, 1);
+        renderEngine = new InstancedSpriteRenderEngine(glBackend, residencyManager, textureAtlas);
+        shaders = ShaderPrograms.linked(7);
+    }
+
+    @Test
+    public void testDraw_sameState_drawsInstancesOnce() {
+        TextureAsset texture = createTexture(4, 4);
+
+        renderEngine.begin();
+        for (int x = 0; x < 1000; x++) {
+            renderEngine.draw(new Sprite2D(texture, shaders));
+        }
+        renderEngine.end();
+
+        List<DrawCall> drawCalls = glBackend.getDrawCalls();
+        assertEquals(1, drawCalls.size());
+        assertEquals(6, drawCalls.get(0).count());
+        assertEquals(1000, drawCalls.get(0).instanceCount());
+        assertEquals(1000L * InstancedSpriteRenderEngine.INSTANCE_BYTES, renderEngine.getUploadedByteCount());
+    }
+
+    @Test
+    public void testDraw_textureChangesAndFullBatches_flush() {
+        renderEngine = new InstancedSpriteRenderEngine(glBackend, residencyManager, textureAtlas, 10);
+        TextureAsset first = createTexture(4, 4);
+        TextureAsset second = createTexture(4, 4);
+
+        renderEngine.begin();
+        for (int x = 0; x < 15; x++) {
+            renderEngine.draw(new Sprite2D(first, shaders));
+        }
+        renderEngine.draw(new Sprite2D(second, shaders));
+        renderEngine.end();
+
+        assertEquals(List.of(10, 5, 1), glBackend.getDrawCalls().stream().map(DrawCall::instanceCount).toList());
+        assertEquals(second.getId(), glBackend.getDrawCalls().get(2).texture());
+    }
+
+    @Test
+    public void testDraw_writesCompactInstanceRecord() {
+        TextureAsset texture = createTexture(8, 8);
+        TextureAsset packed = createTexture(16, 8);
+        textureAtlas.add(texture);
+        textureAtlas.add(packed);
+        Sprite2D sprite = new Sprite2D(packed, shaders);
+        sprite.setLocation(new Vector2(10, -20));
+        sprite.setRotation(Vector2.UP);
+        sprite.setScale(new Vector2(2, 0.5f));
+        sprite.setShaderColor(new Color(255, 128, 0, 64));
+
+        renderEngine.begin();
+        renderEngine.draw(sprite);
+        renderEngine.end();
+
+        ByteBuffer instance = glBackend.getDrawCalls().get(0).vertices().order(ByteOrder.nativeOrder());
+        assertEquals(10, instance.getFloat(0));
+        assertEquals(-20, instance.getFloat(4));
+        assertEquals(0, instance.getShort(8));
+        assertEquals(Short.MAX_VALUE, instance.getShort(10));
+        assertEquals(32, Float.float16ToFloat(instance.getShort(12)));
+        assertEquals(4, Float.float16ToFloat(instance.getShort(14)));
+        // Second texture is packed right of the first and its padding, at x 9 of the 64 pixel page
+        assertEquals(9 / 64f, (instance.getShort(16) & 0xFFFF) / 65535f, 1e-4f);
+        assertEquals(0, instance.getShort(18));
+        assertEquals(25 / 64f, (instance.getShort(20) & 0xFFFF) / 65535f, 1e-4f);
+        assertEquals(8 / 64f, (instance.getShort(22) & 0xFFFF) / 65535f, 1e-4f);
+        assertEquals((byte) 255, instance.get(24));
+        assertEquals((byte) 128, instance.get(25));
+        assertEquals((byte) 0, instance.get(26));
+        assertEquals((byte) 64, instance.get(27));
+    }
+
+    @Test
+    public void testBegin_setsInstanceDivisors() {
+        renderEngine.begin();
+
+        for (int attribute = 3; attribute <= 7; attribute++) {
+            assertTrue(glBackend.getCalls().contains("vertexAttribDivisor " + attribute + " 1"));
+        }
+        assertFalse(glBackend.getCalls().stream().anyMatch(call -> call.startsWith("vertexAttribDivisor 0")));
+    }
+
+    @Test
+    public void testUploadedBytes_lessThanVertexBatching() {
+        SpriteBatchRenderEngine batchRenderEngine = new SpriteBatchRenderEngine(glBackend, residencyManager, textureAtlas);
+        TextureAsset texture = createTexture(4, 4);
+
+        for (RenderEngine engine : List.of(renderEngine, batchRenderEngine)) {
+            engine.begin();
+            for (int x = 0; x < 100; x++) {
+                engine.draw(new Sprite2D(texture, shaders));
+            }
+            engine.end();
+        }
+
+        assertEquals(2800, renderEngine.getUploadedByteCount());
+        assertEquals(8000, batchRenderEngine.getUploadedByteCount());
+    }
+
+    private static TextureAsset createTexture(int width, int height) {
+        return new TextureAsset(ByteBuffer.allocateDirect(width * height * 4), height, width);
+    }
+}
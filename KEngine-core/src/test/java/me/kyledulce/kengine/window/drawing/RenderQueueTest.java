@@ -0,0 +1,287 @@
+package me.kyledulce.kengine.window.drawing;
+
+import me.kyledulce.kengine.scheduler.AllocationAssertions;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.shader.ShaderPrograms;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RenderQueueTest {
+
+    private RecordingGlBackend glBackend;
+    private TextureResidencyManager residencyManager;
+    private TextureAtlas textureAtlas;
+    private SpriteBatchRenderEngine renderEngine;
+    private RenderQueue renderQueue;
+    private ShaderProgram shaders;
+
+    @BeforeEach
+    public void beforeEach() {
+        glBackend = new RecordingGlBackend();
+        residencyManager = new TextureResidencyManager(glBackend, 0);
+        textureAtlas = new TextureAtlas(residencyManager, 64, 1);
+        renderEngine = new SpriteBatchRenderEngine(glBackend, residencyManager, textureAtlas);
+        renderQueue = new RenderQueue(renderEngine, textureAtlas);
+        shaders = ShaderPrograms.linked(7);
+    }
+
+    @Test
+    public void testDraw_alternatingTextures_groupsByTexture() {
+        TextureAsset first = createTexture(4, 4);
+        TextureAsset second = createTexture(4, 4);
+
+        for (int x = 0; x < 100; x++) {
+            renderQueue.submit(new Sprite2D(x % 2 == 0 ? first : second, shaders));
+        }
+        renderQueue.draw();
+
+        assertEquals(2, renderEngine.getDrawCallCount());
+        assertEquals(100, renderEngine.getSpriteCount());
+        assertEquals(0, renderQueue.getSize());
+    }
+
+    @Test
+    public void testDraw_alternatingBlendModes_groupsByBlendMode() {
+        TextureAsset texture = createTexture(4, 4);
+
+        for (int x = 0; x < 10; x++) {
+            Sprite2D sprite = new Sprite2D(texture, shaders);
+            sprite.setBlendMode(x % 2 == 0 ? BlendMode.ALPHA : BlendMode.ADDITIVE);
+            renderQueue.submit(sprite);
+        }
+        renderQueue.draw();
+
+        assertEquals(2, renderEngine.getDrawCallCount());
+    }
+
+    @Test
+    public void testSort_layers_keepsLayerOrder() {
+        TextureAsset first = createTexture(4, 4);
+        TextureAsset second = createTexture(4, 4);
+        Sprite2D top = new Sprite2D(first, shaders);
+        Sprite2D bottom = new Sprite2D(second, shaders);
+        Sprite2D middle = new Sprite2D(first, shaders);
+
+        renderQueue.submit(top, 5, 0);
+        renderQueue.submit(bottom, -3, 0);
+        renderQueue.submit(middle, 0, 0);
+        renderQueue.sort();
+
+        assertSame(bottom, renderQueue.getSorted(0));
+        assertSame(middle, renderQueue.getSorted(1));
+        assertSame(top, renderQueue.getSorted(2));
+    }
+
+    @Test
+    public void testSort_depths_drawsLowerDepthFirstWithinLayer() {
+        TextureAsset texture = createTexture(4, 4);
+        Sprite2D far = new Sprite2D(texture, shaders);
+        Sprite2D negative = new Sprite2D(texture, shaders);
+        Sprite2D near = new Sprite2D(texture, shaders);
+        Sprite2D otherLayer = new Sprite2D(texture, shaders);
+
+        renderQueue.submit(otherLayer, 1, -100);
+        renderQueue.submit(near, 0, 2.5f);
+        renderQueue.submit(far, 0, 0.5f);
+        renderQueue.submit(negative, 0, -1);
+        renderQueue.sort();
+
+        assertSame(negative, renderQueue.getSorted(0));
+        assertSame(far, renderQueue.getSorted(1));
+        assertSame(near, renderQueue.getSorted(2));
+        assertSame(otherLayer, renderQueue.getSorted(3));
+    }
+
+    @Test
+    public void testSort_equalKeys_keepsSubmissionOrder() {
+        TextureAsset texture = createTexture(4, 4);
+        Sprite2D[] sprites = new Sprite2D[50];
+        for (int x = 0; x < sprites.length; x++) {
+            sprites[x] = new Sprite2D(texture, shaders);
+            renderQueue.submit(sprites[x], 2, 1);
+        }
+        renderQueue.sort();
+
+        for (int x = 0; x < sprites.length; x++) {
+            assertSame(sprites[x], renderQueue.getSorted(x));
+        }
+    }
+
+    @Test
+    public void testSort_atlasedTextures_sortTogether() {
+        TextureAsset firstPacked = createTexture(4, 4);
+        TextureAsset secondPacked = createTexture(4, 4);
+        TextureAsset unpacked = createTexture(4, 4);
+        textureAtlas.add(firstPacked);
+        textureAtlas.add(secondPacked);
+
+        assertEquals(renderQueue.computeKey(new Sprite2D(firstPacked, shaders), 0, 0),
+                renderQueue.computeKey(new Sprite2D(secondPacked, shaders), 0, 0));
+        assertNotEquals(renderQueue.computeKey(new Sprite2D(firstPacked, shaders), 0, 0),
+                renderQueue.computeKey(new Sprite2D(unpacked, shaders), 0, 0));
+    }
+
+    @Test
+    public void testSort_distinctTexturesSameLayerAndDepth_grouped() {
+        TextureAsset[] textures = {createTexture(4, 4), createTexture(4, 4), createTexture(4, 4)};
+        for (int x = 0; x < 30; x++) {
+            renderQueue.submit(new Sprite2D(textures[x % textures.length], shaders), 1, 0.5f);
+        }
+        renderQueue.sort();
+
+        // Each texture forms one run, in the order the textures were first drawn
+        for (int x = 0; x < 30; x++) {
+            assertSame(textures[x / 10], renderQueue.getSorted(x).getTexture());
+        }
+    }
+
+    @Test
+    public void testComputeKey_programIdsBeyondTwelveBits_notTruncated() {
+        TextureAsset texture = createTexture(4, 4);
+        ShaderProgram first = ShaderPrograms.linked(1);
+        ShaderProgram second = ShaderPrograms.linked(1 + 0x1000);
+
+        assertNotEquals(renderQueue.computeKey(new Sprite2D(texture, first), 0, 0),
+                renderQueue.computeKey(new Sprite2D(texture, second), 0, 0));
+    }
+
+    @Test
+    public void testSubmit_layerOutOfRange_clamped() {
+        TextureAsset texture = createTexture(4, 4);
+        Sprite2D sprite = new Sprite2D(texture, shaders);
+
+        assertEquals(renderQueue.computeKey(sprite, RenderQueue.MAX_LAYER, 0), renderQueue.computeKey(sprite, 1000, 0));
+        assertEquals(renderQueue.computeKey(sprite, RenderQueue.MIN_LAYER, 0), renderQueue.computeKey(sprite, -1000, 0));
+    }
+
+    @Test
+    public void testDraw_repeatedFrames_reusesArrays() {
+        TextureAsset texture = createTexture(4, 4);
+
+        for (int x = 0; x < 3000; x++) {
+            renderQueue.submit(new Sprite2D(texture, shaders));
+        }
+        renderQueue.draw();
+        int capacity = renderQueue.getCapacity();
+
+        for (int frame = 0; frame < 5; frame++) {
+            for (int x = 0; x < 3000; x++) {
+                renderQueue.submit(new Sprite2D(texture, shaders));
+            }
+            renderQueue.draw();
+            assertEquals(3000, renderEngine.getSpriteCount());
+        }
+        assertEquals(capacity, renderQueue.getCapacity());
+    }
+
+    @Test
+    public void testSubmitAndDraw_repeatedFrames_doNotAllocate() {
+        RenderQueue queue = new RenderQueue(new NoOpRenderEngine(), textureAtlas);
+        TextureAsset packed = createTexture(4, 4);
+        textureAtlas.add(packed);
+        Sprite2D[] sprites = new Sprite2D[2000];
+        for (int x = 0; x < sprites.length; x++) {
+            Sprite2D sprite = new Sprite2D(x % 2 == 0 ? packed : createTexture(4, 4), shaders);
+            sprite.setBlendMode(x % 3 == 0 ? BlendMode.ADDITIVE : BlendMode.ALPHA);
+            sprites[x] = sprite;
+        }
+
+        AllocationAssertions.assertFramesDoNotAllocate(() -> {
+            for (int x = 0; x < sprites.length; x++) {
+                queue.submit(sprites[x], x % 4, x * 0.25f);
+            }
+            queue.draw();
+        }, 10);
+    }
+
+    @Test
+    public void testDraw_drawsThroughRenderEngineInOneFrame() {
+        RenderEngine mockEngine = mock(RenderEngine.class);
+        RenderQueue queue = new RenderQueue(mockEngine, textureAtlas);
+        Sprite2D sprite = new Sprite2D(createTexture(4, 4), shaders);
+
+        queue.submit(sprite);
+        queue.draw();
+
+        var inOrder = inOrder(mockEngine);
+        inOrder.verify(mockEngine).begin();
+        inOrder.verify(mockEngine).draw(sprite);
+        inOrder.verify(mockEngine).end();
+    }
+
+    @Test
+    public void testClear_dropsSubmittedSprites() {
+        RenderEngine mockEngine = mock(RenderEngine.class);
+        RenderQueue queue = new RenderQueue(mockEngine, textureAtlas);
+
+        queue.submit(new Sprite2D(createTexture(4, 4), shaders));
+        queue.clear();
+        queue.draw();
+
+        verify(mockEngine, never()).draw(any());
+    }
+
+    @Test
+    public void testRadixSort_randomKeys_matchesStableSort() {
+        Random random = new Random(3);
+        int length = 5000;
+        long[] keys = new long[length];
+        int[] indices = new int[length];
+        List<long[]> expected = new ArrayList<>();
+        for (int x = 0; x < length; x++) {
+            // Few distinct keys, including negative ones, so ties and the sign bit are both covered
+            keys[x] = random.nextInt(256) * 0x0101010101010101L;
+            indices[x] = x;
+            expected.add(new long[]{keys[x], x});
+        }
+        expected.sort((a, b) -> Long.compareUnsigned(a[0], b[0]));
+
+        RenderQueue.radixSort(keys, indices, new long[length], new int[length], new int[256], length);
+
+        for (int x = 0; x < length; x++) {
+            assertEquals(expected.get(x)[0], keys[x]);
+            assertEquals(expected.get(x)[1], indices[x]);
+        }
+    }
+
+    @Test
+    public void testRadixSort_sharedBytes_sorted() {
+        long[] keys = {0x3000L, 0x1000L, 0x2000L};
+        int[] indices = {0, 1, 2};
+
+        RenderQueue.radixSort(keys, indices, new long[3], new int[3], new int[256], 3);
+
+        assertArrayEquals(new long[]{0x1000L, 0x2000L, 0x3000L}, keys);
+        assertArrayEquals(new int[]{1, 2, 0}, indices);
+    }
+
+    private static class NoOpRenderEngine implements RenderEngine {
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void draw(Sprite2D sprite) {
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+
+    private static TextureAsset createTexture(int width, int height) {
+        return new TextureAsset(ByteBuffer.allocateDirect(width * height * 4), height, width);
+    }
+}
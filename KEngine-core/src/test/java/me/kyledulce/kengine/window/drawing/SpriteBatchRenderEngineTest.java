@@ -0,0 +1,216 @@
+package me.kyledulce.kengine.window.drawing;
+
+import me.kyledulce.kengine.types.Color;
+import me.kyledulce.kengine.types.Vector2;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend.DrawCall;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.shader.ShaderPrograms;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.opengl.GL11;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpriteBatchRenderEngineTest {
+
+    private RecordingGlBackend glBackend;
+    private TextureResidencyManager residencyManager;
+    private TextureAtlas textureAtlas;
+    private SpriteBatchRenderEngine renderEngine;
+    private ShaderProgram shaders;
+
+    @BeforeEach
+    public void beforeEach() {
+        glBackend = new RecordingGlBackend();
+        residencyManager = new TextureResidencyManager(glBackend, 0);
+        textureAtlas = new TextureAtlas(residencyManager, 64, 1);
+        renderEngine = new SpriteBatchRenderEngine(glBackend, residencyManager, textureAtlas);
+        shaders = createProgram(7);
+    }
+
+    @Test
+    public void testDraw_sameState_drawsOnce() {
+        TextureAsset texture = createTexture(4, 4);
+
+        renderEngine.begin();
+        for (int x = 0; x < 1000; x++) {
+            renderEngine.draw(new Sprite2D(texture, shaders));
+        }
+        renderEngine.end();
+
+        assertEquals(1, glBackend.getDrawCalls().size());
+        assertEquals(6000, glBackend.getDrawCalls().get(0).count());
+        assertEquals(1, renderEngine.getDrawCallCount());
+        assertEquals(1000, renderEngine.getSpriteCount());
+        assertEquals(1, glBackend.countCalls("texImage2D"));
+    }
+
+    @Test
+    public void testDraw_textureChanges_flushesPerChange() {
+        TextureAsset first = createTexture(4, 4);
+        TextureAsset second = createTexture(4, 4);
+
+        renderEngine.begin();
+        renderEngine.draw(new Sprite2D(first, shaders));
+        renderEngine.draw(new Sprite2D(first, shaders));
+        renderEngine.draw(new Sprite2D(second, shaders));
+        renderEngine.draw(new Sprite2D(first, shaders));
+        renderEngine.end();
+
+        List<DrawCall> drawCalls = glBackend.getDrawCalls();
+        assertEquals(3, drawCalls.size());
+        assertEquals(List.of(12, 6, 6), drawCalls.stream().map(DrawCall::count).toList());
+        assertEquals(first.getId(), drawCalls.get(0).texture());
+        assertEquals(second.getId(), drawCalls.get(1).texture());
+        assertEquals(first.getId(), drawCalls.get(2).texture());
+    }
+
+    @Test
+    public void testDraw_atlasedTextures_shareBatch() {
+        TextureAsset first = createTexture(4, 4);
+        TextureAsset second = createTexture(8, 2);
+        textureAtlas.add(first);
+        textureAtlas.add(second);
+
+        renderEngine.begin();
+        for (int x = 0; x < 10; x++) {
+            renderEngine.draw(new Sprite2D(x % 2 == 0 ? first : second, shaders));
+        }
+        renderEngine.end();
+
+        assertEquals(1, glBackend.getDrawCalls().size());
+        assertEquals(textureAtlas.getPages().get(0).getId(), glBackend.getDrawCalls().get(0).texture());
+        assertEquals(0, first.getId());
+    }
+
+    @Test
+    public void testDraw_shaderAndBlendChanges_flushWithTheirState() {
+        TextureAsset texture = createTexture(4, 4);
+        ShaderProgram otherShaders = createProgram(9);
+        Sprite2D additive = new Sprite2D(texture, shaders);
+        additive.setBlendMode(BlendMode.ADDITIVE);
+        Sprite2D opaque = new Sprite2D(texture, otherShaders);
+        opaque.setBlendMode(BlendMode.OPAQUE);
+
+        renderEngine.begin();
+        renderEngine.draw(new Sprite2D(texture, shaders));
+        renderEngine.draw(additive);
+        renderEngine.draw(opaque);
+        renderEngine.end();
+
+        List<DrawCall> drawCalls = glBackend.getDrawCalls();
+        assertEquals(3, drawCalls.size());
+        assertEquals(7, drawCalls.get(0).program());
+        assertTrue(drawCalls.get(0).blend());
+        assertEquals(GL11.GL_ONE_MINUS_SRC_ALPHA, drawCalls.get(0).blendDestinationFactor());
+        assertEquals(GL11.GL_ONE, drawCalls.get(1).blendDestinationFactor());
+        assertEquals(9, drawCalls.get(2).program());
+        assertFalse(drawCalls.get(2).blend());
+        assertEquals(2, glBackend.countCalls("useProgram"));
+    }
+
+    @Test
+    public void testDraw_batchFull_flushes() {
+        renderEngine = new SpriteBatchRenderEngine(glBackend, residencyManager, textureAtlas, 10);
+        TextureAsset texture = createTexture(4, 4);
+
+        renderEngine.begin();
+        for (int x = 0; x < 25; x++) {
+            renderEngine.draw(new Sprite2D(texture, shaders));
+        }
+        renderEngine.end();
+
+        assertEquals(List.of(60, 60, 30), glBackend.getDrawCalls().stream().map(DrawCall::count).toList());
+    }
+
+    @Test
+    public void testDraw_writesCornersUvsAndColor() {
+        Sprite2D sprite = new Sprite2D(createTexture(4, 2), shaders);
+        sprite.setLocation(new Vector2(10, 20));
+        sprite.setScale(new Vector2(2, 1));
+        sprite.setShaderColor(new Color(255, 128, 0, 64));
+
+        renderEngine.begin();
+        renderEngine.draw(sprite);
+        renderEngine.end();
+
+        ByteBuffer vertices = glBackend.getDrawCalls().get(0).vertices().order(ByteOrder.nativeOrder());
+        float[][] expected = {
+                {6, 21, 0, 0},
+                {14, 21, 1, 0},
+                {14, 19, 1, 1},
+                {6, 19, 0, 1}
+        };
+        for (int vertex = 0; vertex < 4; vertex++) {
+            int offset = vertex * SpriteBatchRenderEngine.VERTEX_BYTES;
+            for (int component = 0; component < 4; component++) {
+                assertEquals(expected[vertex][component], vertices.getFloat(offset + component * Float.BYTES), 1e-5f);
+            }
+            assertEquals((byte) 255, vertices.get(offset + 16));
+            assertEquals((byte) 128, vertices.get(offset + 17));
+            assertEquals((byte) 0, vertices.get(offset + 18));
+            assertEquals((byte) 64, vertices.get(offset + 19));
+        }
+    }
+
+    @Test
+    public void testDraw_rotated_rotatesCornersAroundLocation() {
+        Sprite2D sprite = new Sprite2D(createTexture(4, 2), shaders);
+        sprite.setRotation(Vector2.UP);
+
+        renderEngine.begin();
+        renderEngine.draw(sprite);
+        renderEngine.end();
+
+        ByteBuffer vertices = glBackend.getDrawCalls().get(0).vertices().order(ByteOrder.nativeOrder());
+        // Top left corner (-2, 1) turned a quarter counter clockwise
+        assertEquals(-1, vertices.getFloat(0), 1e-5f);
+        assertEquals(-2, vertices.getFloat(4), 1e-5f);
+    }
+
+    @Test
+    public void testDraw_missingTextureOrProgram_skipped() {
+        renderEngine.begin();
+        renderEngine.draw(new Sprite2D(null, shaders));
+        renderEngine.draw(new Sprite2D(createTexture(4, 4), createProgram(0)));
+        renderEngine.end();
+
+        assertTrue(glBackend.getDrawCalls().isEmpty());
+        assertEquals(0, renderEngine.getSpriteCount());
+    }
+
+    @Test
+    public void testBegin_createsBuffersOnceAndResetsCounts() {
+        TextureAsset texture = createTexture(4, 4);
+        for (int frame = 0; frame < 3; frame++) {
+            renderEngine.begin();
+            renderEngine.draw(new Sprite2D(texture, shaders));
+            renderEngine.end();
+        }
+
+        assertEquals(1, glBackend.countCalls("genVertexArray"));
+        assertEquals(2, glBackend.countCalls("genBuffer"));
+        assertEquals(1, renderEngine.getDrawCallCount());
+        assertEquals(1, renderEngine.getSpriteCount());
+
+        renderEngine.delete();
+        assertTrue(glBackend.getLiveBuffers().isEmpty());
+        assertTrue(glBackend.getLiveVertexArrays().isEmpty());
+    }
+
+    private static ShaderProgram createProgram(int programId) {
+        return ShaderPrograms.linked(programId);
+    }
+
+    private static TextureAsset createTexture(int width, int height) {
+        return new TextureAsset(ByteBuffer.allocateDirect(width * height * 4), height, width);
+    }
+}
@@ -0,0 +1,200 @@
+package me.kyledulce.kengine.window.drawing;
+
+import me.kyledulce.kengine.types.Color;
+import me.kyledulce.kengine.types.Vector2;
+import me.kyledulce.kengine.window.drawing.gl.GlBackend;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.shader.ShaderPrograms;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building and streaming a frame of 50k sprites with the vertex batching and instanced render engines,
+ * against a GL backend that does nothing. The bytes streamed per frame are printed after each fork
+ * Run with {@link #main(String[])} from the test classpath
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteRenderEngineBenchmark {
+
+    private static final int SPRITES = 50_000;
+
+    @Param({"BATCHED", "INSTANCED"})
+    private RenderMode renderMode;
+
+    private AbstractSpriteRenderEngine renderEngine;
+    private Sprite2D[] sprites;
+
+    @Setup
+    public void setup() {
+        GlBackend glBackend = new NoOpGlBackend();
+        TextureResidencyManager residencyManager = new TextureResidencyManager(glBackend, 0);
+        TextureAtlas textureAtlas = new TextureAtlas(residencyManager, 256, 1);
+        renderEngine = switch (renderMode) {
+            case BATCHED -> new SpriteBatchRenderEngine(glBackend, residencyManager, textureAtlas);
+            case INSTANCED -> new InstancedSpriteRenderEngine(glBackend, residencyManager, textureAtlas);
+        };
+
+        // Particles from a few atlased images, which all share a batch
+        TextureAsset[] textures = new TextureAsset[4];
+        for (int x = 0; x < textures.length; x++) {
+            textures[x] = new TextureAsset(ByteBuffer.allocateDirect(16 * 16 * 4), 16, 16);
+            textureAtlas.add(textures[x]);
+        }
+        ShaderProgram shaders = ShaderPrograms.linked(1);
+
+        Random random = new Random(0);
+        sprites = new Sprite2D[SPRITES];
+        for (int x = 0; x < SPRITES; x++) {
+            Sprite2D sprite = new Sprite2D(textures[x % textures.length], shaders);
+            sprite.setLocation(new Vector2(random.nextFloat() * 1920, random.nextFloat() * 1080));
+            sprite.setRotation(new Vector2(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f));
+            sprite.setScale(new Vector2(0.5f + random.nextFloat(), 0.5f + random.nextFloat()));
+            sprite.setShaderColor(new Color(random.nextInt()));
+            sprites[x] = sprite;
+        }
+    }
+
+    @TearDown
+    public void printUploadedBytes() {
+        System.out.printf("%n%s: %d bytes streamed per frame in %d draws%n",
+                renderMode, renderEngine.getUploadedByteCount(), renderEngine.getDrawCallCount());
+    }
+
+    @Benchmark
+    public long frame() {
+        renderEngine.begin();
+        for (Sprite2D sprite : sprites) {
+            renderEngine.draw(sprite);
+        }
+        renderEngine.end();
+        return renderEngine.getUploadedByteCount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SpriteRenderEngineBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private static class NoOpGlBackend implements GlBackend {
+        private int nextId = 1;
+
+        @Override
+        public int genTexture() {
+            return nextId++;
+        }
+
+        @Override
+        public void deleteTexture(int textureId) {
+        }
+
+        @Override
+        public void activeTexture(int unit) {
+        }
+
+        @Override
+        public void bindTexture2D(int textureId) {
+        }
+
+        @Override
+        public void texParameter2D(int parameter, int value) {
+        }
+
+        @Override
+        public void texImage2D(int width, int height, ByteBuffer pixels) {
+        }
+
+        @Override
+        public void texSubImage2D(int x, int y, int width, int height, ByteBuffer pixels) {
+        }
+
+        @Override
+        public int genBuffer() {
+            return nextId++;
+        }
+
+        @Override
+        public void deleteBuffer(int bufferId) {
+        }
+
+        @Override
+        public void bindBuffer(int target, int bufferId) {
+        }
+
+        @Override
+        public void bufferData(int target, long size, int usage) {
+        }
+
+        @Override
+        public void bufferData(int target, ByteBuffer data, int usage) {
+        }
+
+        @Override
+        public void bufferSubData(int target, long offset, ByteBuffer data) {
+        }
+
+        @Override
+        public int genVertexArray() {
+            return nextId++;
+        }
+
+        @Override
+        public void deleteVertexArray(int vertexArrayId) {
+        }
+
+        @Override
+        public void bindVertexArray(int vertexArrayId) {
+        }
+
+        @Override
+        public void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long offset) {
+        }
+
+        @Override
+        public void enableVertexAttribArray(int index) {
+        }
+
+        @Override
+        public void vertexAttribDivisor(int index, int divisor) {
+        }
+
+        @Override
+        public void useProgram(int programId) {
+        }
+
+        @Override
+        public void enable(int capability) {
+        }
+
+        @Override
+        public void disable(int capability) {
+        }
+
+        @Override
+        public void blendFunc(int sourceFactor, int destinationFactor) {
+        }
+
+        @Override
+        public void drawElements(int mode, int count, int type, long offset) {
+        }
+
+        @Override
+        public void drawElementsInstanced(int mode, int count, int type, long offset, int instanceCount) {
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package me.kyledulce.kengine.window.drawing.gl;
+
+import me.kyledulce.kengine.window.drawing.Sprite2D;
+import me.kyledulce.kengine.window.drawing.SpriteBatchRenderEngine;
+import me.kyledulce.kengine.window.drawing.shader.ShaderProgram;
+import me.kyledulce.kengine.window.drawing.shader.ShaderPrograms;
+import me.kyledulce.kengine.window.drawing.texture.TextureAsset;
+import me.kyledulce.kengine.window.drawing.texture.TextureAtlas;
+import me.kyledulce.kengine.window.drawing.texture.TextureResidencyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingGlBackendTest {
+
+    private RecordingGlBackend recordingGlBackend;
+    private CachingGlBackend glBackend;
+
+    @BeforeEach
+    public void beforeEach() {
+        recordingGlBackend = new RecordingGlBackend();
+        glBackend = new CachingGlBackend(recordingGlBackend);
+    }
+
+    @Test
+    public void testUseProgram_sameProgram_elided() {
+        glBackend.useProgram(3);
+        glBackend.useProgram(3);
+        glBackend.useProgram(4);
+        glBackend.useProgram(4);
+
+        assertEquals(2, recordingGlBackend.countCalls("useProgram"));
+        assertEquals(2, glBackend.getIssuedCallCount());
+        assertEquals(2, glBackend.getElidedCallCount());
+    }
+
+    @Test
+    public void testUseProgram_firstCall_issuedEvenIfZero() {
+        glBackend.useProgram(0);
+
+        assertEquals(1, recordingGlBackend.countCalls("useProgram 0"));
+    }
+
+    @Test
+    public void testBindTexture2D_tracksEachUnit() {
+        int first = glBackend.genTexture();
+        int second = glBackend.genTexture();
+
+        glBackend.activeTexture(0);
+        glBackend.bindTexture2D(first);
+        glBackend.activeTexture(1);
+        glBackend.bindTexture2D(second);
+        glBackend.activeTexture(0);
+        glBackend.bindTexture2D(first);
+        glBackend.activeTexture(0);
+
+        assertEquals(3, recordingGlBackend.countCalls("activeTexture"));
+        assertEquals(2, recordingGlBackend.countCalls("bindTexture2D"));
+        assertEquals(2, glBackend.getElidedCallCount());
+    }
+
+    @Test
+    public void testDeleteTexture_boundTexture_nextBindIssued() {
+        int texture = glBackend.genTexture();
+        glBackend.activeTexture(0);
+        glBackend.bindTexture2D(texture);
+
+        glBackend.deleteTexture(texture);
+        glBackend.bindTexture2D(0);
+        int reused = glBackend.genTexture();
+        glBackend.bindTexture2D(reused);
+
+        // Unbinding after the delete is already the state GL is in
+        assertEquals(2, recordingGlBackend.countCalls("bindTexture2D"));
+        assertEquals(reused, recordingGlBackend.getBoundTexture());
+    }
+
+    @Test
+    public void testBindBuffer_arrayBufferCached_elementBufferAlwaysBound() {
+        int buffer = glBackend.genBuffer();
+
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, buffer);
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, buffer);
+        glBackend.bindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, buffer);
+        glBackend.bindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, buffer);
+
+        assertEquals(1, recordingGlBackend.countCalls("bindBuffer " + GL15.GL_ARRAY_BUFFER));
+        assertEquals(2, recordingGlBackend.countCalls("bindBuffer " + GL15.GL_ELEMENT_ARRAY_BUFFER));
+    }
+
+    @Test
+    public void testDeleteBufferAndVertexArray_boundObjects_nextBindIssued() {
+        int buffer = glBackend.genBuffer();
+        int vertexArray = glBackend.genVertexArray();
+        glBackend.bindVertexArray(vertexArray);
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, buffer);
+
+        glBackend.deleteBuffer(buffer);
+        glBackend.deleteVertexArray(vertexArray);
+        int newBuffer = glBackend.genBuffer();
+        int newVertexArray = glBackend.genVertexArray();
+        glBackend.bindVertexArray(newVertexArray);
+        glBackend.bindBuffer(GL15.GL_ARRAY_BUFFER, newBuffer);
+
+        assertEquals(2, recordingGlBackend.countCalls("bindVertexArray"));
+        assertEquals(2, recordingGlBackend.countCalls("bindBuffer"));
+    }
+
+    @Test
+    public void testCapabilitiesAndBlendFunc_repeatedState_elided() {
+        glBackend.enable(GL11.GL_BLEND);
+        glBackend.enable(GL11.GL_BLEND);
+        glBackend.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+        glBackend.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+        glBackend.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE);
+        glBackend.disable(GL11.GL_BLEND);
+        glBackend.disable(GL11.GL_BLEND);
+        glBackend.disable(GL11.GL_DEPTH_TEST);
+
+        assertEquals(1, recordingGlBackend.countCalls("enable"));
+        assertEquals(2, recordingGlBackend.countCalls("blendFunc"));
+        assertEquals(2, recordingGlBackend.countCalls("disable"));
+        assertFalse(recordingGlBackend.getEnabledCapabilities().contains(GL11.GL_BLEND));
+        assertEquals(GL11.GL_ONE, recordingGlBackend.getBlendDestinationFactor());
+    }
+
+    @Test
+    public void testSetCapability_moreThanCached_alwaysIssued() {
+        for (int x = 0; x < CachingGlBackend.MAX_CACHED_CAPABILITIES; x++) {
+            glBackend.enable(1000 + x);
+        }
+        glBackend.enable(5000);
+        glBackend.enable(5000);
+
+        assertEquals(2, recordingGlBackend.countCalls("enable 5000"));
+    }
+
+    @Test
+    public void testInvalidate_nextCallsIssued() {
+        glBackend.useProgram(3);
+        glBackend.enable(GL11.GL_BLEND);
+
+        glBackend.invalidate();
+        glBackend.useProgram(3);
+        glBackend.enable(GL11.GL_BLEND);
+
+        assertEquals(2, recordingGlBackend.countCalls("useProgram"));
+        assertEquals(2, recordingGlBackend.countCalls("enable"));
+    }
+
+    @Test
+    public void testBeginFrame_resetsCounters() {
+        glBackend.useProgram(3);
+        glBackend.useProgram(3);
+
+        glBackend.beginFrame();
+
+        assertEquals(0, glBackend.getIssuedCallCount());
+        assertEquals(0, glBackend.getElidedCallCount());
+    }
+
+    @Test
+    public void testRenderEngine_repeatedFrames_elidesStateAlreadySet() {
+        TextureResidencyManager residencyManager = new TextureResidencyManager(glBackend, 0);
+        SpriteBatchRenderEngine renderEngine =
+                new SpriteBatchRenderEngine(glBackend, residencyManager, new TextureAtlas(residencyManager, 64, 1));
+        ShaderProgram shaders = ShaderPrograms.linked(7);
+        TextureAsset texture = new TextureAsset(ByteBuffer.allocateDirect(4 * 4 * 4), 4, 4);
+
+        drawFrame(renderEngine, new Sprite2D(texture, shaders));
+        recordingGlBackend.clearCalls();
+        drawFrame(renderEngine, new Sprite2D(texture, shaders));
+
+        assertEquals(0, recordingGlBackend.countCalls("useProgram"));
+        assertEquals(0, recordingGlBackend.countCalls("bindTexture2D"));
+        assertEquals(0, recordingGlBackend.countCalls("activeTexture"));
+        assertEquals(0, recordingGlBackend.countCalls("enable"));
+        assertEquals(0, recordingGlBackend.countCalls("blendFunc"));
+        assertEquals(0, recordingGlBackend.countCalls("bindVertexArray"));
+        assertEquals(1, recordingGlBackend.getDrawCalls().size());
+        assertEquals(0, glBackend.getIssuedCallCount());
+        assertTrue(glBackend.getElidedCallCount() > 0);
+    }
+
+    private static void drawFrame(SpriteBatchRenderEngine renderEngine, Sprite2D sprite) {
+        renderEngine.begin();
+        renderEngine.draw(sprite);
+        renderEngine.end();
+    }
+}
@@ -0,0 +1,310 @@
+package me.kyledulce.kengine.window.drawing.gl;
+
+import lombok.Getter;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link GlBackend} that records the calls made to it and tracks the GL objects they create, so rendering code can be
+ * tested without a GPU
+ */
+public class RecordingGlBackend implements GlBackend {
+
+    /**
+     * Calls in the order they were made, as the method name followed by its arguments
+     */
+    @Getter
+    private final List<String> calls = new ArrayList<>();
+    /**
+     * Textures that were created and not deleted
+     */
+    @Getter
+    private final Set<Integer> liveTextures = new HashSet<>();
+    /**
+     * Bytes last uploaded to each texture
+     */
+    @Getter
+    private final Map<Integer, Integer> uploadedBytes = new HashMap<>();
+    @Getter
+    private int boundTexture = 0;
+    @Getter
+    private int activeTextureUnit = 0;
+    /**
+     * Buffers that were created and not deleted, with their storage
+     */
+    @Getter
+    private final Map<Integer, ByteBuffer> liveBuffers = new HashMap<>();
+    @Getter
+    private final Set<Integer> liveVertexArrays = new HashSet<>();
+    private final Map<Integer, Integer> boundBuffers = new HashMap<>();
+    private final Map<Integer, Integer> vertexArrayElementBuffers = new HashMap<>();
+    @Getter
+    private int boundVertexArray = 0;
+    @Getter
+    private int currentProgram = 0;
+    @Getter
+    private final Set<Integer> enabledCapabilities = new HashSet<>();
+    @Getter
+    private int blendSourceFactor = 0;
+    @Getter
+    private int blendDestinationFactor = 0;
+    /**
+     * Draws in the order they were made
+     */
+    @Getter
+    private final List<DrawCall> drawCalls = new ArrayList<>();
+
+    private int nextId = 1;
+
+    public int countCalls(String method) {
+        int count = 0;
+        for (String call : calls) {
+            if (call.equals(method) || call.startsWith(method + " ")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void clearCalls() {
+        calls.clear();
+        drawCalls.clear();
+    }
+
+    @Override
+    public int genTexture() {
+        int textureId = nextId++;
+        liveTextures.add(textureId);
+        calls.add("genTexture " + textureId);
+        return textureId;
+    }
+
+    @Override
+    public void deleteTexture(int textureId) {
+        if (!liveTextures.remove(textureId)) {
+            throw new IllegalStateException("Deleted texture " + textureId + " that does not exist");
+        }
+        uploadedBytes.remove(textureId);
+        if (boundTexture == textureId) {
+            boundTexture = 0;
+        }
+        calls.add("deleteTexture " + textureId);
+    }
+
+    @Override
+    public void activeTexture(int unit) {
+        activeTextureUnit = unit;
+        calls.add("activeTexture " + unit);
+    }
+
+    @Override
+    public void bindTexture2D(int textureId) {
+        if (textureId != 0 && !liveTextures.contains(textureId)) {
+            throw new IllegalStateException("Bound texture " + textureId + " that does not exist");
+        }
+        boundTexture = textureId;
+        calls.add("bindTexture2D " + textureId);
+    }
+
+    @Override
+    public void texParameter2D(int parameter, int value) {
+        calls.add("texParameter2D " + parameter + " " + value);
+    }
+
+    @Override
+    public void texImage2D(int width, int height, ByteBuffer pixels) {
+        if (boundTexture == 0) {
+            throw new IllegalStateException("Uploaded pixels without a bound texture");
+        }
+        uploadedBytes.put(boundTexture, pixels.remaining());
+        calls.add("texImage2D " + width + " " + height);
+    }
+
+    @Override
+    public void texSubImage2D(int x, int y, int width, int height, ByteBuffer pixels) {
+        if (boundTexture == 0) {
+            throw new IllegalStateException("Uploaded pixels without a bound texture");
+        }
+        if (pixels.remaining() != width * height * 4) {
+            throw new IllegalStateException("Uploaded " + pixels.remaining() + " bytes for " + width + "x" + height);
+        }
+        calls.add("texSubImage2D " + x + " " + y + " " + width + " " + height);
+    }
+
+    @Override
+    public int genBuffer() {
+        int bufferId = nextId++;
+        liveBuffers.put(bufferId, ByteBuffer.allocate(0));
+        calls.add("genBuffer " + bufferId);
+        return bufferId;
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+        if (liveBuffers.remove(bufferId) == null) {
+            throw new IllegalStateException("Deleted buffer " + bufferId + " that does not exist");
+        }
+        boundBuffers.values().removeIf(id -> id == bufferId);
+        calls.add("deleteBuffer " + bufferId);
+    }
+
+    @Override
+    public void bindBuffer(int target, int bufferId) {
+        if (bufferId != 0 && !liveBuffers.containsKey(bufferId)) {
+            throw new IllegalStateException("Bound buffer " + bufferId + " that does not exist");
+        }
+        boundBuffers.put(target, bufferId);
+        if (target == GL15.GL_ELEMENT_ARRAY_BUFFER && boundVertexArray != 0) {
+            vertexArrayElementBuffers.put(boundVertexArray, bufferId);
+        }
+        calls.add("bindBuffer " + target + " " + bufferId);
+    }
+
+    @Override
+    public void bufferData(int target, long size, int usage) {
+        liveBuffers.put(getBoundBuffer(target), ByteBuffer.allocate((int) size));
+        calls.add("bufferData " + target + " " + size);
+    }
+
+    @Override
+    public void bufferData(int target, ByteBuffer data, int usage) {
+        ByteBuffer storage = ByteBuffer.allocate(data.remaining()).order(data.order());
+        storage.put(0, data, data.position(), data.remaining());
+        liveBuffers.put(getBoundBuffer(target), storage);
+        calls.add("bufferData " + target + " " + data.remaining());
+    }
+
+    @Override
+    public void bufferSubData(int target, long offset, ByteBuffer data) {
+        ByteBuffer storage = liveBuffers.get(getBoundBuffer(target));
+        if (offset + data.remaining() > storage.capacity()) {
+            throw new IllegalStateException("Wrote past the end of buffer " + getBoundBuffer(target));
+        }
+        storage.put((int) offset, data, data.position(), data.remaining());
+        calls.add("bufferSubData " + target + " " + offset + " " + data.remaining());
+    }
+
+    @Override
+    public int genVertexArray() {
+        int vertexArrayId = nextId++;
+        liveVertexArrays.add(vertexArrayId);
+        calls.add("genVertexArray " + vertexArrayId);
+        return vertexArrayId;
+    }
+
+    @Override
+    public void deleteVertexArray(int vertexArrayId) {
+        if (!liveVertexArrays.remove(vertexArrayId)) {
+            throw new IllegalStateException("Deleted vertex array " + vertexArrayId + " that does not exist");
+        }
+        if (boundVertexArray == vertexArrayId) {
+            boundVertexArray = 0;
+        }
+        calls.add("deleteVertexArray " + vertexArrayId);
+    }
+
+    @Override
+    public void bindVertexArray(int vertexArrayId) {
+        if (vertexArrayId != 0 && !liveVertexArrays.contains(vertexArrayId)) {
+            throw new IllegalStateException("Bound vertex array " + vertexArrayId + " that does not exist");
+        }
+        boundVertexArray = vertexArrayId;
+        calls.add("bindVertexArray " + vertexArrayId);
+    }
+
+    @Override
+    public void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long offset) {
+        if (boundVertexArray == 0 || getBoundBuffer(GL15.GL_ARRAY_BUFFER) == 0) {
+            throw new IllegalStateException("Described attribute without a bound vertex array and array buffer");
+        }
+        calls.add("vertexAttribPointer " + index + " " + size + " " + type + " " + normalized + " " + stride + " " + offset);
+    }
+
+    @Override
+    public void enableVertexAttribArray(int index) {
+        calls.add("enableVertexAttribArray " + index);
+    }
+
+    @Override
+    public void vertexAttribDivisor(int index, int divisor) {
+        if (boundVertexArray == 0) {
+            throw new IllegalStateException("Set a divisor without a bound vertex array");
+        }
+        calls.add("vertexAttribDivisor " + index + " " + divisor);
+    }
+
+    @Override
+    public void useProgram(int programId) {
+        currentProgram = programId;
+        calls.add("useProgram " + programId);
+    }
+
+    @Override
+    public void enable(int capability) {
+        enabledCapabilities.add(capability);
+        calls.add("enable " + capability);
+    }
+
+    @Override
+    public void disable(int capability) {
+        enabledCapabilities.remove(capability);
+        calls.add("disable " + capability);
+    }
+
+    @Override
+    public void blendFunc(int sourceFactor, int destinationFactor) {
+        blendSourceFactor = sourceFactor;
+        blendDestinationFactor = destinationFactor;
+        calls.add("blendFunc " + sourceFactor + " " + destinationFactor);
+    }
+
+    @Override
+    public void drawElements(int mode, int count, int type, long offset) {
+        recordDraw(mode, count, 1);
+        calls.add("drawElements " + mode + " " + count + " " + type + " " + offset);
+    }
+
+    @Override
+    public void drawElementsInstanced(int mode, int count, int type, long offset, int instanceCount) {
+        recordDraw(mode, count, instanceCount);
+        calls.add("drawElementsInstanced " + mode + " " + count + " " + type + " " + offset + " " + instanceCount);
+    }
+
+    private void recordDraw(int mode, int count, int instanceCount) {
+        if (boundVertexArray == 0 || vertexArrayElementBuffers.getOrDefault(boundVertexArray, 0) == 0) {
+            throw new IllegalStateException("Drew without a bound vertex array and element buffer");
+        }
+        ByteBuffer vertices = liveBuffers.get(getBoundBuffer(GL15.GL_ARRAY_BUFFER));
+        drawCalls.add(new DrawCall(mode, count, instanceCount, currentProgram, boundTexture,
+                enabledCapabilities.contains(GL11.GL_BLEND), blendSourceFactor, blendDestinationFactor,
+                vertices == null ? null : ByteBuffer.allocate(vertices.capacity()).put(0, vertices, 0, vertices.capacity())));
+    }
+
+    private int getBoundBuffer(int target) {
+        return boundBuffers.getOrDefault(target, 0);
+    }
+
+    /**
+     * A draw and the state it was made with
+     * @param mode primitive type
+     * @param count number of indices per instance
+     * @param instanceCount number of instances, 1 for draws that are not instanced
+     * @param program program in use
+     * @param texture texture bound to the active unit
+     * @param blend true if blending was enabled
+     * @param blendSourceFactor source blend factor
+     * @param blendDestinationFactor destination blend factor
+     * @param vertices copy of the array buffer bound when drawing
+     */
+    public record DrawCall(int mode, int count, int instanceCount, int program, int texture, boolean blend,
+                           int blendSourceFactor, int blendDestinationFactor, ByteBuffer vertices) {
+    }
+}
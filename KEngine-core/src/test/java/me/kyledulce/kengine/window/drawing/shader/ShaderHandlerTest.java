@@ -0,0 +1,23 @@
+package me.kyledulce.kengine.window.drawing.shader;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShaderHandlerTest {
+
+    @Test
+    public void testDecodeResource_decodesUtf8WithoutMovingBuffer() {
+        String definition = "#version 330 core\n// é\nvoid main() {}\n";
+        byte[] bytes = definition.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer data = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+
+        ShaderAsset shaderAsset = new ShaderHandler().decodeResource(data).get();
+
+        assertEquals(definition, shaderAsset.getShaderDefinition());
+        assertEquals(0, data.position());
+    }
+}
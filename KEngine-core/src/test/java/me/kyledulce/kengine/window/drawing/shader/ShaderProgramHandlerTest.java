@@ -0,0 +1,47 @@
+package me.kyledulce.kengine.window.drawing.shader;
+
+import me.kyledulce.kengine.window.drawing.gl.CachingGlBackend;
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShaderProgramHandlerTest {
+
+    @Test
+    public void testBindProgram_cachingBackend_bindsOnce() {
+        RecordingGlBackend recordingGlBackend = new RecordingGlBackend();
+        ShaderProgramHandler shaderProgramHandler = new ShaderProgramHandler(new CachingGlBackend(recordingGlBackend));
+        ShaderProgram program = new ShaderProgram(new int[0]);
+        program.setProgramId(5);
+
+        shaderProgramHandler.bindProgram(program);
+        shaderProgramHandler.bindProgram(program);
+
+        assertEquals(1, recordingGlBackend.countCalls("useProgram 5"));
+        assertEquals(5, recordingGlBackend.getCurrentProgram());
+    }
+
+    @Test
+    public void testBindProgram_unlinkedProgram_notBound() {
+        RecordingGlBackend recordingGlBackend = new RecordingGlBackend();
+        ShaderProgramHandler shaderProgramHandler = new ShaderProgramHandler(recordingGlBackend);
+
+        shaderProgramHandler.bindProgram(new ShaderProgram(new int[0]));
+
+        assertEquals(0, recordingGlBackend.countCalls("useProgram"));
+    }
+
+    @Test
+    public void testClearBind_usesNoProgram() {
+        RecordingGlBackend recordingGlBackend = new RecordingGlBackend();
+        ShaderProgramHandler shaderProgramHandler = new ShaderProgramHandler(recordingGlBackend);
+        ShaderProgram program = new ShaderProgram(new int[0]);
+        program.setProgramId(5);
+
+        shaderProgramHandler.bindProgram(program);
+        shaderProgramHandler.clearBind();
+
+        assertEquals(0, recordingGlBackend.getCurrentProgram());
+    }
+}
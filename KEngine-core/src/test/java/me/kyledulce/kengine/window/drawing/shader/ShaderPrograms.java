@@ -0,0 +1,20 @@
+package me.kyledulce.kengine.window.drawing.shader;
+
+/**
+ * Creates shader programs for tests outside this package. Tests use real programs rather than mocks, since mocking
+ * the class instruments every instance of it and makes calls on them allocate
+ */
+public final class ShaderPrograms {
+
+    private ShaderPrograms() {}
+
+    /**
+     * @param programId GL id of the program
+     * @return program that looks linked with the given id
+     */
+    public static ShaderProgram linked(int programId) {
+        ShaderProgram program = new ShaderProgram(new int[0]);
+        program.setProgramId(programId);
+        return program;
+    }
+}
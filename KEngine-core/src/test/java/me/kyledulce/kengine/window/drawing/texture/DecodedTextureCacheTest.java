@@ -0,0 +1,175 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecodedTextureCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private DecodedTextureCache cache;
+
+    @BeforeEach
+    public void beforeEach() {
+        cache = new DecodedTextureCache(directory.resolve("textures"));
+    }
+
+    @Test
+    public void testStore_thenLoad_mapsPixels() {
+        DecodedTextureCache.Key key = cache.computeKey(source("texture"));
+        TextureAsset texture = createTexture(2, 3);
+
+        cache.store(key, texture);
+        TextureAsset cached = cache.load(key).get();
+
+        assertEquals(2, cached.getWidth());
+        assertEquals(3, cached.getHeight());
+        assertEquals(texture.getImgBuffer(), cached.getImgBuffer());
+        assertTrue(cached.getImgBuffer().isDirect());
+        assertTrue(cached.getImgBuffer().isReadOnly());
+        assertEquals(0, texture.getImgBuffer().position());
+    }
+
+    @Test
+    public void testLoad_notStored_returnsEmpty() {
+        assertEquals(Optional.empty(), cache.load(cache.computeKey(source("texture"))));
+    }
+
+    @Test
+    public void testComputeKey_changedSource_missesOldEntry() {
+        cache.store(cache.computeKey(source("texture")), createTexture(2, 2));
+
+        DecodedTextureCache.Key changedKey = cache.computeKey(source("texture v2"));
+
+        assertNotEquals(cache.computeKey(source("texture")), changedKey);
+        assertEquals(Optional.empty(), cache.load(changedKey));
+    }
+
+    @Test
+    public void testStore_changedSourceOfPath_replacesEntry() throws IOException {
+        DecodedTextureCache.Key key = cache.computeKey("textures/a.png", source("texture"));
+        cache.store(key, createTexture(2, 2));
+
+        DecodedTextureCache.Key changedKey = cache.computeKey("textures/a.png", source("texture v2"));
+        assertEquals(Optional.empty(), cache.load(changedKey));
+        cache.store(changedKey, createTexture(3, 3));
+
+        assertEquals(3, cache.load(changedKey).get().getWidth());
+        assertEquals(Optional.empty(), cache.load(key));
+        assertEquals(1, countEntries());
+    }
+
+    @Test
+    public void testComputeKey_samePath_sameEntryName() {
+        assertEquals(cache.computeKey("textures/a.png", source("texture")).entryName(),
+                cache.computeKey("textures/a.png", source("texture v2")).entryName());
+        assertNotEquals(cache.computeKey("textures/a.png", source("texture")).entryName(),
+                cache.computeKey("textures/b.png", source("texture")).entryName());
+    }
+
+    @Test
+    public void testStore_overMaxBytes_deletesLeastRecentlyUsedEntriesOfEarlierRuns() throws IOException {
+        long entryBytes = DecodedTextureCache.HEADER_SIZE + 2 * 2 * 4;
+        DecodedTextureCache earlierRun = new DecodedTextureCache(directory.resolve("textures"));
+        DecodedTextureCache.Key oldest = earlierRun.computeKey("a.png", source("a"));
+        DecodedTextureCache.Key used = earlierRun.computeKey("b.png", source("b"));
+        earlierRun.store(oldest, createTexture(2, 2));
+        earlierRun.store(used, createTexture(2, 2));
+        setModified(oldest, 1000);
+        setModified(used, 2000);
+
+        cache = new DecodedTextureCache(directory.resolve("textures"), 2 * entryBytes);
+        assertTrue(cache.load(used).isPresent());
+        DecodedTextureCache.Key stored = cache.computeKey("c.png", source("c"));
+        cache.store(stored, createTexture(2, 2));
+
+        assertEquals(Optional.empty(), cache.load(oldest));
+        assertTrue(cache.load(used).isPresent());
+        assertTrue(cache.load(stored).isPresent());
+        assertEquals(2, countEntries());
+    }
+
+    @Test
+    public void testStore_overMaxBytesWithEntriesOfThisRun_keepsThem() throws IOException {
+        cache = new DecodedTextureCache(directory.resolve("textures"), 1);
+        DecodedTextureCache.Key first = cache.computeKey("a.png", source("a"));
+        DecodedTextureCache.Key second = cache.computeKey("b.png", source("b"));
+
+        cache.store(first, createTexture(2, 2));
+        cache.store(second, createTexture(2, 2));
+
+        assertTrue(cache.load(first).isPresent());
+        assertTrue(cache.load(second).isPresent());
+        assertEquals(2, countEntries());
+    }
+
+    @Test
+    public void testComputeKey_doesNotMoveBuffer() {
+        ByteBuffer data = source("texture");
+
+        assertEquals(cache.computeKey(data), cache.computeKey(data));
+        assertEquals(0, data.position());
+    }
+
+    @Test
+    public void testLoad_invalidEntry_returnsEmptyAndIsReplacedOnStore() throws IOException {
+        DecodedTextureCache.Key key = cache.computeKey(source("texture"));
+        cache.store(key, createTexture(2, 2));
+        Path entryPath = directory.resolve("textures").resolve(key.entryName() + DecodedTextureCache.ENTRY_EXTENSION);
+        Files.write(entryPath, new byte[DecodedTextureCache.HEADER_SIZE + 3]);
+
+        assertEquals(Optional.empty(), cache.load(key));
+
+        cache.store(key, createTexture(2, 2));
+        assertTrue(cache.load(key).isPresent());
+        assertEquals(1, countEntries());
+    }
+
+    @Test
+    public void testDisabled_doesNotStore() {
+        DecodedTextureCache disabled = new DecodedTextureCache((Path) null);
+
+        DecodedTextureCache.Key key = disabled.computeKey(source("texture"));
+        disabled.store(key, createTexture(2, 2));
+
+        assertFalse(disabled.isEnabled());
+        assertNull(key);
+        assertEquals(Optional.empty(), disabled.load(key));
+        assertFalse(Files.exists(directory.resolve("textures")));
+    }
+
+    private long countEntries() throws IOException {
+        try (var files = Files.list(directory.resolve("textures"))) {
+            return files.count();
+        }
+    }
+
+    private void setModified(DecodedTextureCache.Key key, long millis) throws IOException {
+        Path entryPath = directory.resolve("textures").resolve(key.entryName() + DecodedTextureCache.ENTRY_EXTENSION);
+        Files.setLastModifiedTime(entryPath, FileTime.fromMillis(millis));
+    }
+
+    private static ByteBuffer source(String content) {
+        byte[] bytes = content.getBytes();
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+    }
+
+    private static TextureAsset createTexture(int width, int height) {
+        ByteBuffer pixels = ByteBuffer.allocateDirect(width * height * 4);
+        for (int i = 0; i < pixels.capacity(); i++) {
+            pixels.put(i, (byte) i);
+        }
+        return new TextureAsset(pixels, height, width);
+    }
+}
@@ -0,0 +1,73 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SkylinePackerTest {
+
+    @Test
+    public void testPack_placesBottomLeftFirst() {
+        SkylinePacker packer = new SkylinePacker(10, 10);
+
+        assertArrayEquals(new int[] {0, 0}, packer.pack(4, 3));
+        assertArrayEquals(new int[] {4, 0}, packer.pack(4, 5));
+        // Lowest remaining space is to the right of the first two rectangles
+        assertArrayEquals(new int[] {8, 0}, packer.pack(2, 2));
+        // Then above the first rectangle
+        assertArrayEquals(new int[] {0, 3}, packer.pack(4, 4));
+    }
+
+    @Test
+    public void testPack_exactFit_fillsArea() {
+        SkylinePacker packer = new SkylinePacker(8, 8);
+
+        for (int x = 0; x < 16; x++) {
+            assertNotNull(packer.pack(2, 2));
+        }
+        assertNull(packer.pack(1, 1));
+    }
+
+    @Test
+    public void testPack_tooLarge_returnsNull() {
+        SkylinePacker packer = new SkylinePacker(8, 8);
+
+        assertNull(packer.pack(9, 1));
+        assertNull(packer.pack(1, 9));
+        assertNull(packer.pack(0, 1));
+        assertNotNull(packer.pack(8, 8));
+    }
+
+    @Test
+    public void testPack_randomSizes_neverOverlapOrLeaveArea() {
+        int size = 256;
+        SkylinePacker packer = new SkylinePacker(size, size);
+        Random random = new Random(1);
+        List<int[]> packed = new ArrayList<>();
+
+        for (int x = 0; x < 500; x++) {
+            int width = 1 + random.nextInt(32);
+            int height = 1 + random.nextInt(32);
+            int[] position = packer.pack(width, height);
+            if (position == null) {
+                continue;
+            }
+
+            int[] rect = {position[0], position[1], width, height};
+            assertTrue(rect[0] >= 0 && rect[1] >= 0 && rect[0] + width <= size && rect[1] + height <= size);
+            for (int[] other : packed) {
+                boolean overlaps = rect[0] < other[0] + other[2] && other[0] < rect[0] + rect[2]
+                        && rect[1] < other[1] + other[3] && other[1] < rect[1] + rect[3];
+                assertFalse(overlaps);
+            }
+            packed.add(rect);
+        }
+
+        long usedArea = packed.stream().mapToLong(rect -> (long) rect[2] * rect[3]).sum();
+        assertTrue(usedArea > size * size / 2, "Packed area " + usedArea);
+    }
+}
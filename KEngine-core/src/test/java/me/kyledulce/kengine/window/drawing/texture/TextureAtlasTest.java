@@ -0,0 +1,202 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextureAtlasTest {
+
+    private static final int PAGE_SIZE = 16;
+
+    private RecordingGlBackend glBackend;
+    private TextureResidencyManager residencyManager;
+    private TextureAtlas atlas;
+
+    @BeforeEach
+    public void beforeEach() {
+        glBackend = new RecordingGlBackend();
+        residencyManager = new TextureResidencyManager(glBackend, 0);
+        atlas = new TextureAtlas(residencyManager, PAGE_SIZE, 1);
+    }
+
+    @Test
+    public void testAdd_copiesPixelsAndComputesUvs() {
+        atlas.add(createTexture(3, 2, 1));
+        TextureAsset texture = createTexture(2, 2, 7);
+
+        AtlasRegion region = atlas.add(texture).get();
+
+        assertEquals(4, region.x());
+        assertEquals(0, region.y());
+        assertEquals(4f / PAGE_SIZE, region.u0());
+        assertEquals(0f, region.v0());
+        assertEquals(6f / PAGE_SIZE, region.u1());
+        assertEquals(2f / PAGE_SIZE, region.v1());
+
+        ByteBuffer pagePixels = region.page().getImgBuffer().duplicate().order(ByteOrder.BIG_ENDIAN);
+        for (int row = 0; row < 2; row++) {
+            for (int column = 0; column < 2; column++) {
+                int pageOffset = ((row * PAGE_SIZE) + 4 + column) * 4;
+                int sourceOffset = (row * 2 + column) * 4;
+                assertEquals(texture.getImgBuffer().getInt(sourceOffset), pagePixels.getInt(pageOffset));
+            }
+        }
+        // Padding is left empty
+        assertEquals(0, pagePixels.getInt(6 * 4));
+        assertEquals(0, texture.getImgBuffer().position());
+    }
+
+    @Test
+    public void testAdd_sameTexture_returnsSameRegion() {
+        TextureAsset texture = createTexture(4, 4, 1);
+
+        AtlasRegion region = atlas.add(texture).get();
+
+        assertSame(region, atlas.add(texture).get());
+        assertSame(region, atlas.getRegion(texture).get());
+        assertSame(region, atlas.findRegion(texture));
+        assertSame(region.page(), atlas.getPage(texture));
+        assertEquals(1, atlas.getPages().size());
+    }
+
+    @Test
+    public void testFindRegionAndGetPage_notPacked_returnNull() {
+        TextureAsset texture = createTexture(2, 2, 1);
+
+        assertNull(atlas.findRegion(texture));
+        assertNull(atlas.getPage(texture));
+    }
+
+    @Test
+    public void testAdd_pageFull_startsNewPage() {
+        // 7x7 plus padding fits four to a page
+        AtlasRegion first = atlas.add(createTexture(7, 7, 1)).get();
+        for (int x = 2; x <= 4; x++) {
+            assertSame(first.page(), atlas.add(createTexture(7, 7, x)).get().page());
+        }
+
+        AtlasRegion fifth = atlas.add(createTexture(7, 7, 5)).get();
+
+        assertEquals(2, atlas.getPages().size());
+        assertSame(atlas.getPages().get(1), fifth.page());
+        assertEquals(0, fifth.x());
+        assertEquals(0, fifth.y());
+    }
+
+    @Test
+    public void testAdd_tooLargeOrReleased_returnsEmpty() {
+        TextureAsset released = createTexture(2, 2, 1);
+        released.setImgBuffer(null);
+
+        assertEquals(Optional.empty(), atlas.add(createTexture(PAGE_SIZE, 1, 1)));
+        assertEquals(Optional.empty(), atlas.add(released));
+        assertTrue(atlas.getPages().isEmpty());
+    }
+
+    @Test
+    public void testAdd_spilledTextureFromHandler_reloadsPixelsFromCache(@TempDir Path cacheDirectory) throws IOException {
+        DecodedTextureCache cache = new DecodedTextureCache(cacheDirectory);
+        residencyManager = new TextureResidencyManager(glBackend, cache, 0);
+        atlas = new TextureAtlas(residencyManager, PAGE_SIZE, 1);
+        TextureHandler textureHandler = new TextureHandler(residencyManager, cache, TextureRetention.SPILL, atlas);
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFF102030);
+        image.setRGB(1, 1, 0xFF405060);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", encoded);
+        ByteBuffer data = ByteBuffer.allocateDirect(encoded.size()).put(encoded.toByteArray()).flip();
+
+        TextureAsset texture = textureHandler.decodeResource(data).get();
+        textureHandler.finalizeResource(texture);
+        assertFalse(texture.isPixelsRetained());
+
+        AtlasRegion region = atlas.add(texture).get();
+
+        ByteBuffer pagePixels = region.page().getImgBuffer().duplicate().order(ByteOrder.BIG_ENDIAN);
+        assertEquals(0x102030FF, pagePixels.getInt(0));
+        assertEquals(0x405060FF, pagePixels.getInt((PAGE_SIZE + 1) * 4));
+        // Released again once copied, like after the upload
+        assertFalse(texture.isPixelsRetained());
+        assertEquals(1, residencyManager.getMemoryMetrics().getReloadCount());
+
+        textureHandler.unloadResource(texture);
+    }
+
+    @Test
+    public void testAdd_residentPage_uploadsOnlyNewRegion() {
+        AtlasRegion first = atlas.add(createTexture(2, 2, 1)).get();
+        residencyManager.makeResident(first.page());
+        glBackend.clearCalls();
+
+        AtlasRegion second = atlas.add(createTexture(3, 2, 2)).get();
+
+        assertSame(first.page(), second.page());
+        assertEquals(0, glBackend.countCalls("texImage2D"));
+        assertTrue(glBackend.getCalls().contains("texSubImage2D 3 0 3 2"));
+        assertEquals(first.page().getId(), glBackend.getBoundTexture());
+    }
+
+    @Test
+    public void testAdd_residentPageWithOtherUnitActive_uploadsThroughUnitZero() {
+        AtlasRegion first = atlas.add(createTexture(2, 2, 1)).get();
+        residencyManager.makeResident(first.page());
+        glBackend.activeTexture(1);
+        glBackend.clearCalls();
+
+        atlas.add(createTexture(2, 2, 2));
+
+        List<String> calls = glBackend.getCalls();
+        assertEquals("activeTexture 0", calls.get(0));
+        assertEquals("bindTexture2D " + first.page().getId(), calls.get(1));
+        assertTrue(calls.get(2).startsWith("texSubImage2D"));
+    }
+
+    @Test
+    public void testRemove_unloadedThroughHandler_forgetsRegion() {
+        TextureHandler textureHandler = new TextureHandler(residencyManager, new DecodedTextureCache((Path) null),
+                TextureRetention.KEEP, atlas);
+        TextureAsset texture = createTexture(2, 2, 1);
+        AtlasRegion region = atlas.add(texture).get();
+
+        textureHandler.unloadResource(texture);
+
+        assertEquals(Optional.empty(), atlas.getRegion(texture));
+        assertFalse(atlas.remove(texture));
+        // The page itself stays
+        assertSame(region.page(), atlas.getPages().get(0));
+    }
+
+    @Test
+    public void testClear_deletesPages() {
+        AtlasRegion region = atlas.add(createTexture(2, 2, 1)).get();
+        residencyManager.makeResident(region.page());
+
+        atlas.clear();
+
+        assertTrue(atlas.getPages().isEmpty());
+        assertTrue(glBackend.getLiveTextures().isEmpty());
+        assertEquals(Optional.empty(), atlas.getRegion(region.page()));
+        assertEquals(0, residencyManager.getMemoryMetrics().getNativeBytes());
+    }
+
+    private static TextureAsset createTexture(int width, int height, int seed) {
+        ByteBuffer pixels = ByteBuffer.allocateDirect(width * height * 4);
+        for (int i = 0; i < pixels.capacity(); i++) {
+            pixels.put(i, (byte) (seed * 31 + i + 1));
+        }
+        return new TextureAsset(pixels, height, width);
+    }
+}
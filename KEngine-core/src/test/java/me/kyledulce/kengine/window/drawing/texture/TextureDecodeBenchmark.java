@@ -0,0 +1,95 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding 2K and 4K PNG textures with stb_image against ImageIO.
+ * The peak heap used during each measurement iteration is printed after it, run with {@code -prof gc}
+ * to also see the heap allocated per decode. Run with {@link #main(String[])} from the test classpath
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class TextureDecodeBenchmark {
+
+    @Param({"2048", "4096"})
+    private int size;
+
+    private TextureHandler textureHandler;
+    private ByteBuffer data;
+    private List<MemoryPoolMXBean> heapPools;
+
+    @Setup
+    public void setup() throws IOException {
+        textureHandler = new TextureHandler(new TextureResidencyManager(new RecordingGlBackend(), 0));
+        heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        // Gradient with noise, so the image neither compresses to nothing nor is pure noise
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int red = (x * 255 / size + random.nextInt(8)) & 0xFF;
+                int green = (y * 255 / size + random.nextInt(8)) & 0xFF;
+                image.setRGB(x, y, 0xFF000000 | red << 16 | green << 8 | 0x40);
+            }
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        byte[] bytes = outputStream.toByteArray();
+        data = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long peakBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.out.printf(" peak heap %d MB ", peakBytes / (1024 * 1024));
+    }
+
+    @Benchmark
+    public TextureAsset stbDecode() {
+        TextureAsset texture = textureHandler.decodeWithStb(data).orElseThrow();
+        textureHandler.unloadResource(texture);
+        return texture;
+    }
+
+    @Benchmark
+    public TextureAsset imageIoDecode() {
+        return textureHandler.decodeWithImageIo(data).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TextureDecodeBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,198 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextureHandlerTest {
+
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 2;
+    private static final int[] PIXELS = {
+            0xFFFF0000, 0xFF00FF00, 0xFF0000FF,
+            0x80FFFFFF, 0x00000000, 0xFF102030
+    };
+
+    private RecordingGlBackend glBackend;
+    private TextureResidencyManager residencyManager;
+    private TextureHandler textureHandler;
+
+    @BeforeEach
+    public void beforeEach() {
+        glBackend = new RecordingGlBackend();
+        residencyManager = new TextureResidencyManager(glBackend, 0);
+        textureHandler = new TextureHandler(residencyManager);
+    }
+
+    @Test
+    public void testDecodeResource_png_decodesWithStbToRgba() throws IOException {
+        TextureAsset texture = textureHandler.decodeResource(encode(createImage(), "png")).get();
+
+        assertTrue(texture.isStbAllocated());
+        assertTrue(texture.getImgBuffer().isDirect());
+        assertRgbaPixels(texture);
+
+        textureHandler.unloadResource(texture);
+    }
+
+    @Test
+    public void testDecodeResource_tga_decodesWithStb() {
+        // Uncompressed 32 bit true color TGA, stored bottom to top as BGRA
+        ByteBuffer data = ByteBuffer.allocateDirect(18 + WIDTH * HEIGHT * 4).order(ByteOrder.LITTLE_ENDIAN);
+        data.put(2, (byte) 2);
+        data.putShort(12, (short) WIDTH);
+        data.putShort(14, (short) HEIGHT);
+        data.put(16, (byte) 32);
+        data.put(17, (byte) 8);
+        data.position(18);
+        for (int y = HEIGHT - 1; y >= 0; y--) {
+            for (int x = 0; x < WIDTH; x++) {
+                int pixel = PIXELS[y * WIDTH + x];
+                data.put((byte) pixel).put((byte) (pixel >> 8)).put((byte) (pixel >> 16)).put((byte) (pixel >> 24));
+            }
+        }
+        data.flip();
+
+        TextureAsset texture = textureHandler.decodeResource(data.asReadOnlyBuffer()).get();
+
+        assertTrue(texture.isStbAllocated());
+        assertRgbaPixels(texture);
+
+        textureHandler.unloadResource(texture);
+    }
+
+    @Test
+    public void testDecodeResource_unsupportedByStb_fallsBackToImageIo() throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_BINARY);
+        image.setRGB(0, 0, 0xFFFFFFFF);
+
+        TextureAsset texture = textureHandler.decodeResource(encode(image, "wbmp")).get();
+
+        assertFalse(texture.isStbAllocated());
+        assertEquals(WIDTH, texture.getWidth());
+        assertEquals(HEIGHT, texture.getHeight());
+        assertEquals(WIDTH * HEIGHT * 4, texture.getImgBuffer().remaining());
+        // White then black, both opaque
+        assertEquals(-1, texture.getImgBuffer().duplicate().order(ByteOrder.BIG_ENDIAN).getInt(0));
+        assertEquals(0x000000FF, texture.getImgBuffer().duplicate().order(ByteOrder.BIG_ENDIAN).getInt(4));
+    }
+
+    @Test
+    public void testDecodeWithImageIo_fillsWholeRgbaBuffer() throws IOException {
+        TextureAsset texture = textureHandler.decodeWithImageIo(encode(createImage(), "png")).get();
+
+        assertFalse(texture.isStbAllocated());
+        assertRgbaPixels(texture);
+    }
+
+    @Test
+    public void testDecodeResource_invalidData_returnsEmpty() {
+        ByteBuffer data = ByteBuffer.allocateDirect(16).put(new byte[] {1, 2, 3, 4}).flip();
+
+        assertEquals(Optional.empty(), textureHandler.decodeResource(data));
+    }
+
+    @Test
+    public void testDecodeResource_cached_mapsEntryInsteadOfDecoding(@TempDir Path cacheDirectory) throws IOException {
+        TextureResidencyManager cachingResidencyManager = new TextureResidencyManager(glBackend, 0);
+        TextureHandler cachingHandler = new TextureHandler(cachingResidencyManager, new DecodedTextureCache(cacheDirectory),
+                TextureRetention.KEEP, new TextureAtlas(cachingResidencyManager, 16, 1));
+        ByteBuffer data = encode(createImage(), "png");
+
+        TextureAsset decoded = cachingHandler.decodeResource(data).get();
+        TextureAsset cached = cachingHandler.decodeResource(data).get();
+
+        assertTrue(decoded.isStbAllocated());
+        assertFalse(cached.isStbAllocated());
+        assertTrue(cached.isPixelsMapped());
+        assertRgbaPixels(cached);
+
+        cachingHandler.unloadResource(decoded);
+        cachingHandler.unloadResource(cached);
+    }
+
+    @Test
+    public void testGetResourceSize_countsNativePixelsButNotMappedOnes(@TempDir Path cacheDirectory) throws IOException {
+        TextureResidencyManager cachingResidencyManager = new TextureResidencyManager(glBackend, 0);
+        TextureHandler cachingHandler = new TextureHandler(cachingResidencyManager, new DecodedTextureCache(cacheDirectory),
+                TextureRetention.KEEP, new TextureAtlas(cachingResidencyManager, 16, 1));
+        ByteBuffer data = encode(createImage(), "png");
+
+        TextureAsset decoded = cachingHandler.decodeResource(data).get();
+        TextureAsset cached = cachingHandler.decodeResource(data).get();
+
+        assertEquals(WIDTH * HEIGHT * 4, cachingHandler.getResourceSize(decoded));
+        assertEquals(0, cachingHandler.getResourceSize(cached));
+        assertTrue(cachingResidencyManager.getMemoryMetrics().getMappedBytes() > 0);
+
+        cachingHandler.unloadResource(decoded);
+        cachingHandler.unloadResource(cached);
+        assertEquals(0, cachingHandler.getResourceSize(decoded));
+    }
+
+    @Test
+    public void testDecodeResource_tracksNativeMemoryUntilUnloaded() throws IOException {
+        TextureMemoryMetrics metrics = residencyManager.getMemoryMetrics();
+
+        TextureAsset texture = textureHandler.decodeResource(encode(createImage(), "png")).get();
+        assertEquals(WIDTH * HEIGHT * 4, metrics.getNativeBytes());
+
+        textureHandler.unloadResource(texture);
+        assertEquals(0, metrics.getNativeBytes());
+        assertFalse(texture.isPixelsRetained());
+    }
+
+    @Test
+    public void testUnloadResource_freesStbPixelsOnce() throws IOException {
+        TextureAsset texture = textureHandler.decodeResource(encode(createImage(), "png")).get();
+        textureHandler.finalizeResource(texture);
+
+        textureHandler.unloadResource(texture);
+        textureHandler.unloadResource(texture);
+
+        assertTrue(texture.isUnloaded());
+        assertFalse(texture.isStbAllocated());
+        assertTrue(glBackend.getLiveTextures().isEmpty());
+    }
+
+    private static BufferedImage createImage() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, WIDTH, HEIGHT, PIXELS, 0, WIDTH);
+        return image;
+    }
+
+    private static ByteBuffer encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertTrue(ImageIO.write(image, format, outputStream));
+        byte[] bytes = outputStream.toByteArray();
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+    }
+
+    private static void assertRgbaPixels(TextureAsset texture) {
+        assertEquals(WIDTH, texture.getWidth());
+        assertEquals(HEIGHT, texture.getHeight());
+
+        ByteBuffer pixels = texture.getImgBuffer();
+        assertEquals(WIDTH * HEIGHT * 4, pixels.remaining());
+        for (int i = 0; i < PIXELS.length; i++) {
+            int pixel = PIXELS[i];
+            int offset = i * 4;
+            assertEquals((pixel >> 16) & 0xFF, pixels.get(offset) & 0xFF, "red of pixel " + i);
+            assertEquals((pixel >> 8) & 0xFF, pixels.get(offset + 1) & 0xFF, "green of pixel " + i);
+            assertEquals(pixel & 0xFF, pixels.get(offset + 2) & 0xFF, "blue of pixel " + i);
+            assertEquals((pixel >>> 24) & 0xFF, pixels.get(offset + 3) & 0xFF, "alpha of pixel " + i);
+        }
+    }
+}
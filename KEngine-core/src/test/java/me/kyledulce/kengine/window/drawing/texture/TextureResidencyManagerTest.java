@@ -0,0 +1,295 @@
+package me.kyledulce.kengine.window.drawing.texture;
+
+import me.kyledulce.kengine.window.drawing.gl.RecordingGlBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextureResidencyManagerTest {
+
+    // Each test texture is 4x4 RGBA, 64 bytes
+    private static final int TEXTURE_SIZE = 4;
+    private static final long TEXTURE_BYTES = TEXTURE_SIZE * TEXTURE_SIZE * 4;
+
+    private RecordingGlBackend glBackend;
+    private TextureResidencyManager residencyManager;
+
+    @BeforeEach
+    public void beforeEach() {
+        glBackend = new RecordingGlBackend();
+        residencyManager = new TextureResidencyManager(glBackend, TEXTURE_BYTES * 2);
+    }
+
+    @Test
+    public void testMakeResident_uploadsAndTracksSize() {
+        TextureAsset texture = createTexture();
+
+        assertTrue(residencyManager.makeResident(texture));
+
+        assertNotEquals(0, texture.getId());
+        assertTrue(glBackend.getLiveTextures().contains(texture.getId()));
+        assertEquals((int) TEXTURE_BYTES, glBackend.getUploadedBytes().get(texture.getId()));
+        assertEquals(TEXTURE_BYTES, residencyManager.getResidentBytes());
+        assertEquals(1, residencyManager.getResidentCount());
+    }
+
+    @Test
+    public void testMakeResident_alreadyResident_doesNotUploadAgain() {
+        TextureAsset texture = createTexture();
+        residencyManager.makeResident(texture);
+
+        residencyManager.makeResident(texture);
+
+        assertEquals(1, glBackend.countCalls("texImage2D"));
+        assertEquals(1, residencyManager.getUploadCount());
+    }
+
+    @Test
+    public void testMakeResident_unloaded_notUploaded() {
+        TextureAsset texture = createTexture();
+        texture.setUnloaded(true);
+
+        assertFalse(residencyManager.makeResident(texture));
+        assertEquals(0, glBackend.countCalls("genTexture"));
+    }
+
+    @Test
+    public void testMakeResident_overBudget_evictsLeastRecentlyBound() {
+        TextureAsset first = createTexture();
+        TextureAsset second = createTexture();
+        TextureAsset third = createTexture();
+        residencyManager.makeResident(first);
+        residencyManager.makeResident(second);
+        residencyManager.bind(first);
+
+        residencyManager.makeResident(third);
+
+        assertNotEquals(0, first.getId());
+        assertEquals(0, second.getId());
+        assertNotEquals(0, third.getId());
+        assertEquals(2, glBackend.getLiveTextures().size());
+        assertEquals(TEXTURE_BYTES * 2, residencyManager.getResidentBytes());
+        assertEquals(1, residencyManager.getEvictionCount());
+    }
+
+    @Test
+    public void testBind_evicted_reuploadsWithCpuCopy() {
+        TextureAsset first = createTexture();
+        TextureAsset second = createTexture();
+        TextureAsset third = createTexture();
+        residencyManager.makeResident(first);
+        residencyManager.makeResident(second);
+        residencyManager.makeResident(third);
+        assertEquals(0, first.getId());
+        glBackend.clearCalls();
+
+        residencyManager.bind(first);
+
+        assertNotEquals(0, first.getId());
+        assertEquals(first.getId(), glBackend.getBoundTexture());
+        assertEquals((int) TEXTURE_BYTES, glBackend.getUploadedBytes().get(first.getId()));
+        assertEquals(1, glBackend.countCalls("texImage2D"));
+        // Second was the least recently bound once first was evicted
+        assertEquals(0, second.getId());
+        assertEquals(4, residencyManager.getUploadCount());
+    }
+
+    @Test
+    public void testBind_resident_onlyBinds() {
+        TextureAsset texture = createTexture();
+        residencyManager.makeResident(texture);
+        glBackend.clearCalls();
+
+        residencyManager.bind(texture);
+
+        assertEquals(2, glBackend.getCalls().size());
+        assertEquals(0, glBackend.getActiveTextureUnit());
+        assertEquals(texture.getId(), glBackend.getBoundTexture());
+    }
+
+    @Test
+    public void testBind_unloaded_doesNotBind() {
+        TextureAsset texture = createTexture();
+        texture.setUnloaded(true);
+
+        residencyManager.bind(texture);
+
+        assertTrue(glBackend.getCalls().isEmpty());
+    }
+
+    @Test
+    public void testEvict_deletesAndKeepsPixels() {
+        TextureAsset texture = createTexture();
+        residencyManager.makeResident(texture);
+        int textureId = texture.getId();
+
+        residencyManager.evict(texture);
+
+        assertEquals(0, texture.getId());
+        assertFalse(glBackend.getLiveTextures().contains(textureId));
+        assertEquals(0, residencyManager.getResidentBytes());
+        assertEquals(TEXTURE_BYTES, texture.getImgBuffer().remaining());
+    }
+
+    @Test
+    public void testMakeResident_noBudget_neverEvicts() {
+        residencyManager = new TextureResidencyManager(glBackend, 0);
+
+        for (int x = 0; x < 10; x++) {
+            residencyManager.makeResident(createTexture());
+        }
+
+        assertEquals(10, residencyManager.getResidentCount());
+        assertEquals(0, residencyManager.getEvictionCount());
+    }
+
+    @Test
+    public void testMakeResident_keep_keepsPixels() {
+        TextureAsset texture = createTexture();
+
+        residencyManager.makeResident(texture);
+
+        assertTrue(texture.isPixelsRetained());
+        assertEquals(0, residencyManager.getMemoryMetrics().getReleaseCount());
+    }
+
+    @Test
+    public void testMakeResident_discard_releasesPixelsAfterUpload() {
+        TextureAsset texture = createTexture();
+        texture.setRetention(TextureRetention.DISCARD);
+        residencyManager.getMemoryMetrics().recordAllocated(texture);
+        assertEquals(TEXTURE_BYTES, residencyManager.getMemoryMetrics().getNativeBytes());
+
+        assertTrue(residencyManager.makeResident(texture));
+
+        assertFalse(texture.isPixelsRetained());
+        assertEquals((int) TEXTURE_BYTES, glBackend.getUploadedBytes().get(texture.getId()));
+        assertEquals(0, residencyManager.getMemoryMetrics().getNativeBytes());
+        assertEquals(1, residencyManager.getMemoryMetrics().getReleaseCount());
+    }
+
+    @Test
+    public void testMakeResident_overBudget_doesNotEvictDiscardedTextures() {
+        TextureAsset discarded = createTexture();
+        discarded.setRetention(TextureRetention.DISCARD);
+        TextureAsset second = createTexture();
+        residencyManager.makeResident(discarded);
+        residencyManager.makeResident(second);
+
+        residencyManager.makeResident(createTexture());
+
+        assertNotEquals(0, discarded.getId());
+        assertEquals(0, second.getId());
+        assertEquals(1, residencyManager.getEvictionCount());
+    }
+
+    @Test
+    public void testMakeResident_spillUncached_keepsPixels() {
+        TextureAsset texture = createTexture();
+        texture.setRetention(TextureRetention.SPILL);
+
+        residencyManager.makeResident(texture);
+
+        assertTrue(texture.isPixelsRetained());
+    }
+
+    @Test
+    public void testBind_spilled_reloadsPixelsFromCache(@TempDir Path cacheDirectory) {
+        DecodedTextureCache cache = new DecodedTextureCache(cacheDirectory);
+        residencyManager = new TextureResidencyManager(glBackend, cache, TEXTURE_BYTES);
+        TextureAsset texture = createTexture();
+        texture.getImgBuffer().put(0, (byte) 42);
+        texture.setRetention(TextureRetention.SPILL);
+        DecodedTextureCache.Key key = cache.computeKey("spilled.png", ByteBuffer.allocateDirect(1));
+        texture.setCacheKey(key);
+        assertTrue(cache.store(key, texture));
+
+        residencyManager.makeResident(texture);
+        assertFalse(texture.isPixelsRetained());
+        residencyManager.makeResident(createTexture());
+        assertEquals(0, texture.getId());
+
+        residencyManager.bind(texture);
+
+        assertEquals(texture.getId(), glBackend.getBoundTexture());
+        assertEquals((int) TEXTURE_BYTES, glBackend.getUploadedBytes().get(texture.getId()));
+        assertEquals(1, residencyManager.getMemoryMetrics().getReloadCount());
+        // Released again once uploaded
+        assertFalse(texture.isPixelsRetained());
+        assertEquals(0, residencyManager.getMemoryMetrics().getMappedBytes());
+    }
+
+    @Test
+    public void testReloadPixels_spilled_mapsPixelsUntilNextUpload(@TempDir Path cacheDirectory) {
+        DecodedTextureCache cache = new DecodedTextureCache(cacheDirectory);
+        residencyManager = new TextureResidencyManager(glBackend, cache, 0);
+        TextureAsset texture = createTexture();
+        texture.getImgBuffer().put(0, (byte) 42);
+        texture.setRetention(TextureRetention.SPILL);
+        DecodedTextureCache.Key key = cache.computeKey("spilled.png", ByteBuffer.allocateDirect(1));
+        texture.setCacheKey(key);
+        assertTrue(cache.store(key, texture));
+        residencyManager.makeResident(texture);
+        assertFalse(texture.isPixelsRetained());
+
+        assertTrue(residencyManager.reloadPixels(texture));
+
+        assertTrue(texture.isPixelsRetained());
+        assertEquals(42, texture.getImgBuffer().get(0));
+        assertEquals(1, residencyManager.getMemoryMetrics().getReloadCount());
+        // Already in memory, nothing to reload
+        assertTrue(residencyManager.reloadPixels(texture));
+        assertEquals(1, residencyManager.getMemoryMetrics().getReloadCount());
+    }
+
+    @Test
+    public void testReloadPixels_discardedAndNotCached_fails() {
+        TextureAsset texture = createTexture();
+        texture.setRetention(TextureRetention.DISCARD);
+        residencyManager.makeResident(texture);
+
+        assertFalse(residencyManager.reloadPixels(texture));
+    }
+
+    @Test
+    public void testReloadPixels_unloaded_fails() {
+        TextureAsset texture = createTexture();
+        texture.setUnloaded(true);
+
+        assertFalse(residencyManager.reloadPixels(texture));
+    }
+
+    @Test
+    public void testMakeResident_releasedAndNotCached_fails() {
+        TextureAsset texture = createTexture();
+        texture.setRetention(TextureRetention.DISCARD);
+        residencyManager.makeResident(texture);
+        residencyManager.evict(texture);
+
+        assertFalse(residencyManager.makeResident(texture));
+        assertEquals(0, texture.getId());
+    }
+
+    @Test
+    public void testTextureHandler_unloadResource_deletesFromVideoMemory() {
+        TextureHandler textureHandler = new TextureHandler(residencyManager);
+        TextureAsset texture = createTexture();
+        textureHandler.finalizeResource(texture);
+
+        textureHandler.unloadResource(texture);
+
+        assertTrue(texture.isUnloaded());
+        assertTrue(glBackend.getLiveTextures().isEmpty());
+        assertEquals(0, residencyManager.getResidentCount());
+    }
+
+    private static TextureAsset createTexture() {
+        ByteBuffer pixels = ByteBuffer.allocateDirect((int) TEXTURE_BYTES);
+        return new TextureAsset(pixels, TEXTURE_SIZE, TEXTURE_SIZE);
+    }
+}